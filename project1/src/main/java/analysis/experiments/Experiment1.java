@@ -3,7 +3,7 @@ package analysis.experiments;
 import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 
 public class Experiment1 {
     // Note: please do not change these constants (or the constants in any of the other experiments)
@@ -14,7 +14,7 @@ public class Experiment1 {
     public static final long STEP = 100;
 
     public static void main(String[] args) {
-        IList<Long> dictionarySizes = AnalysisUtils.makeList(0L, MAX_DICTIONARY_SIZE, STEP);
+        ILongList dictionarySizes = AnalysisUtils.makeLongList(0L, MAX_DICTIONARY_SIZE, STEP);
 
         // Note: You may be wondering what doing 'Experiment1::test1' do?
         // Basically, what's happening here is that we're telling Java to:
@@ -31,10 +31,10 @@ public class Experiment1 {
         // themselves?
 
         System.out.println("Starting experiment 1, test 1");
-        IList<Long> test1Results = AnalysisUtils.runTrials(dictionarySizes, Experiment1::test1, NUM_TRIALS);
+        ILongList test1Results = AnalysisUtils.runTrials(dictionarySizes, Experiment1::test1, NUM_TRIALS);
 
         System.out.println("Starting experiment 1, test 2");
-        IList<Long> test2Results = AnalysisUtils.runTrials(dictionarySizes, Experiment1::test2, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(dictionarySizes, Experiment1::test2, NUM_TRIALS);
 
         System.out.println("Saving experiment 1 results to file");
         CsvWriter writer = new CsvWriter();
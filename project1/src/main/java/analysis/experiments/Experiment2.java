@@ -3,6 +3,7 @@ package analysis.experiments;
 import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 
 import java.util.Iterator;
 
@@ -12,16 +13,16 @@ public class Experiment2 {
     public static final long STEP = 100;
 
     public static void main(String[] args) {
-        IList<Long> listSizes = AnalysisUtils.makeList(0L, MAX_LIST_SIZE, STEP);
+        ILongList listSizes = AnalysisUtils.makeLongList(0L, MAX_LIST_SIZE, STEP);
 
         System.out.println("Starting experiment 2, test 1");
-        IList<Long> test1Results = AnalysisUtils.runTrials(listSizes, Experiment2::test1, NUM_TRIALS);
+        ILongList test1Results = AnalysisUtils.runTrials(listSizes, Experiment2::test1, NUM_TRIALS);
 
         System.out.println("Starting experiment 2, test 2");
-        IList<Long> test2Results = AnalysisUtils.runTrials(listSizes, Experiment2::test2, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(listSizes, Experiment2::test2, NUM_TRIALS);
 
         System.out.println("Starting experiment 2, test 3");
-        IList<Long> test3Results = AnalysisUtils.runTrials(listSizes, Experiment2::test3, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(listSizes, Experiment2::test3, NUM_TRIALS);
 
         System.out.println("Saving experiment 2 results to file");
         CsvWriter writer = new CsvWriter();
@@ -3,6 +3,7 @@ package analysis.experiments;
 import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 
 public class Experiment3 {
     public static final int NUM_TRIALS = 5;
@@ -11,10 +12,10 @@ public class Experiment3 {
     public static final long STEP = 100;
 
     public static void main(String[] args) {
-        IList<Long> indices = AnalysisUtils.makeList(0L, MAX_LIST_SIZE, STEP);
+        ILongList indices = AnalysisUtils.makeLongList(0L, MAX_LIST_SIZE, STEP);
 
         System.out.println("Starting experiment 3");
-        IList<Long> testResults = AnalysisUtils.runTrials(indices, Experiment3::test, NUM_TRIALS);
+        ILongList testResults = AnalysisUtils.runTrials(indices, Experiment3::test, NUM_TRIALS);
 
         System.out.println("Saving results to file");
         CsvWriter writer = new CsvWriter();
@@ -4,6 +4,7 @@ import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 
 public class Experiment4 {
     // Note: we're measuring memory usage, which is deterministic
@@ -13,13 +14,13 @@ public class Experiment4 {
     public static final long STEP = 100;
 
     public static void main(String[] args) {
-        IList<Long> listSizes = AnalysisUtils.makeList(0L, MAX_LIST_SIZE, STEP);
+        ILongList listSizes = AnalysisUtils.makeLongList(0L, MAX_LIST_SIZE, STEP);
 
         System.out.println("Starting experiment 4, test 1");
-        IList<Long> test1Results = AnalysisUtils.runSingleTrial(listSizes, Experiment4::test1);
+        ILongList test1Results = AnalysisUtils.runSingleTrial(listSizes, Experiment4::test1);
 
         System.out.println("Starting experiment 4, test 2");
-        IList<Long> test2Results = AnalysisUtils.runSingleTrial(listSizes, Experiment4::test2);
+        ILongList test2Results = AnalysisUtils.runSingleTrial(listSizes, Experiment4::test2);
 
         System.out.println("Saving results to file");
         CsvWriter writer = new CsvWriter();
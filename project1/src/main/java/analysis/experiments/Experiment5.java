@@ -0,0 +1,89 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ArrayList;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+
+/**
+ * Compares DoubleLinkedList against ArrayList on the access patterns the
+ * calculator uses: building a list with 'add', then reading it back by index.
+ *
+ * Tests 1 and 2 time a "for (i = 0; i < size; i++) list.get(i)" loop, which is
+ * quadratic on a linked list. Tests 3 and 4 time building the list.
+ */
+public class Experiment5 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_LIST_SIZE = 20000;
+    public static final long STEP = 1000;
+
+    public static void main(String[] args) {
+        ILongList listSizes = AnalysisUtils.makeLongList(STEP, MAX_LIST_SIZE + 1, STEP);
+
+        System.out.println("Starting experiment 5, test 1");
+        ILongList test1Results = AnalysisUtils.runTrials(listSizes, Experiment5::test1, NUM_TRIALS);
+
+        System.out.println("Starting experiment 5, test 2");
+        ILongList test2Results = AnalysisUtils.runTrials(listSizes, Experiment5::test2, NUM_TRIALS);
+
+        System.out.println("Starting experiment 5, test 3");
+        ILongList test3Results = AnalysisUtils.runTrials(listSizes, Experiment5::test3, NUM_TRIALS);
+
+        System.out.println("Starting experiment 5, test 4");
+        ILongList test4Results = AnalysisUtils.runTrials(listSizes, Experiment5::test4, NUM_TRIALS);
+
+        System.out.println("Saving results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("InputListSize", listSizes);
+        writer.addColumn("LinkedIndexedReadMicros", test1Results);
+        writer.addColumn("ArrayIndexedReadMicros", test2Results);
+        writer.addColumn("LinkedAddMicros", test3Results);
+        writer.addColumn("ArrayAddMicros", test4Results);
+        writer.writeToFile("experimentdata/experiment5.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long size) {
+        return timeIndexedReads(fill(new DoubleLinkedList<>(), size));
+    }
+
+    public static long test2(long size) {
+        return timeIndexedReads(fill(new ArrayList<>(), size));
+    }
+
+    public static long test3(long size) {
+        long start = System.nanoTime();
+        fill(new DoubleLinkedList<>(), size);
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    public static long test4(long size) {
+        long start = System.nanoTime();
+        fill(new ArrayList<>(), size);
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    private static IList<Long> fill(IList<Long> list, long size) {
+        for (long i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static long timeIndexedReads(IList<Long> list) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        long elapsed = (System.nanoTime() - start) / 1000;
+        // Use the sum so the loop can't be optimized away.
+        if (sum < 0) {
+            throw new AssertionError();
+        }
+        return elapsed;
+    }
+}
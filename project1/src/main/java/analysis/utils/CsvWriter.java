@@ -2,6 +2,7 @@ package analysis.utils;
 
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -13,7 +14,7 @@ import java.util.Iterator;
  */
 public class CsvWriter {
     private IList<String> columnNames;
-    private IList<IList<Long>> columns;
+    private IList<ILongList> columns;
 
     public CsvWriter() {
         this.columnNames = new DoubleLinkedList<>();
@@ -25,7 +26,7 @@ public class CsvWriter {
      *
      * Precondition: the column must be the same length as all other columns.
      */
-    public void addColumn(String name, IList<Long> column) {
+    public void addColumn(String name, ILongList column) {
         this.columnNames.add(name);
         this.columns.add(column);
     }
@@ -42,9 +43,23 @@ public class CsvWriter {
             // Print header
             writer.println(this.join(this.columnNames, ","));
 
-            RowIterator<Long> rowIter = new RowIterator<>(this.columns);
-            while (rowIter.hasNext()) {
-                writer.println(this.join(rowIter.next(), ","));
+            int numRows = this.columns.get(0).size();
+            for (ILongList column : this.columns) {
+                if (column.size() != numRows) {
+                    throw new IllegalArgumentException("Not all columns have the same length");
+                }
+            }
+
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < numRows; i++) {
+                row.setLength(0);
+                for (ILongList column : this.columns) {
+                    if (row.length() > 0) {
+                        row.append(",");
+                    }
+                    row.append(column.get(i));
+                }
+                writer.println(row);
             }
         } catch (IOException ex) {
             // Having to include a "throws IOException" in our method headers everywhere
@@ -3,8 +3,10 @@ package calculator.ast;
 import calculator.interpreter.Environment;
 import calculator.errors.EvaluationError;
 import calculator.gui.ImageDrawer;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.ArrayList;
+import datastructures.concrete.DoubleArrayList;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDoubleList;
 import datastructures.interfaces.IList;
 
 /**
@@ -125,12 +127,12 @@ public class ExpressionManipulators {
             }
         } else { // if node is operation
             String name = node.getName();
-            IList<AstNode> newChildren = new DoubleLinkedList<>(); 
+            IList<AstNode> newChildren = new ArrayList<>(); 
             if (checkValidity(variables, node)) {
                 newChildren.add(node.getChildren().get(0));
                 newChildren.add(node.getChildren().get(1));
                 AstNode temp = new AstNode(name, newChildren);
-                IList<AstNode> singleChild = new DoubleLinkedList<>();
+                IList<AstNode> singleChild = new ArrayList<>();
                 singleChild.add(temp);
                 AstNode doubleNode = new AstNode("toDouble", singleChild);
                 return handleToDouble(env, doubleNode);
@@ -207,13 +209,13 @@ public class ExpressionManipulators {
         } else if (step <= 0) {
             throw new EvaluationError("Invalid step size.");
         }
-        IList<Double> xVals = new DoubleLinkedList<Double>();
+        IDoubleList xVals = new DoubleArrayList();
         double current = varMin;
         while (current <= varMax) {
             xVals.add(current);
             current = current + step;
         }
-        IList<Double> yVals = new DoubleLinkedList<Double>();
+        IDoubleList yVals = new DoubleArrayList(xVals.size());
         for (int i = 0; i < xVals.size(); i++) {
             variables.put(var.getName(), new AstNode(xVals.get(i)));
             yVals.add(toDoubleHelper(variables, expression));
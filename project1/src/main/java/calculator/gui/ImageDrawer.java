@@ -1,6 +1,6 @@
 package calculator.gui;
 
-import datastructures.interfaces.IList;
+import datastructures.interfaces.IDoubleList;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.data.xy.XYSeries;
@@ -9,7 +9,6 @@ import org.jfree.data.xy.XYSeriesCollection;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.ImageObserver;
-import java.util.Iterator;
 
 /**
  * This class contains some useful utility methods for drawing to the plotting window.
@@ -104,7 +103,7 @@ public class ImageDrawer implements ImageObserver {
      * @param yValues     The y coordinate values to plot
      */
     public void drawScatterPlot(String title, String xAxisLabel, String yAxisLabel,
-                                IList<Double> xValues, IList<Double> yValues) {
+                                IDoubleList xValues, IDoubleList yValues) {
         if (this.width == UNKNOWN_DIMENSION || this.height == UNKNOWN_DIMENSION) {
             throw new IllegalStateException("Unexpected fatal error: Image width or height unknown");
         }
@@ -130,21 +129,18 @@ public class ImageDrawer implements ImageObserver {
      * @param drawRegion  The region on the image to draw the chart on
      */
     public void drawScatterPlot(String title, String xAxisLabel, String yAxisLabel,
-                                IList<Double> xValues, IList<Double> yValues,
+                                IDoubleList xValues, IDoubleList yValues,
                                 Rectangle2D drawRegion) {
         if (xValues.size() != yValues.size()) {
             throw new IllegalArgumentException("Number of 'x' values and 'y' values are not the same.");
         }
 
-        Iterator<Double> xIter = xValues.iterator();
-        Iterator<Double> yIter = yValues.iterator();
-
         // We pair the elements together and add them to a series.
         // We pick an arbitrary name for this series -- the user will never
         // see it because we hide the legend anyways.
         XYSeries series = new XYSeries("Series 1");
-        while (xIter.hasNext()) {
-            series.add(xIter.next(), yIter.next());
+        for (int i = 0; i < xValues.size(); i++) {
+            series.add(xValues.get(i), yValues.get(i));
         }
 
         // We add our series to the series collection. A SeriesCollection
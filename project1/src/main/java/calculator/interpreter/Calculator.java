@@ -7,7 +7,7 @@ import calculator.ast.ControlFlowManipulators;
 import calculator.ast.ExpressionManipulators;
 import calculator.gui.ImageDrawer;
 import calculator.parser.Parser;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.ArrayList;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
@@ -105,7 +105,7 @@ public class Calculator {
         } else if (node.isVariable()) {
             return node;
         } else {
-            IList<AstNode> newChildren = new DoubleLinkedList<>();
+            IList<AstNode> newChildren = new ArrayList<>();
             for (AstNode oldChild : node.getChildren()) {
                 newChildren.add(injectSimplifyHelper(env, oldChild));
             }
@@ -126,7 +126,7 @@ public class Calculator {
         if (inner.isOperation() && inner.getName().equals("simplify")) {
             return inner;
         } else {
-            IList<AstNode> children = new DoubleLinkedList<>();
+            IList<AstNode> children = new ArrayList<>();
             children.add(inner);
             return new AstNode("simplify", children);
         }
@@ -158,7 +158,7 @@ public class Calculator {
             int currPrecedenceLevel = hasPrecedence ? this.precedenceMap.get(name) : STRONGEST_PRECEDENCE;
             int childPrecedenceLevel = hasPrecedence ? currPrecedenceLevel : WEAKEST_PRECEDENCE;
 
-            IList<String> children = new DoubleLinkedList<>();
+            IList<String> children = new ArrayList<>();
             for (AstNode child : node.getChildren()) {
                 children.add(this.convertToString(child, childPrecedenceLevel));
             }
@@ -0,0 +1,193 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An IList backed by a single, growable array.
+ *
+ * Unlike DoubleLinkedList, get and set run in O(1) time, and iterating touches
+ * contiguous memory instead of chasing one node per element. Adding to or removing
+ * from the end is amortized O(1); inserting or deleting anywhere else shifts every
+ * later element and is O(n), so prefer DoubleLinkedList for front-heavy workloads.
+ *
+ * See IList for more details on what each method should do.
+ */
+public class ArrayList<T> implements IList<T> {
+    public static final int CAPACITY = 10;
+
+    private T[] array;
+    private int size;
+
+    public ArrayList() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for 'initialCapacity' items before it needs
+     * to grow.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public ArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.array = this.makeArrayOfT(initialCapacity);
+        this.size = 0;
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int arraySize) {
+        return (T[]) (new Object[arraySize]);
+    }
+
+    @Override
+    public void add(T item) {
+        this.ensureCapacity(this.size + 1);
+        this.array[this.size] = item;
+        this.size++;
+    }
+
+    /**
+     * Adds every item produced by the given iterable to the end of this list, in order.
+     *
+     * If 'items' is another ArrayList, its contents are copied in a single block.
+     */
+    public void addAll(Iterable<? extends T> items) {
+        if (items instanceof ArrayList) {
+            ArrayList<? extends T> other = (ArrayList<? extends T>) items;
+            // Read the size first: 'other' may be this very list.
+            int otherSize = other.size;
+            this.ensureCapacity(this.size + otherSize);
+            System.arraycopy(other.array, 0, this.array, this.size, otherSize);
+            this.size += otherSize;
+        } else {
+            for (T item : items) {
+                this.add(item);
+            }
+        }
+    }
+
+    /**
+     * Grows the backing array, if necessary, so that it can hold at least
+     * 'minCapacity' items without reallocating.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.array.length) {
+            int newCapacity = Math.max(minCapacity, this.array.length * 2);
+            T[] newArray = this.makeArrayOfT(newCapacity);
+            System.arraycopy(this.array, 0, newArray, 0, this.size);
+            this.array = newArray;
+        }
+    }
+
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        this.size--;
+        T item = this.array[this.size];
+        // Clear the slot so the list doesn't keep the item alive.
+        this.array[this.size] = null;
+        return item;
+    }
+
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        return this.array[index];
+    }
+
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        this.array[index] = item;
+    }
+
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        this.ensureCapacity(this.size + 1);
+        System.arraycopy(this.array, index, this.array, index + 1, this.size - index);
+        this.array[index] = item;
+        this.size++;
+    }
+
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        T item = this.array[index];
+        System.arraycopy(this.array, index + 1, this.array, index, this.size - index - 1);
+        this.size--;
+        this.array[this.size] = null;
+        return item;
+    }
+
+    @Override
+    public int indexOf(T item) {
+        for (int i = 0; i < this.size; i++) {
+            T current = this.array[i];
+            if (current == item || (current != null && current.equals(item))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayListIterator<>(this.array, this.size);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    private static class ArrayListIterator<T> implements Iterator<T> {
+        private T[] array;
+        private int size;
+        private int index;
+
+        public ArrayListIterator(T[] array, int size) {
+            this.array = array;
+            this.size = size;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.size;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = this.array[this.index];
+            this.index++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.ILongList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * An ILongList backed by a single, growable long[].
+ *
+ * See ILongList for more details on what each method should do.
+ */
+public class LongArrayList implements ILongList {
+    public static final int CAPACITY = 10;
+
+    private long[] array;
+    private int size;
+
+    public LongArrayList() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for 'initialCapacity' values before it needs
+     * to grow.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.array = new long[initialCapacity];
+        this.size = 0;
+    }
+
+    @Override
+    public void add(long value) {
+        this.ensureCapacity(this.size + 1);
+        this.array[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Grows the backing array, if necessary, so that it can hold at least
+     * 'minCapacity' values without reallocating.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.array.length) {
+            this.array = Arrays.copyOf(this.array, Math.max(minCapacity, this.array.length * 2));
+        }
+    }
+
+    @Override
+    public long remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        this.size--;
+        return this.array[this.size];
+    }
+
+    @Override
+    public long get(int index) {
+        this.checkIndex(index);
+        return this.array[index];
+    }
+
+    @Override
+    public void set(int index, long value) {
+        this.checkIndex(index);
+        this.array[index] = value;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long[] toArray() {
+        return Arrays.copyOf(this.array, this.size);
+    }
+
+    @Override
+    public LongStream stream() {
+        return Arrays.stream(this.array, 0, this.size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.stream.LongStream;
+
+/**
+ * Represents an ordered and indexable sequence of longs.
+ *
+ * This is the primitive counterpart of IList<Long>: values are stored unboxed, so
+ * a list of n longs costs about 8n bytes instead of one Long object and one list
+ * node per element.
+ */
+public interface ILongList {
+    /**
+     * Adds the given value to the *end* of this list.
+     */
+    public void add(long value);
+
+    /**
+     * Removes and returns the value from the *end* of this list.
+     *
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     */
+    public long remove();
+
+    /**
+     * Returns the value located at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public long get(int index);
+
+    /**
+     * Overwrites the value located at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public void set(int index, long value);
+
+    /**
+     * Returns the number of elements in the container.
+     */
+    public int size();
+
+    /**
+     * Returns 'true' if this container contains no elements, and 'false' otherwise.
+     */
+    public default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns a new array containing the contents of this list, in order.
+     */
+    public long[] toArray();
+
+    /**
+     * Returns a stream over the contents of this list, in order, without boxing them.
+     *
+     * The stream reads the list directly rather than a copy, so the list must not be
+     * modified until the stream has been consumed.
+     */
+    public LongStream stream();
+}
@@ -3,7 +3,7 @@ package calculator;
 import calculator.errors.EvaluationError;
 import calculator.gui.ImageDrawer;
 import calculator.interpreter.Calculator;
-import datastructures.interfaces.IList;
+import datastructures.interfaces.IDoubleList;
 import misc.BaseTest;
 import org.junit.ComparisonFailure;
 import org.junit.Test;
@@ -149,8 +149,8 @@ public class TestCalculator extends BaseTest {
         calc.setImageDrawer(drawer);
 
         calc.evaluate("plot(3 * x, x, 0, 10, 1)");
-        IList<Double> xs = drawer.lastXValues;
-        IList<Double> ys = drawer.lastYValues;
+        IDoubleList xs = drawer.lastXValues;
+        IDoubleList ys = drawer.lastYValues;
         for (int i = 0; i <= 10; i += 1) {
             assertEquals((double) i, xs.get(i));
             assertEquals(3.0 * i, ys.get(i));
@@ -234,8 +234,8 @@ public class TestCalculator extends BaseTest {
     }
 
     private static class FakeImageDrawer extends ImageDrawer {
-        public IList<Double> lastXValues;
-        public IList<Double> lastYValues;
+        public IDoubleList lastXValues;
+        public IDoubleList lastYValues;
 
         public FakeImageDrawer() {
             super(null, 800, 800);
@@ -243,7 +243,7 @@ public class TestCalculator extends BaseTest {
 
         @Override
         public void drawScatterPlot(String title, String xAxisLabel, String yAxisLabel,
-                                    IList<Double> xValues, IList<Double> yValues,
+                                    IDoubleList xValues, IDoubleList yValues,
                                     Rectangle2D drawReagion) {
             this.lastXValues = xValues;
             this.lastYValues = yValues;
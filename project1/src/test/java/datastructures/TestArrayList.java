@@ -0,0 +1,217 @@
+package datastructures;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.ArrayList;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class TestArrayList extends BaseTest {
+    protected IList<String> makeBasicList() {
+        IList<String> list = new ArrayList<>();
+
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        return list;
+    }
+
+    protected <T> void assertListMatches(T[] expected, IList<T> actual) {
+        assertEquals(expected.length, actual.size());
+        assertEquals(expected.length == 0, actual.isEmpty());
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match", expected[i], actual.get(i));
+        }
+
+        int i = 0;
+        for (T item : actual) {
+            assertEquals("Iterator item " + i + " does not match", expected[i], item);
+            i++;
+        }
+        assertEquals(expected.length, i);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAndGetBasic() {
+        IList<String> list = this.makeBasicList();
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddGrowsPastInitialCapacity() {
+        IList<Integer> list = new ArrayList<>(0);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        assertEquals(1000, list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromEnd() {
+        IList<String> list = this.makeBasicList();
+        assertEquals("c", list.remove());
+        assertEquals("b", list.remove());
+        this.assertListMatches(new String[] {"a"}, list);
+        assertEquals("a", list.remove());
+        assertTrue(list.isEmpty());
+
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetAndSetOutOfBoundsThrowsException() {
+        IList<String> list = this.makeBasicList();
+        for (int index : new int[] {-1, 3, 1000}) {
+            try {
+                list.get(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+            try {
+                list.set(index, "x");
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+        }
+
+        // The backing array has spare room past the end: that must not be readable.
+        IList<String> presized = new ArrayList<>(100);
+        try {
+            presized.get(0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSetElements() {
+        IList<String> list = this.makeBasicList();
+        list.set(0, "AAA");
+        list.set(2, "CCC");
+        this.assertListMatches(new String[] {"AAA", "b", "CCC"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAndDelete() {
+        IList<String> list = this.makeBasicList();
+        list.insert(0, "front");
+        list.insert(2, "middle");
+        list.insert(list.size(), "back");
+        this.assertListMatches(new String[] {"front", "a", "middle", "b", "c", "back"}, list);
+
+        assertEquals("middle", list.delete(2));
+        assertEquals("front", list.delete(0));
+        assertEquals("back", list.delete(list.size() - 1));
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+
+        try {
+            list.insert(4, "x");
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // Do nothing: this is ok
+        }
+        try {
+            list.delete(3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIndexOfAndContainsWithNull() {
+        IList<Integer> list = new ArrayList<>();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertEquals(-1, list.indexOf(null));
+        assertFalse(list.contains(null));
+
+        list.insert(1, null);
+        this.assertListMatches(new Integer[] {1, null, 2, 3}, list);
+        assertEquals(1, list.indexOf(null));
+        assertEquals(3, list.indexOf(3));
+        assertTrue(list.contains(null));
+        assertFalse(list.contains(4));
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAll() {
+        ArrayList<String> list = new ArrayList<>();
+        list.add("a");
+
+        IList<String> linked = new DoubleLinkedList<>();
+        linked.add("b");
+        linked.add("c");
+        list.addAll(linked);
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+
+        ArrayList<String> other = new ArrayList<>();
+        other.add("d");
+        list.addAll(other);
+        this.assertListMatches(new String[] {"a", "b", "c", "d"}, list);
+
+        // Appending a list to itself copies the original contents exactly once.
+        list.addAll(list);
+        this.assertListMatches(new String[] {"a", "b", "c", "d", "a", "b", "c", "d"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testEnsureCapacityKeepsContents() {
+        ArrayList<Integer> list = new ArrayList<>(1);
+        list.add(5);
+        list.ensureCapacity(1000);
+        list.ensureCapacity(10);
+        this.assertListMatches(new Integer[] {5}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorOnEmptyList() {
+        IList<String> list = new ArrayList<>();
+        Iterator<String> iter = list.iterator();
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=2 * SECOND)
+    public void testIndexedAccessIsEfficient() {
+        IList<Integer> list = new ArrayList<>();
+        int cap = 1000000;
+        for (int i = 0; i < cap; i++) {
+            list.add(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < cap; i++) {
+            list.set(i, list.get(i) + 1);
+            sum += list.get(i);
+        }
+        assertEquals((long) cap * (cap + 1) / 2, sum);
+    }
+}
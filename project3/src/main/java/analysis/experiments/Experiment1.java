@@ -3,6 +3,7 @@ package analysis.experiments;
 import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 import misc.Searcher;
 
 public class Experiment1 {
@@ -12,10 +13,10 @@ public class Experiment1 {
     public static final int K = 500;
 
     public static void main(String[] args) {
-        IList<Long> listSizes = AnalysisUtils.makeList(0L, MAX_LIST_SIZE, STEP);
+        ILongList listSizes = AnalysisUtils.makeLongList(0L, MAX_LIST_SIZE, STEP);
 
         System.out.println("Starting test");
-        IList<Long> testResults = AnalysisUtils.runTrials(
+        ILongList testResults = AnalysisUtils.runTrials(
                 listSizes, Experiment1::test, NUM_TRIALS);
 
         System.out.println("Saving experiment results to file");
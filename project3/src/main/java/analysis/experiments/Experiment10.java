@@ -0,0 +1,86 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import datastructures.interfaces.ISet;
+import search.analyzers.PageRankAnalyzer;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Random;
+
+/**
+ * Measures how long PageRankAnalyzer takes to rank a web of pages, as the number
+ * of pages grows.
+ *
+ * Each page links to LINKS_PER_PAGE pages on average, mostly picked at random
+ * but favouring low-numbered pages, and one page in DANGLING_EVERY links nowhere.
+ * Each iteration of the power method takes time proportional to the number of
+ * pages plus the number of links, so with a fixed number of links per page the
+ * time taken should grow linearly. Making the pages is not timed.
+ */
+public class Experiment10 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_PAGES = 100000;
+    public static final long STEP = 20000;
+    public static final int LINKS_PER_PAGE = 10;
+    public static final int DANGLING_EVERY = 10;
+    public static final double DECAY = 0.85;
+    public static final double EPSILON = 0.00001;
+    public static final int LIMIT = 100;
+
+    // The pages for the last web size, so they are only made once per size.
+    private static long madePages = -1;
+    private static ISet<Webpage> pages;
+
+    public static void main(String[] args) {
+        ILongList pageCounts = AnalysisUtils.makeLongList(STEP, MAX_PAGES + 1, STEP);
+
+        System.out.println("Starting experiment 10");
+        ILongList test1Results = AnalysisUtils.runTrials(pageCounts, Experiment10::test1, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumPages", pageCounts);
+        writer.addColumn("PageRankMillis", test1Results);
+        writer.writeToFile("experimentdata/experiment10.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numPages) {
+        ISet<Webpage> pages = getPages(numPages);
+        long start = System.currentTimeMillis();
+        new PageRankAnalyzer(pages, DECAY, EPSILON, LIMIT);
+        return System.currentTimeMillis() - start;
+    }
+
+    private static ISet<Webpage> getPages(long numPages) {
+        if (madePages != numPages) {
+            Random rand = new Random(numPages);
+            pages = new ChainedHashSet<>();
+            for (int id = 0; id < numPages; id++) {
+                IList<URI> links = new DoubleLinkedList<>();
+                if (id % DANGLING_EVERY != 0) {
+                    int numLinks = 1 + rand.nextInt(2 * LINKS_PER_PAGE - 1);
+                    for (int i = 0; i < numLinks; i++) {
+                        // squaring skews the links towards low-numbered pages
+                        double r = rand.nextDouble();
+                        links.add(uriOf((int) (r * r * numPages)));
+                    }
+                }
+                pages.add(new Webpage(uriOf(id), links, new DoubleLinkedList<>(), "", ""));
+            }
+            madePages = numPages;
+        }
+        return pages;
+    }
+
+    private static URI uriOf(int id) {
+        return URI.create("http://example.com/page-" + id + ".html");
+    }
+}
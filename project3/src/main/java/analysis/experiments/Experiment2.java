@@ -3,6 +3,7 @@ package analysis.experiments;
 import analysis.utils.AnalysisUtils;
 import analysis.utils.CsvWriter;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 import misc.Searcher;
 
 public class Experiment2 {
@@ -11,10 +12,10 @@ public class Experiment2 {
     public static final long STEP = 1000;
 
     public static void main(String[] args) {
-        IList<Long> valuesOfK = AnalysisUtils.makeList(0L, MAX_LIST_SIZE, STEP);
+        ILongList valuesOfK = AnalysisUtils.makeLongList(0L, MAX_LIST_SIZE, STEP);
 
         System.out.println("Starting test");
-        IList<Long> testResults = AnalysisUtils.runTrials(
+        ILongList testResults = AnalysisUtils.runTrials(
                 valuesOfK, Experiment2::test, NUM_TRIALS);
 
         System.out.println("Saving experiment results to file");
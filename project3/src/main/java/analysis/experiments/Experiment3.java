@@ -6,6 +6,7 @@ import datastructures.concrete.DoubleLinkedList;
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 import misc.exceptions.NotYetImplementedException;
 
 import java.util.Random;
@@ -18,12 +19,12 @@ public class Experiment3 {
     public static final int LENGTH_PER_ARRAY = 200;
 
     public static void main(String[] args) {
-        IList<Long> dictionarySize = AnalysisUtils.makeList(0L, MAX_DICTIONARY_SIZE, STEP);
+        ILongList dictionarySize = AnalysisUtils.makeLongList(0L, MAX_DICTIONARY_SIZE, STEP);
 
         System.out.println("Starting test");
-        IList<Long> test1Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test1, NUM_TRIALS);
-        IList<Long> test2Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test2, NUM_TRIALS);
-        IList<Long> test3Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test3, NUM_TRIALS);
+        ILongList test1Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test2, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(dictionarySize, Experiment3::test3, NUM_TRIALS);
 
         System.out.println("Saving experiment results to file");
         CsvWriter writer = new CsvWriter();
@@ -0,0 +1,97 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ProbingHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ILongList;
+
+/**
+ * Compares ChainedHashDictionary against ProbingHashDictionary.
+ *
+ * Tests 1 and 2 measure how long it takes to fill a dictionary with 'n' string keys
+ * and then look every key up again (time, in milliseconds). Tests 3 and 4 measure
+ * the approximate memory used by the filled dictionary (in bytes).
+ */
+public class Experiment4 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_DICTIONARY_SIZE = 200000;
+    public static final long STEP = 10000;
+
+    public static void main(String[] args) {
+        ILongList dictionarySizes = AnalysisUtils.makeLongList(0L, MAX_DICTIONARY_SIZE, STEP);
+
+        System.out.println("Starting experiment 4, timing tests");
+        ILongList test1Results = AnalysisUtils.runTrials(dictionarySizes, Experiment4::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(dictionarySizes, Experiment4::test2, NUM_TRIALS);
+
+        // Memory usage is deterministic, so there's no need to conduct trials.
+        System.out.println("Starting experiment 4, memory tests");
+        ILongList test3Results = AnalysisUtils.runSingleTrial(dictionarySizes, Experiment4::test3);
+        ILongList test4Results = AnalysisUtils.runSingleTrial(dictionarySizes, Experiment4::test4);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("DictionarySize", dictionarySizes);
+        writer.addColumn("ChainedTimeMs", test1Results);
+        writer.addColumn("ProbingTimeMs", test2Results);
+        writer.addColumn("ChainedBytes", test3Results);
+        writer.addColumn("ProbingBytes", test4Results);
+        writer.writeToFile("experimentdata/experiment4.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long dictionarySize) {
+        return timePutsAndGets(new ChainedHashDictionary<>(), dictionarySize);
+    }
+
+    public static long test2(long dictionarySize) {
+        return timePutsAndGets(new ProbingHashDictionary<>(), dictionarySize);
+    }
+
+    public static long test3(long dictionarySize) {
+        return AnalysisUtils.getApproximateMemoryUsed(fill(new ChainedHashDictionary<>(), dictionarySize));
+    }
+
+    public static long test4(long dictionarySize) {
+        return AnalysisUtils.getApproximateMemoryUsed(fill(new ProbingHashDictionary<>(), dictionarySize));
+    }
+
+    private static long timePutsAndGets(IDictionary<String, Long> dict, long dictionarySize) {
+        String[] keys = makeKeys(dictionarySize);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < keys.length; i++) {
+            dict.put(keys[i], (long) i);
+        }
+        long checksum = 0;
+        for (String key : keys) {
+            checksum += dict.get(key);
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        // Make sure the lookups can't be optimized away
+        if (checksum < 0) {
+            throw new IllegalStateException();
+        }
+        return elapsed;
+    }
+
+    private static IDictionary<String, Long> fill(IDictionary<String, Long> dict, long dictionarySize) {
+        String[] keys = makeKeys(dictionarySize);
+        for (int i = 0; i < keys.length; i++) {
+            dict.put(keys[i], (long) i);
+        }
+        return dict;
+    }
+
+    private static String[] makeKeys(long dictionarySize) {
+        String[] keys = new String[(int) dictionarySize];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "word" + i;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,95 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ILongList;
+
+import java.util.Arrays;
+
+/**
+ * Measures the tail latency of ChainedHashDictionary.put with and without
+ * incremental resizing.
+ *
+ * Each test inserts 'n' keys into an empty dictionary, timing every put
+ * individually, and returns the requested percentile of those timings
+ * (in nanoseconds). The max column is where the stop-the-world rehash shows up.
+ *
+ * Garbage collection pauses land in the tail too and can easily hide the
+ * difference between the two modes, so run this with a heap large enough that
+ * the young generation never fills up, e.g. "-Xms2g -Xmx2g -Xmn1500m".
+ */
+public class Experiment5 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_DICTIONARY_SIZE = 500000;
+    public static final long STEP = 50000;
+
+    public static void main(String[] args) {
+        ILongList dictionarySizes = AnalysisUtils.makeLongList(STEP, MAX_DICTIONARY_SIZE + 1, STEP);
+
+        System.out.println("Starting experiment 5");
+        ILongList test1Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test2, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test3, NUM_TRIALS);
+        ILongList test4Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test4, NUM_TRIALS);
+        ILongList test5Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test5, NUM_TRIALS);
+        ILongList test6Results = AnalysisUtils.runTrials(dictionarySizes, Experiment5::test6, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("DictionarySize", dictionarySizes);
+        writer.addColumn("StandardP99Nanos", test1Results);
+        writer.addColumn("IncrementalP99Nanos", test2Results);
+        writer.addColumn("StandardP999Nanos", test3Results);
+        writer.addColumn("IncrementalP999Nanos", test4Results);
+        writer.addColumn("StandardMaxNanos", test5Results);
+        writer.addColumn("IncrementalMaxNanos", test6Results);
+        writer.writeToFile("experimentdata/experiment5.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(false), dictionarySize), 0.99);
+    }
+
+    public static long test2(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(true), dictionarySize), 0.99);
+    }
+
+    public static long test3(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(false), dictionarySize), 0.999);
+    }
+
+    public static long test4(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(true), dictionarySize), 0.999);
+    }
+
+    public static long test5(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(false), dictionarySize), 1.0);
+    }
+
+    public static long test6(long dictionarySize) {
+        return percentile(timePuts(new ChainedHashDictionary<>(true), dictionarySize), 1.0);
+    }
+
+    /**
+     * Returns the time each individual put took, in nanoseconds, sorted in ascending order.
+     */
+    private static long[] timePuts(IDictionary<Integer, Integer> dict, long dictionarySize) {
+        long[] latencies = new long[(int) dictionarySize];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            dict.put(i, i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sortedLatencies, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)];
+    }
+}
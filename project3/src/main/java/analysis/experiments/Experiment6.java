@@ -0,0 +1,134 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ILongList;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Measures the throughput of ConcurrentChainedHashDictionary as the number of
+ * threads grows, against a ChainedHashDictionary guarded by one global lock.
+ *
+ * Every thread runs the same read-mostly workload (90% get, 10% put over a fixed
+ * key space). Each test returns the total number of operations completed per
+ * millisecond across all threads.
+ */
+public class Experiment6 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_THREADS = 8;
+    public static final int NUM_KEYS = 100000;
+    public static final int OPS_PER_THREAD = 500000;
+
+    public static void main(String[] args) {
+        ILongList threadCounts = AnalysisUtils.makeLongList(1L, MAX_THREADS + 1, 1L);
+
+        System.out.println("Starting experiment 6");
+        ILongList test1Results = AnalysisUtils.runTrials(threadCounts, Experiment6::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(threadCounts, Experiment6::test2, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumThreads", threadCounts);
+        writer.addColumn("GlobalLockOpsPerMs", test1Results);
+        writer.addColumn("StripedOpsPerMs", test2Results);
+        writer.writeToFile("experimentdata/experiment6.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numThreads) {
+        return runWorkload(new SynchronizedDictionary<>(new ChainedHashDictionary<>()), (int) numThreads);
+    }
+
+    public static long test2(long numThreads) {
+        return runWorkload(new ConcurrentChainedHashDictionary<>(), (int) numThreads);
+    }
+
+    private static long runWorkload(IDictionary<Integer, Integer> dict, int numThreads) {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            dict.put(i, i);
+        }
+
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random rand = new Random(seed);
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int key = rand.nextInt(NUM_KEYS);
+                    if (i % 10 == 0) {
+                        dict.put(key, i);
+                    } else {
+                        dict.get(key);
+                    }
+                }
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        return (long) numThreads * OPS_PER_THREAD / elapsed;
+    }
+
+    /**
+     * The "obvious" way of sharing a non-thread-safe dictionary: every call holds one
+     * global lock. (Iteration is not needed by this experiment.)
+     */
+    private static class SynchronizedDictionary<K, V> implements IDictionary<K, V> {
+        private final IDictionary<K, V> inner;
+
+        public SynchronizedDictionary(IDictionary<K, V> inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return this.inner.get(key);
+        }
+
+        @Override
+        public synchronized void put(K key, V value) {
+            this.inner.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return this.inner.remove(key);
+        }
+
+        @Override
+        public synchronized boolean containsKey(K key) {
+            return this.inner.containsKey(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return this.inner.size();
+        }
+
+        /**
+         * As with Collections.synchronizedMap, callers must hold this dictionary's
+         * lock for as long as they use the iterator.
+         */
+        @Override
+        public synchronized Iterator<KVPair<K, V>> iterator() {
+            return this.inner.iterator();
+        }
+    }
+}
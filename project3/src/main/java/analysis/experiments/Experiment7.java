@@ -0,0 +1,120 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleKeyedHeap;
+import datastructures.interfaces.IDoublePriorityQueue;
+import datastructures.interfaces.ILongList;
+import datastructures.interfaces.IPriorityQueue;
+
+import java.util.Random;
+
+/**
+ * Sweeps the heap arity (number of children per node) for ArrayHeap and
+ * DoubleKeyedHeap over two workloads, to pick the default arity.
+ *
+ * - "Sort": insert NUM_ITEMS random priorities, then remove them all. removeMin
+ *   dominates, which favours narrow heaps.
+ * - "Frontier": a Dijkstra/crawler-like mix of INSERTS_PER_REMOVE inserts for every
+ *   removeMin, so the heap keeps growing. Insert dominates, which favours wide heaps.
+ *
+ * Each test returns the time taken in milliseconds.
+ */
+public class Experiment7 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_ARITY = 16;
+    public static final int NUM_ITEMS = 200000;
+    public static final int INSERTS_PER_REMOVE = 4;
+
+    // Generated once, so every test sees the same priorities and none of the
+    // random number generation is timed.
+    private static final double[] PRIORITIES = makePriorities();
+    private static final Double[] BOXED_PRIORITIES = box(PRIORITIES);
+
+    public static void main(String[] args) {
+        ILongList arities = AnalysisUtils.makeLongList(2L, MAX_ARITY + 1, 1L);
+
+        System.out.println("Starting experiment 7");
+        ILongList test1Results = AnalysisUtils.runTrials(arities, Experiment7::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(arities, Experiment7::test2, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(arities, Experiment7::test3, NUM_TRIALS);
+        ILongList test4Results = AnalysisUtils.runTrials(arities, Experiment7::test4, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("Arity", arities);
+        writer.addColumn("ArrayHeapSortMillis", test1Results);
+        writer.addColumn("DoubleKeyedHeapSortMillis", test2Results);
+        writer.addColumn("ArrayHeapFrontierMillis", test3Results);
+        writer.addColumn("DoubleKeyedHeapFrontierMillis", test4Results);
+        writer.writeToFile("experimentdata/experiment7.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long arity) {
+        IPriorityQueue<Double> heap = new ArrayHeap<>((int) arity);
+        long start = System.nanoTime();
+        for (Double priority : BOXED_PRIORITIES) {
+            heap.insert(priority);
+        }
+        while (!heap.isEmpty()) {
+            heap.removeMin();
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    public static long test2(long arity) {
+        IDoublePriorityQueue<Double> heap = new DoubleKeyedHeap<>((int) arity);
+        long start = System.nanoTime();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            heap.insert(BOXED_PRIORITIES[i], PRIORITIES[i]);
+        }
+        while (!heap.isEmpty()) {
+            heap.removeMin();
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    public static long test3(long arity) {
+        IPriorityQueue<Double> heap = new ArrayHeap<>((int) arity);
+        long start = System.nanoTime();
+        for (int i = 0; i < BOXED_PRIORITIES.length; i++) {
+            heap.insert(BOXED_PRIORITIES[i]);
+            if (i % INSERTS_PER_REMOVE == 0) {
+                heap.removeMin();
+            }
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    public static long test4(long arity) {
+        IDoublePriorityQueue<Double> heap = new DoubleKeyedHeap<>((int) arity);
+        long start = System.nanoTime();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            heap.insert(BOXED_PRIORITIES[i], PRIORITIES[i]);
+            if (i % INSERTS_PER_REMOVE == 0) {
+                heap.removeMin();
+            }
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private static double[] makePriorities() {
+        Random rand = new Random(0);
+        double[] priorities = new double[NUM_ITEMS];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = rand.nextDouble();
+        }
+        return priorities;
+    }
+
+    private static Double[] box(double[] values) {
+        Double[] boxed = new Double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
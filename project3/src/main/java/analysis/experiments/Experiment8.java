@@ -0,0 +1,117 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import datastructures.interfaces.ISet;
+import search.analyzers.InvertedIndex;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Random;
+
+/**
+ * Measures the latency of top-k queries against an InvertedIndex, with and without
+ * WAND pruning, as the corpus grows.
+ *
+ * Pages and queries are drawn from the same Zipf-like vocabulary, so a few words
+ * are in most pages and have very long posting lists, as in real text. Each page
+ * gets a random boost standing in for the square root of its page rank. Each test
+ * runs the same log of NUM_QUERIES queries for the top K results, and returns the
+ * time taken in milliseconds. Building the index is not timed.
+ */
+public class Experiment8 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_PAGES = 20000;
+    public static final long STEP = 4000;
+    public static final int VOCABULARY_SIZE = 20000;
+    public static final int WORDS_PER_PAGE = 200;
+    public static final int NUM_QUERIES = 500;
+    public static final int K = 10;
+
+    private static final IList<IList<String>> QUERY_LOG = makeQueryLog();
+
+    // The index for the last corpus size, so it is only built once per size.
+    private static long indexedPages = -1;
+    private static InvertedIndex index;
+
+    public static void main(String[] args) {
+        ILongList pageCounts = AnalysisUtils.makeLongList(STEP, MAX_PAGES + 1, STEP);
+
+        System.out.println("Starting experiment 8");
+        ILongList test1Results = AnalysisUtils.runTrials(pageCounts, Experiment8::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(pageCounts, Experiment8::test2, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumPages", pageCounts);
+        writer.addColumn("ExhaustiveMillis", test1Results);
+        writer.addColumn("WandMillis", test2Results);
+        writer.writeToFile("experimentdata/experiment8.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numPages) {
+        InvertedIndex index = getIndex(numPages);
+        long start = System.currentTimeMillis();
+        for (IList<String> query : QUERY_LOG) {
+            index.findTopKExhaustively(query, K);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    public static long test2(long numPages) {
+        InvertedIndex index = getIndex(numPages);
+        long start = System.currentTimeMillis();
+        for (IList<String> query : QUERY_LOG) {
+            index.findTopK(query, K);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static InvertedIndex getIndex(long numPages) {
+        if (indexedPages != numPages) {
+            index = null;
+            Random rand = new Random(numPages);
+            ISet<Webpage> pages = new ChainedHashSet<>();
+            for (int id = 0; id < numPages; id++) {
+                IList<String> words = new DoubleLinkedList<>();
+                for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                    words.add(randomWord(rand));
+                }
+                pages.add(new Webpage(
+                        URI.create("http://example.com/page-" + id + ".html"),
+                        new DoubleLinkedList<>(), words, "", ""));
+            }
+            index = new TfIdfAnalyzer(pages).buildInvertedIndex(uri -> 0.5 + rand.nextDouble());
+            indexedPages = numPages;
+        }
+        return index;
+    }
+
+    private static IList<IList<String>> makeQueryLog() {
+        Random rand = new Random(0);
+        IList<IList<String>> log = new DoubleLinkedList<>();
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                query.add(randomWord(rand));
+            }
+            log.add(query);
+        }
+        return log;
+    }
+
+    /**
+     * Returns word i with probability roughly proportional to 1 / i.
+     */
+    private static String randomWord(Random rand) {
+        return "w" + (int) Math.pow(VOCABULARY_SIZE, rand.nextDouble());
+    }
+}
@@ -0,0 +1,143 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import datastructures.interfaces.ISet;
+import search.analyzers.IndexSegment;
+import search.analyzers.InvertedIndex;
+import search.analyzers.SegmentWriter;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures how long a search engine takes to start answering queries, when it
+ * builds its index from the pages in memory, and when it opens a segment written
+ * to disk by an earlier run.
+ *
+ * The pages are drawn from a Zipf-like vocabulary, as in Experiment8. Each test
+ * gets its index ready, either by building an InvertedIndex from the pages or by
+ * memory-mapping a segment, then runs a log of NUM_QUERIES queries for the top K
+ * results, and returns the time taken in milliseconds. Making the pages, and writing
+ * the segment, are not timed.
+ */
+public class Experiment9 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_PAGES = 20000;
+    public static final long STEP = 4000;
+    public static final int VOCABULARY_SIZE = 20000;
+    public static final int WORDS_PER_PAGE = 200;
+    public static final int NUM_QUERIES = 500;
+    public static final int K = 10;
+
+    private static final IList<IList<String>> QUERY_LOG = makeQueryLog();
+
+    // The pages and segment for the last corpus size, so they are only made once per size.
+    private static long madePages = -1;
+    private static ISet<Webpage> pages;
+    private static Path segmentPath;
+
+    public static void main(String[] args) {
+        ILongList pageCounts = AnalysisUtils.makeLongList(STEP, MAX_PAGES + 1, STEP);
+
+        System.out.println("Starting experiment 9");
+        ILongList test1Results = AnalysisUtils.runTrials(pageCounts, Experiment9::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(pageCounts, Experiment9::test2, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumPages", pageCounts);
+        writer.addColumn("BuildInMemoryMillis", test1Results);
+        writer.addColumn("OpenSegmentMillis", test2Results);
+        writer.writeToFile("experimentdata/experiment9.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numPages) {
+        ISet<Webpage> pages = getPages(numPages);
+        long start = System.currentTimeMillis();
+        InvertedIndex index = new TfIdfAnalyzer(pages).buildInvertedIndex(Experiment9::boostOf);
+        for (IList<String> query : QUERY_LOG) {
+            index.findTopK(query, K);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    public static long test2(long numPages) {
+        getPages(numPages);
+        long start = System.currentTimeMillis();
+        try {
+            IndexSegment segment = IndexSegment.open(segmentPath);
+            for (IList<String> query : QUERY_LOG) {
+                segment.findTopK(query, K);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static ISet<Webpage> getPages(long numPages) {
+        if (madePages != numPages) {
+            Random rand = new Random(numPages);
+            pages = new ChainedHashSet<>();
+            SegmentWriter writer = new SegmentWriter();
+            for (int id = 0; id < numPages; id++) {
+                IList<String> words = new DoubleLinkedList<>();
+                for (int i = 0; i < WORDS_PER_PAGE; i++) {
+                    words.add(randomWord(rand));
+                }
+                Webpage page = new Webpage(
+                        URI.create("http://example.com/page-" + id + ".html"),
+                        new DoubleLinkedList<>(), words, "", "");
+                pages.add(page);
+                writer.addDocument(page.getSummary(), words, boostOf(page.getUri()));
+            }
+            try {
+                segmentPath = Files.createTempFile("experiment9", ".seg");
+                segmentPath.toFile().deleteOnExit();
+                writer.write(segmentPath);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            madePages = numPages;
+        }
+        return pages;
+    }
+
+    private static double boostOf(URI uri) {
+        return 0.5 + new Random(uri.hashCode()).nextDouble();
+    }
+
+    private static IList<IList<String>> makeQueryLog() {
+        Random rand = new Random(0);
+        IList<IList<String>> log = new DoubleLinkedList<>();
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                query.add(randomWord(rand));
+            }
+            log.add(query);
+        }
+        return log;
+    }
+
+    /**
+     * Returns word i with probability roughly proportional to 1 / i.
+     */
+    private static String randomWord(Random rand) {
+        return "w" + (int) Math.pow(VOCABULARY_SIZE, rand.nextDouble());
+    }
+}
@@ -1,12 +1,14 @@
 package analysis.utils;
 
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.LongArrayList;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
 import org.openjdk.jol.info.GraphLayout;
 
-import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
 
 /**
  * This class contains a variety of utility methods useful when running
@@ -26,6 +28,18 @@ public class AnalysisUtils {
         return out;
     }
 
+    /**
+     * Like makeList, but stores the longs unboxed. Use this to build the inputs
+     * passed to runTrials and runSingleTrial.
+     */
+    public static ILongList makeLongList(long start, long end, long step) {
+        ILongList out = new LongArrayList();
+        for (long i = start; i < end; i += step) {
+            out.add(i);
+        }
+        return out;
+    }
+
     /**
      * Constructs a dictionary containing keys from 0 to 'size' (with dummy values)
      */
@@ -58,10 +72,10 @@ public class AnalysisUtils {
      * If you want to test something that has some degree of randomness (e.g. testing how long it takes
      * for some code to run), you should try using the 'runTrials' helper method below.
      */
-    public static IList<Long> runSingleTrial(IList<Long> inputs, Function<Long, Long> testerFunction) {
-        IList<Long> trial = new DoubleLinkedList<>();
-        for (long input : inputs) {
-            trial.add(testerFunction.apply(input));
+    public static ILongList runSingleTrial(ILongList inputs, LongUnaryOperator testerFunction) {
+        ILongList trial = new LongArrayList(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            trial.add(testerFunction.applyAsLong(inputs.get(i)));
         }
         return trial;
     }
@@ -70,13 +84,13 @@ public class AnalysisUtils {
      * This method re-runs 'runSingleTrial' the given `numTrial' number of times and returns
      * a list containing the (rounded) average of each trial.
      */
-    public static IList<Long> runTrials(IList<Long> inputs, Function<Long, Long> testerFunction, int numTrials) {
+    public static ILongList runTrials(ILongList inputs, LongUnaryOperator testerFunction, int numTrials) {
         // Run tester function once but discard result to warm up cache
         // (This helps us obtain more accurate results when testing timing code)
         System.out.println("    Running preliminary trial to warm up caches (will discard result)");
         runSingleTrial(inputs, testerFunction);
 
-        IList<IList<Long>> trials = new DoubleLinkedList<>();
+        IList<ILongList> trials = new DoubleLinkedList<>();
         for (int i = 0; i < numTrials; i++) {
             System.out.println("    Starting trial " + i);
             trials.add(runSingleTrial(inputs, testerFunction));
@@ -91,23 +105,27 @@ public class AnalysisUtils {
      *
      * Returns a list containing the (rounded) average of each row.
      */
-    public static IList<Long> average(IList<IList<Long>> entries) {
+    public static ILongList average(IList<ILongList> entries) {
         if (entries.isEmpty()) {
             throw new IllegalArgumentException("There must be at least one entry before we can take an average");
         }
         int numEntries = entries.size();
+        int numRows = entries.get(0).size();
 
-        IList<Long> result = new DoubleLinkedList<>();
-        RowIterator<Long> rowIter = new RowIterator<>(entries);
-        while (rowIter.hasNext()) {
-            IList<Long> trial = rowIter.next();
-            long curr = 0L;
-            for (long val : trial) {
-                curr += val;
+        long[] sums = new long[numRows];
+        for (ILongList entry : entries) {
+            if (entry.size() != numRows) {
+                throw new IllegalArgumentException("Not all columns have the same length");
+            }
+            for (int row = 0; row < numRows; row++) {
+                sums[row] += entry.get(row);
             }
-            result.add(Math.round((double) curr / numEntries));
         }
 
+        ILongList result = new LongArrayList(numRows);
+        for (long sum : sums) {
+            result.add(Math.round((double) sum / numEntries));
+        }
         return result;
     }
 
@@ -1,5 +1,6 @@
 package datastructures.concrete;
 
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 
@@ -7,8 +8,10 @@ import misc.exceptions.EmptyContainerException;
  * See IPriorityQueue for details on what each method must do.
  */
 public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
-    // See spec: you must implement a implement a 4-heap.
-    private static final int NUM_CHILDREN = 4;
+    // The number of children per node, chosen at construction. The spec's
+    // 4-heap is the default.
+    public static final int DEFAULT_NUM_CHILDREN = 4;
+    private final int numChildren;
 
     // You MUST use this field to store the contents of your heap.
     // You may NOT rename this field: we will be inspecting it within
@@ -20,10 +23,52 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     public static final int CAPACITY = 10;
 
     public ArrayHeap() {
+        this(DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates an empty heap in which every node has up to 'numChildren' children.
+     *
+     * Wider heaps are shallower, so inserting is cheaper, but removeMin has to
+     * compare more children at each level.
+     *
+     * @throws IllegalArgumentException  if numChildren is less than 2
+     */
+    public ArrayHeap(int numChildren) {
+        if (numChildren < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.numChildren = numChildren;
         this.heap = makeArrayOfT(CAPACITY);
         this.heapSize = 0;
     }
 
+    /**
+     * Creates a heap containing the given items, in O(n) time.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(IList<T> items) {
+        this(items, DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates a heap with the given number of children per node containing the
+     * given items, in O(n) time.
+     *
+     * @throws IllegalArgumentException  if numChildren is less than 2
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    public ArrayHeap(IList<T> items, int numChildren) {
+        if (numChildren < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.numChildren = numChildren;
+        this.heap = makeArrayOfT(Math.max(CAPACITY, items.size()));
+        this.heapSize = 0;
+        this.insertAll(items);
+    }
+
     /**
      * This method will return a new, empty array of the given size
      * that can contain elements of type T.
@@ -52,6 +97,26 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         return min;        
     }
 
+    /**
+     * Overwrites the root and sifts the new item down, which costs one percolate
+     * instead of the two that removeMin followed by insert would.
+     */
+    @Override
+    public T replaceMin(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        T min = this.heap[0];
+        this.heap[0] = item;
+        if (this.heapSize > 1) {
+            percolateDown(0);
+        }
+        return min;
+    }
+
     @Override
     public T peekMin() {
         if (isEmpty()) {
@@ -71,6 +136,42 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         this.heapSize++;
     }
 
+    /**
+     * Inserts every item in the given list, growing the array at most once.
+     *
+     * If the list is at least as big as the heap, this appends the items and then
+     * rebuilds the heap bottom-up (Floyd's method), which takes O(n) time
+     * instead of O(n log n). Otherwise, it inserts the items one by one.
+     *
+     * @throws IllegalArgumentException  if any of the items is null, in which case
+     *                                   the heap is left unchanged
+     */
+    @Override
+    public void insertAll(IList<T> items) {
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+        this.ensureCapacity(this.heapSize + items.size());
+        if (items.size() < this.heapSize) {
+            for (T item : items) {
+                this.insert(item);
+            }
+            return;
+        }
+        for (T item : items) {
+            this.heap[this.heapSize] = item;
+            this.heapSize++;
+        }
+        // Every index past the last item's parent is a leaf, and so is already a heap.
+        if (this.heapSize > 1) {
+            for (int i = getParentIndex(this.heapSize - 1); i >= 0; i--) {
+                percolateDown(i);
+            }
+        }
+    }
+
     @Override
     public int size() {
         return this.heapSize;
@@ -83,7 +184,7 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
             this.heap[index] = this.heap[smallestChildIndex];
             this.heap[smallestChildIndex] = temp;
             index = smallestChildIndex;
-            if (NUM_CHILDREN * index + 1 < heapSize) {
+            if (this.numChildren * index + 1 < heapSize) {
                 smallestChildIndex = getSmallestChildIndex(index);
             } else {
                 break;
@@ -92,15 +193,15 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     }
     
     private int getSmallestChildIndex(int index) {
-        int smallestChild = NUM_CHILDREN * index + 1;
-        int cap = NUM_CHILDREN;
-        if (this.heapSize - smallestChild < NUM_CHILDREN) {
+        int smallestChild = this.numChildren * index + 1;
+        int cap = this.numChildren;
+        if (this.heapSize - smallestChild < this.numChildren) {
             cap = this.heapSize - smallestChild;
             //System.out.println(this.size + "   " + index + " resetting");
         }
         for (int i = 2; i <= cap; i++) {
-            if (this.heap[NUM_CHILDREN * index + i].compareTo(this.heap[smallestChild]) < 0) {
-                smallestChild = NUM_CHILDREN * index + i;
+            if (this.heap[this.numChildren * index + i].compareTo(this.heap[smallestChild]) < 0) {
+                smallestChild = this.numChildren * index + i;
             }
         }    
         return smallestChild;     
@@ -118,9 +219,19 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     }
     
     private int getParentIndex(int index) {
-        return (index - 1) / NUM_CHILDREN;
+        return (index - 1) / this.numChildren;
     }
     
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.heap.length) {
+            T[] newArray = makeArrayOfT(Math.max(minCapacity, 2 * this.heap.length));
+            for (int i = 0; i < this.heapSize; i++) {
+                newArray[i] = this.heap[i];
+            }
+            this.heap = newArray;
+        }
+    }
+
     private void checkCapacity(int neededCapacity) {
         if (neededCapacity == this.heap.length) {
             T[] newArray = makeArrayOfT(2 * this.heapSize);
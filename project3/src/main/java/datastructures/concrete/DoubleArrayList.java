@@ -0,0 +1,96 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IDoubleList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * An IDoubleList backed by a single, growable double[].
+ *
+ * See IDoubleList for more details on what each method should do.
+ */
+public class DoubleArrayList implements IDoubleList {
+    public static final int CAPACITY = 10;
+
+    private double[] array;
+    private int size;
+
+    public DoubleArrayList() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for 'initialCapacity' values before it needs
+     * to grow.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public DoubleArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.array = new double[initialCapacity];
+        this.size = 0;
+    }
+
+    @Override
+    public void add(double value) {
+        this.ensureCapacity(this.size + 1);
+        this.array[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Grows the backing array, if necessary, so that it can hold at least
+     * 'minCapacity' values without reallocating.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.array.length) {
+            this.array = Arrays.copyOf(this.array, Math.max(minCapacity, this.array.length * 2));
+        }
+    }
+
+    @Override
+    public double remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        this.size--;
+        return this.array[this.size];
+    }
+
+    @Override
+    public double get(int index) {
+        this.checkIndex(index);
+        return this.array[index];
+    }
+
+    @Override
+    public void set(int index, double value) {
+        this.checkIndex(index);
+        this.array[index] = value;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public double[] toArray() {
+        return Arrays.copyOf(this.array, this.size);
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return Arrays.stream(this.array, 0, this.size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IDoublePriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+
+/**
+ * A d-ary array heap whose priorities are plain doubles.
+ *
+ * The priorities live in a double[] parallel to the items, so percolating only
+ * compares primitives that sit next to each other in memory, instead of following
+ * a reference to each element and calling compareTo.
+ *
+ * See IDoublePriorityQueue for details on what each method must do.
+ */
+public class DoubleKeyedHeap<T> implements IDoublePriorityQueue<T> {
+    public static final int DEFAULT_NUM_CHILDREN = 4;
+    public static final int CAPACITY = 10;
+
+    // Invariant: priorities[i] is the priority of items[i], and for every i > 0,
+    // priorities[(i - 1) / numChildren] <= priorities[i].
+    private T[] items;
+    private double[] priorities;
+    private int heapSize;
+    private final int numChildren;
+
+    public DoubleKeyedHeap() {
+        this(DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates an empty heap in which every node has up to 'numChildren' children.
+     *
+     * @throws IllegalArgumentException  if numChildren is less than 2
+     */
+    public DoubleKeyedHeap(int numChildren) {
+        if (numChildren < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.numChildren = numChildren;
+        this.items = makeArrayOfT(CAPACITY);
+        this.priorities = new double[CAPACITY];
+        this.heapSize = 0;
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Object[size]);
+    }
+
+    @Override
+    public T removeMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        T min = this.items[0];
+        this.heapSize--;
+        T lastItem = this.items[this.heapSize];
+        double lastPriority = this.priorities[this.heapSize];
+        this.items[this.heapSize] = null;
+        if (this.heapSize > 0) {
+            this.percolateDown(lastItem, lastPriority);
+        }
+        return min;
+    }
+
+    @Override
+    public T peekMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.items[0];
+    }
+
+    @Override
+    public double peekMinPriority() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.priorities[0];
+    }
+
+    @Override
+    public void insert(T item, double priority) {
+        if (item == null || Double.isNaN(priority)) {
+            throw new IllegalArgumentException();
+        }
+        if (this.heapSize == this.items.length) {
+            int newCapacity = Math.max(CAPACITY, 2 * this.heapSize);
+            this.items = Arrays.copyOf(this.items, newCapacity);
+            this.priorities = Arrays.copyOf(this.priorities, newCapacity);
+        }
+
+        // Move parents down until we find the slot the new item belongs in.
+        int index = this.heapSize;
+        while (index > 0) {
+            int parent = (index - 1) / this.numChildren;
+            if (this.priorities[parent] <= priority) {
+                break;
+            }
+            this.items[index] = this.items[parent];
+            this.priorities[index] = this.priorities[parent];
+            index = parent;
+        }
+        this.items[index] = item;
+        this.priorities[index] = priority;
+        this.heapSize++;
+    }
+
+    @Override
+    public int size() {
+        return this.heapSize;
+    }
+
+    /**
+     * Places the given item, starting from the root, by moving smaller children up
+     * until it is no larger than any of its children.
+     */
+    private void percolateDown(T item, double priority) {
+        int index = 0;
+        while (true) {
+            int firstChild = this.numChildren * index + 1;
+            if (firstChild >= this.heapSize) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + this.numChildren, this.heapSize);
+            int smallest = firstChild;
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (this.priorities[i] < this.priorities[smallest]) {
+                    smallest = i;
+                }
+            }
+            if (this.priorities[smallest] >= priority) {
+                break;
+            }
+            this.items[index] = this.items[smallest];
+            this.priorities[index] = this.priorities[smallest];
+            index = smallest;
+        }
+        this.items[index] = item;
+        this.priorities[index] = priority;
+    }
+}
@@ -3,10 +3,12 @@ package datastructures.concrete.dictionaries;
 import datastructures.concrete.KVPair;
 //import datastructures.concrete.dictionaries.ArrayDictionary.Pair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     // You may not change or rename this field: we will be inspecting
@@ -120,6 +122,20 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return new ArrayDictionaryIterator<>(this.pairs, 0);
     }
 
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.pairs[i].key, this.pairs[i].value);
+        }
+    }
+
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        Cursor<K, V> cursor = new Cursor<>();
+        cursor.reset(this);
+        return cursor;
+    }
+
     private static class Pair<K, V> {
         public K key;
         public V value;
@@ -136,6 +152,55 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         }
     }
     
+    /**
+     * A cursor that walks the pairs array directly. It is package-private so that
+     * ChainedHashDictionary can reuse a single instance across all of its buckets.
+     */
+    static class Cursor<K, V> implements IDictionaryCursor<K, V> {
+        private Pair<K, V>[] pairs;
+        private int size;
+        private int index;
+
+        /**
+         * Positions this cursor before the first pair of the given dictionary.
+         */
+        void reset(ArrayDictionary<K, V> dict) {
+            this.pairs = dict.pairs;
+            this.size = dict.size;
+            this.index = -1;
+        }
+
+        @Override
+        public boolean advance() {
+            if (this.index < this.size) {
+                this.index++;
+            }
+            return this.index < this.size;
+        }
+
+        @Override
+        public K key() {
+            return this.current().key;
+        }
+
+        @Override
+        public V value() {
+            return this.current().value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.current().value = value;
+        }
+
+        private Pair<K, V> current() {
+            if (this.index < 0 || this.index >= this.size) {
+                throw new IllegalStateException();
+            }
+            return this.pairs[this.index];
+        }
+    }
+
     private static class ArrayDictionaryIterator<V, K> implements Iterator<KVPair<K, V>> {
         // You should not need to change this field, or add any new fields.
         private KVPair<K, V> current;
@@ -0,0 +1,330 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IConcurrentDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * A thread-safe, separately-chained hash dictionary.
+ *
+ * Writes are serialized per lock stripe: bucket i is guarded by lock
+ * (i % NUM_STRIPES), so threads writing to different stripes never block each other.
+ * Reads take no locks at all. They walk the chains through volatile references,
+ * and writers only ever publish fully-constructed nodes.
+ *
+ * See IConcurrentDictionary and IDictionary for more details on what each method
+ * should do.
+ */
+public class ConcurrentChainedHashDictionary<K, V> implements IConcurrentDictionary<K, V> {
+    public static final int CAPACITY = 64;
+    public static final int NUM_STRIPES = 32;
+
+    // The table doubles once size exceeds 3/4 of the number of buckets.
+    private static final int MAX_LOAD_NUMERATOR = 3;
+    private static final int MAX_LOAD_DENOMINATOR = 4;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    // Invariants:
+    //
+    // - table.length() is a power of two and a multiple of NUM_STRIPES, so a key's
+    //   stripe (hash % NUM_STRIPES) never changes when the table is resized.
+    // - A bucket, and every node in it, is only modified while holding its stripe lock.
+    // - Resizing holds every stripe lock and builds the new table out of *copies* of
+    //   the old nodes, so readers that are still walking the old table see a
+    //   consistent (if slightly stale) view.
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private final ReentrantLock[] locks;
+    private final AtomicInteger size;
+
+    public ConcurrentChainedHashDictionary() {
+        this.table = new AtomicReferenceArray<>(CAPACITY);
+        this.locks = new ReentrantLock[NUM_STRIPES];
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.size = new AtomicInteger(0);
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = this.findNode(this.table, key, hash(key));
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = this.findNode(this.table, key, hash(key));
+        return node == null ? defaultValue : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findNode(this.table, key, hash(key)) != null;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        boolean added;
+        ReentrantLock lock = this.lockFor(hash);
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            Node<K, V> node = this.findNode(current, key, hash);
+            if (node != null) {
+                node.value = value;
+                added = false;
+            } else {
+                this.insertNode(current, key, hash, value);
+                added = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (added) {
+            this.afterInsert();
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(K key, V value) {
+        int hash = hash(key);
+        ReentrantLock lock = this.lockFor(hash);
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            if (this.findNode(current, key, hash) != null) {
+                return false;
+            }
+            this.insertNode(current, key, hash, value);
+        } finally {
+            lock.unlock();
+        }
+        this.afterInsert();
+        return true;
+    }
+
+    @Override
+    public V remove(K key) {
+        int hash = hash(key);
+        ReentrantLock lock = this.lockFor(hash);
+        lock.lock();
+        try {
+            Node<K, V> removed = this.unlinkNode(this.table, key, hash);
+            if (removed == null) {
+                throw new NoSuchKeyException();
+            }
+            return removed.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        int hash = hash(key);
+        boolean added = false;
+        V newValue;
+        ReentrantLock lock = this.lockFor(hash);
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> current = this.table;
+            Node<K, V> node = this.findNode(current, key, hash);
+            newValue = remapping.apply(key, node == null ? null : node.value);
+            if (node != null && newValue != null) {
+                node.value = newValue;
+            } else if (node != null) {
+                this.unlinkNode(current, key, hash);
+            } else if (newValue != null) {
+                this.insertNode(current, key, hash, newValue);
+                added = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (added) {
+            this.afterInsert();
+        }
+        return newValue;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        return this.compute(key, (k, oldValue) -> oldValue == null ? value : remapping.apply(oldValue, value));
+    }
+
+    @Override
+    public int size() {
+        return this.size.get();
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new ConcurrentIterator<>(this.table);
+    }
+
+    private Node<K, V> findNode(AtomicReferenceArray<Node<K, V>> current, K key, int hash) {
+        Node<K, V> node = current.get(hash & (current.length() - 1));
+        while (node != null) {
+            if (node.hash == hash && keyEquals(node.key, key)) {
+                return node;
+            }
+            node = node.next;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new node to the front of its bucket. The caller must hold the stripe lock
+     * and must have already checked that the key is absent.
+     */
+    private void insertNode(AtomicReferenceArray<Node<K, V>> current, K key, int hash, V value) {
+        int index = hash & (current.length() - 1);
+        current.set(index, new Node<>(hash, key, value, current.get(index)));
+        this.size.incrementAndGet();
+    }
+
+    /**
+     * Removes the node with the given key from its bucket and returns it, or returns
+     * null if there is no such node. The caller must hold the stripe lock.
+     */
+    private Node<K, V> unlinkNode(AtomicReferenceArray<Node<K, V>> current, K key, int hash) {
+        int index = hash & (current.length() - 1);
+        Node<K, V> prev = null;
+        Node<K, V> node = current.get(index);
+        while (node != null) {
+            if (node.hash == hash && keyEquals(node.key, key)) {
+                if (prev == null) {
+                    current.set(index, node.next);
+                } else {
+                    prev.next = node.next;
+                }
+                this.size.decrementAndGet();
+                return node;
+            }
+            prev = node;
+            node = node.next;
+        }
+        return null;
+    }
+
+    private ReentrantLock lockFor(int hash) {
+        return this.locks[hash & (NUM_STRIPES - 1)];
+    }
+
+    /**
+     * Grows the table if it has become too full. Must be called without holding any
+     * stripe lock, since resizing needs all of them.
+     */
+    private void afterInsert() {
+        AtomicReferenceArray<Node<K, V>> current = this.table;
+        if (this.isOverloaded(current)) {
+            this.resize(current);
+        }
+    }
+
+    private boolean isOverloaded(AtomicReferenceArray<Node<K, V>> current) {
+        return current.length() < MAX_TABLE_SIZE
+                && (long) this.size.get() * MAX_LOAD_DENOMINATOR > (long) current.length() * MAX_LOAD_NUMERATOR;
+    }
+
+    private void resize(AtomicReferenceArray<Node<K, V>> expected) {
+        // Locks are always acquired in the same order, so two threads resizing at the
+        // same time can't deadlock.
+        for (ReentrantLock lock : this.locks) {
+            lock.lock();
+        }
+        try {
+            // Another thread may have already resized while we were waiting.
+            if (this.table != expected || !this.isOverloaded(expected)) {
+                return;
+            }
+            int newLength = expected.length() * 2;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < expected.length(); i++) {
+                for (Node<K, V> node = expected.get(i); node != null; node = node.next) {
+                    int index = node.hash & (newLength - 1);
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+            this.table = newTable;
+        } finally {
+            for (ReentrantLock lock : this.locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int code = key == null ? 0 : key.hashCode();
+        return code ^ (code >>> 16);
+    }
+
+    private static boolean keyEquals(Object a, Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static class Node<K, V> {
+        public final int hash;
+        public final K key;
+        public volatile V value;
+        public volatile Node<K, V> next;
+
+        public Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private static class ConcurrentIterator<K, V> implements Iterator<KVPair<K, V>> {
+        // The table as it was when the iterator was created. If the dictionary is
+        // resized, we simply keep walking the old table.
+        private AtomicReferenceArray<Node<K, V>> table;
+        private int bucketIndex;
+        private Node<K, V> nextNode;
+
+        public ConcurrentIterator(AtomicReferenceArray<Node<K, V>> table) {
+            this.table = table;
+            this.bucketIndex = 0;
+            this.nextNode = null;
+            this.advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextNode != null;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = this.nextNode;
+            this.nextNode = node.next;
+            if (this.nextNode == null) {
+                this.advance();
+            }
+            return new KVPair<>(node.key, node.value);
+        }
+
+        private void advance() {
+            while (this.nextNode == null && this.bucketIndex < this.table.length()) {
+                this.nextNode = this.table.get(this.bucketIndex);
+                this.bucketIndex++;
+            }
+        }
+    }
+}
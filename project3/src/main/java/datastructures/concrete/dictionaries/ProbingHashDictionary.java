@@ -0,0 +1,224 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * An open-addressing hash dictionary that resolves collisions using linear probing.
+ *
+ * Unlike ChainedHashDictionary, this class does not allocate a chain object per
+ * bucket or a pair object per entry: keys, values and (cached) hash codes are stored
+ * in three parallel arrays. Removals use backward-shift deletion, so the table never
+ * contains tombstones. The table itself is in ProbingTable; this class only adds the
+ * array of values.
+ *
+ * See IDictionary for more details on what each method should do.
+ */
+public class ProbingHashDictionary<K, V> extends ProbingTable<K> implements IDictionary<K, V> {
+    public static final int CAPACITY = ProbingTable.CAPACITY;
+
+    // values[i] is the value of keys[i]: see ProbingTable for the other invariants.
+    private V[] values;
+
+    public ProbingHashDictionary() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Constructs an empty dictionary that can hold at least 'expectedSize' entries
+     * without needing to resize.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ProbingHashDictionary(int expectedSize) {
+        super(expectedSize);
+        this.values = newValues(this.hashes.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V[] newValues(int capacity) {
+        return (V[]) new Object[capacity];
+    }
+
+    @Override
+    public V get(K key) {
+        int index = this.findSlot(key, hash(key));
+        if (index < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[index];
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int index = this.findSlot(key, hash(key));
+        return index < 0 ? defaultValue : this.values[index];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int index = this.findSlot(key, hash);
+        if (index < 0) {
+            index = this.insertSlot(key, hash, index);
+        }
+        this.values[index] = value;
+    }
+
+    @Override
+    public V remove(K key) {
+        int index = this.findSlot(key, hash(key));
+        if (index < 0) {
+            throw new NoSuchKeyException();
+        }
+        V value = this.values[index];
+        this.deleteSlot(index);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new ProbingIterator<>(this.keys, this.values, this.hashes);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != 0) {
+                action.accept(this.keys[i], this.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        return new ProbingCursor<>(this.keys, this.values, this.hashes);
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        this.values[to] = this.values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        this.values[slot] = null;
+    }
+
+    @Override
+    void resizeValues(int newCapacity, int[] newSlots) {
+        V[] oldValues = this.values;
+        this.values = newValues(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (newSlots[i] >= 0) {
+                this.values[newSlots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    private static class ProbingCursor<K, V> implements IDictionaryCursor<K, V> {
+        private K[] keys;
+        private V[] values;
+        private int[] hashes;
+
+        // The slot the cursor is on: -1 before the first advance, hashes.length at the end.
+        private int index;
+
+        public ProbingCursor(K[] keys, V[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.index = -1;
+        }
+
+        @Override
+        public boolean advance() {
+            if (this.index < this.hashes.length) {
+                this.index++;
+            }
+            while (this.index < this.hashes.length && this.hashes[this.index] == 0) {
+                this.index++;
+            }
+            return this.index < this.hashes.length;
+        }
+
+        @Override
+        public K key() {
+            this.checkPositioned();
+            return this.keys[this.index];
+        }
+
+        @Override
+        public V value() {
+            this.checkPositioned();
+            return this.values[this.index];
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.checkPositioned();
+            this.values[this.index] = value;
+        }
+
+        private void checkPositioned() {
+            if (this.index < 0 || this.index >= this.hashes.length) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private static class ProbingIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private K[] keys;
+        private V[] values;
+        private int[] hashes;
+
+        // The index of the next occupied slot, or hashes.length if there is none.
+        private int index;
+
+        public ProbingIterator(K[] keys, V[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.index = this.nextOccupied(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.hashes.length;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> pair = new KVPair<>(this.keys[this.index], this.values[this.index]);
+            this.index = this.nextOccupied(this.index + 1);
+            return pair;
+        }
+
+        private int nextOccupied(int start) {
+            int current = start;
+            while (current < this.hashes.length && this.hashes[current] == 0) {
+                current++;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IObjDoubleDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing IObjDoubleDictionary. Values are stored in a plain double[] array,
+ * so reading, writing or incrementing a value never allocates.
+ *
+ * The table itself (linear probing, cached hash codes, backward-shift deletion) is
+ * in ProbingTable, shared with ProbingHashDictionary: this class only adds the
+ * array of values.
+ */
+public class ProbingObjDoubleDictionary<K> extends ProbingTable<K> implements IObjDoubleDictionary<K> {
+    public static final int CAPACITY = ProbingTable.CAPACITY;
+
+    // values[i] is the value of keys[i]: see ProbingTable for the other invariants.
+    private double[] values;
+
+    public ProbingObjDoubleDictionary() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Constructs an empty dictionary that can hold at least 'expectedSize' entries
+     * without needing to resize.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    public ProbingObjDoubleDictionary(int expectedSize) {
+        super(expectedSize);
+        this.values = new double[this.hashes.length];
+    }
+
+    @Override
+    public double getDouble(K key) {
+        int index = this.findSlot(key, hash(key));
+        if (index < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[index];
+    }
+
+    @Override
+    public double getOrDefault(K key, double defaultValue) {
+        int index = this.findSlot(key, hash(key));
+        return index < 0 ? defaultValue : this.values[index];
+    }
+
+    @Override
+    public void put(K key, double value) {
+        // Note: the slot must be found before reading this.values, since inserting
+        // the key may resize the table.
+        int index = this.findOrInsertSlot(key);
+        this.values[index] = value;
+    }
+
+    @Override
+    public double addTo(K key, double delta) {
+        int index = this.findOrInsertSlot(key);
+        this.values[index] += delta;
+        return this.values[index];
+    }
+
+    @Override
+    public double remove(K key) {
+        int index = this.findSlot(key, hash(key));
+        if (index < 0) {
+            throw new NoSuchKeyException();
+        }
+        double value = this.values[index];
+        this.deleteSlot(index);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator<>(this.keys, this.hashes);
+    }
+
+    /**
+     * Returns the slot containing the given key, inserting the key with a value of
+     * zero first if it is not already present.
+     */
+    private int findOrInsertSlot(K key) {
+        int hash = hash(key);
+        int index = this.findSlot(key, hash);
+        if (index < 0) {
+            index = this.insertSlot(key, hash, index);
+            this.values[index] = 0.0;
+        }
+        return index;
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        this.values[to] = this.values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        // Nothing to release: a slot's value is set whenever a key is put in it.
+    }
+
+    @Override
+    void resizeValues(int newCapacity, int[] newSlots) {
+        double[] oldValues = this.values;
+        this.values = new double[newCapacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (newSlots[i] >= 0) {
+                this.values[newSlots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    private static class KeyIterator<K> implements Iterator<K> {
+        private K[] keys;
+        private int[] hashes;
+        private int index;
+
+        public KeyIterator(K[] keys, int[] hashes) {
+            this.keys = keys;
+            this.hashes = hashes;
+            this.index = this.nextOccupied(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.hashes.length;
+        }
+
+        @Override
+        public K next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = this.keys[this.index];
+            this.index = this.nextOccupied(this.index + 1);
+            return key;
+        }
+
+        private int nextOccupied(int start) {
+            int current = start;
+            while (current < this.hashes.length && this.hashes[current] == 0) {
+                current++;
+            }
+            return current;
+        }
+    }
+}
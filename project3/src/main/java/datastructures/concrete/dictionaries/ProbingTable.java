@@ -0,0 +1,182 @@
+package datastructures.concrete.dictionaries;
+
+import java.util.Arrays;
+
+/**
+ * The hash table shared by ProbingHashDictionary, ProbingObjIntDictionary and
+ * ProbingObjDoubleDictionary: open addressing with linear probing, where keys and
+ * their (cached) hash codes are stored in parallel arrays. Removals use
+ * backward-shift deletion, so the table never contains tombstones.
+ *
+ * This class owns the keys and hash codes. Each subclass keeps its values in an
+ * array of its own element type, parallel to the keys, so values are never boxed;
+ * this class tells it whenever an entry moves (see moveValue, clearValue and
+ * resizeValues).
+ */
+abstract class ProbingTable<K> {
+    static final int CAPACITY = 16;
+
+    // The table is resized once it becomes more than half full. Linear probing
+    // degrades quickly past this point since clusters start merging together.
+    private static final int MAX_LOAD_NUMERATOR = 1;
+    private static final int MAX_LOAD_DENOMINATOR = 2;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    // Invariants:
+    //
+    // - Both arrays, and the subclass's values array, have the same length, which is
+    //   always a power of two.
+    // - hashes[i] == 0 if and only if slot i is empty. Otherwise, hashes[i] contains
+    //   the spread hash code of keys[i] with the high bit set (so that a key whose
+    //   hash code happens to be zero is still distinguishable from an empty slot).
+    // - Every key is reachable by probing forward from its home slot without
+    //   crossing an empty slot.
+    K[] keys;
+    int[] hashes;
+    int size;
+
+    /**
+     * Constructs an empty table that can hold at least 'expectedSize' entries without
+     * needing to resize. The subclass must then allocate hashes.length values.
+     *
+     * @throws IllegalArgumentException  if expectedSize is negative
+     */
+    @SuppressWarnings("unchecked")
+    ProbingTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = tableSizeFor(expectedSize);
+        this.keys = (K[]) new Object[capacity];
+        this.hashes = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Copies the value in slot 'from' into slot 'to'.
+     */
+    abstract void moveValue(int from, int to);
+
+    /**
+     * Forgets the value in the given slot, which has just been emptied.
+     */
+    abstract void clearValue(int slot);
+
+    /**
+     * Replaces the values with an array of 'newCapacity' values, where the value in
+     * every occupied old slot i goes to slot newSlots[i]. newSlots[i] is -1 for every
+     * empty old slot.
+     */
+    abstract void resizeValues(int newCapacity, int[] newSlots);
+
+    /**
+     * Returns the slot containing the given key if it exists. Otherwise, returns
+     * (-(insertion slot) - 1), where the insertion slot is the first empty slot
+     * found while probing.
+     */
+    final int findSlot(K key, int hash) {
+        int mask = this.hashes.length - 1;
+        int index = hash & mask;
+        while (this.hashes[index] != 0) {
+            if (this.hashes[index] == hash && keyEquals(this.keys[index], key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * Adds a key that findSlot did not find, given what findSlot returned, resizing
+     * first if needed, and returns its slot. The caller must then set its value.
+     */
+    final int insertSlot(K key, int hash, int notFound) {
+        int index = notFound;
+        if (this.needsResize(this.size + 1)) {
+            this.resize(2 * this.hashes.length);
+            index = this.findSlot(key, hash);
+        }
+        index = -index - 1;
+        this.keys[index] = key;
+        this.hashes[index] = hash;
+        this.size++;
+        return index;
+    }
+
+    /**
+     * Empties the given slot, then walks the rest of the cluster and shifts back any
+     * entry that would otherwise become unreachable from its home slot.
+     */
+    final void deleteSlot(int hole) {
+        int mask = this.hashes.length - 1;
+        int index = (hole + 1) & mask;
+        while (this.hashes[index] != 0) {
+            int home = this.hashes[index] & mask;
+            // The entry at 'index' may move into the hole only if its home slot does
+            // not lie cyclically within (hole, index].
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                this.keys[hole] = this.keys[index];
+                this.hashes[hole] = this.hashes[index];
+                this.moveValue(index, hole);
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[hole] = null;
+        this.hashes[hole] = 0;
+        this.clearValue(hole);
+        this.size--;
+    }
+
+    private boolean needsResize(int neededSize) {
+        return (long) neededSize * MAX_LOAD_DENOMINATOR > (long) this.hashes.length * MAX_LOAD_NUMERATOR;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        K[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        this.keys = (K[]) new Object[newCapacity];
+        this.hashes = new int[newCapacity];
+
+        // Every key is already known to be unique, so we can skip the equality
+        // checks and just look for the first empty slot.
+        int[] newSlots = new int[oldHashes.length];
+        Arrays.fill(newSlots, -1);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                int index = oldHashes[i] & mask;
+                while (this.hashes[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.hashes[index] = oldHashes[i];
+                newSlots[i] = index;
+            }
+        }
+        this.resizeValues(newCapacity, newSlots);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max((long) CAPACITY, (long) expectedSize * MAX_LOAD_DENOMINATOR / MAX_LOAD_NUMERATOR);
+        if (needed >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        int capacity = Integer.highestOneBit((int) needed);
+        return capacity < needed ? capacity << 1 : capacity;
+    }
+
+    static int hash(Object key) {
+        // Scramble the hash code before using it. Linear probing is very sensitive to
+        // clustering, and many hash codes (e.g. Integer's) map consecutive keys to
+        // consecutive slots. Multiplying by the golden ratio spreads them out, and the
+        // shift mixes the high bits into the low ones we use to pick a slot.
+        int code = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+        return (code ^ (code >>> 16)) | Integer.MIN_VALUE;
+    }
+
+    private static boolean keyEquals(Object a, Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+}
@@ -4,6 +4,7 @@ import datastructures.concrete.KVPair;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a data structure that contains a bunch of key-value mappings. Each key must be unique.
@@ -67,4 +68,61 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      * Returns a list of all key-value pairs contained within this dict.
      */
     public Iterator<KVPair<K, V>> iterator();
+
+    /**
+     * Calls action.accept(key, value) once for every key-value pair in this dictionary.
+     *
+     * The action must not modify the dictionary. The default implementation goes
+     * through iterator(); implementations may override it with a version that does
+     * not allocate a KVPair per entry.
+     */
+    public default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (KVPair<K, V> pair : this) {
+            action.accept(pair.getKey(), pair.getValue());
+        }
+    }
+
+    /**
+     * Returns a new cursor positioned before the first key-value pair in this dictionary.
+     *
+     * The default implementation goes through iterator() and implements setValue
+     * with put; implementations may override it with a version that does not
+     * allocate a KVPair per entry.
+     */
+    public default IDictionaryCursor<K, V> cursor() {
+        Iterator<KVPair<K, V>> iter = this.iterator();
+        return new IDictionaryCursor<K, V>() {
+            private KVPair<K, V> current = null;
+
+            @Override
+            public boolean advance() {
+                this.current = iter.hasNext() ? iter.next() : null;
+                return this.current != null;
+            }
+
+            @Override
+            public K key() {
+                return this.pair().getKey();
+            }
+
+            @Override
+            public V value() {
+                return this.pair().getValue();
+            }
+
+            @Override
+            public void setValue(V value) {
+                K key = this.pair().getKey();
+                IDictionary.this.put(key, value);
+                this.current = new KVPair<>(key, value);
+            }
+
+            private KVPair<K, V> pair() {
+                if (this.current == null) {
+                    throw new IllegalStateException();
+                }
+                return this.current;
+            }
+        };
+    }
 }
@@ -0,0 +1,45 @@
+package datastructures.interfaces;
+
+/**
+ * A mutable position within an IDictionary, used to scan it without allocating a
+ * KVPair per entry.
+ *
+ * A new cursor sits *before* the first pair; call advance() to move onto each pair
+ * in turn:
+ *
+ *     IDictionaryCursor<K, V> cursor = dict.cursor();
+ *     while (cursor.advance()) {
+ *         ... cursor.key() ... cursor.value() ...
+ *     }
+ *
+ * The dictionary must not be modified while a cursor is in use, except through
+ * the cursor's own setValue method.
+ */
+public interface IDictionaryCursor<K, V> {
+    /**
+     * Moves the cursor to the next key-value pair. Returns 'true' if there was one,
+     * and 'false' if the cursor has moved past the last pair.
+     */
+    public boolean advance();
+
+    /**
+     * Returns the key of the pair the cursor is on.
+     *
+     * @throws IllegalStateException if advance() has not been called yet or returned false
+     */
+    public K key();
+
+    /**
+     * Returns the value of the pair the cursor is on.
+     *
+     * @throws IllegalStateException if advance() has not been called yet or returned false
+     */
+    public V value();
+
+    /**
+     * Replaces the value of the pair the cursor is on.
+     *
+     * @throws IllegalStateException if advance() has not been called yet or returned false
+     */
+    public void setValue(V value);
+}
@@ -0,0 +1,59 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * Represents a queue of items, each paired with a priority of type double, where
+ * the front item is always the one with the *smallest* priority.
+ *
+ * Unlike IPriorityQueue, the items do not need to be Comparable: the queue only
+ * ever compares the priorities, which it stores unboxed.
+ */
+public interface IDoublePriorityQueue<T> {
+    /**
+     * Removes and returns the item with the smallest priority.
+     *
+     * If several items share the smallest priority, this method may break the tie
+     * arbitrarily and return any one of them.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    T removeMin();
+
+    /**
+     * Returns, but does not remove, the item with the smallest priority.
+     *
+     * This method must break ties in the same way the removeMin method breaks ties.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    T peekMin();
+
+    /**
+     * Returns the priority of the item peekMin would return.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    double peekMinPriority();
+
+    /**
+     * Inserts the given item with the given priority.
+     *
+     * The same item may be inserted more than once.
+     *
+     * @throws IllegalArgumentException  if the item is null or the priority is NaN
+     */
+    void insert(T item, double priority);
+
+    /**
+     * Returns the number of items contained within this queue.
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this queue is empty, and false otherwise.
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
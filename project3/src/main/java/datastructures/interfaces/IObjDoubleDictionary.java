@@ -0,0 +1,71 @@
+package datastructures.interfaces;
+
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+
+/**
+ * Represents a dictionary that maps keys to primitive double values.
+ *
+ * This is the unboxed counterpart to IDictionary<K, Double>: none of the methods
+ * below allocate a Double object. Iterating over this dictionary yields its keys.
+ */
+public interface IObjDoubleDictionary<K> extends Iterable<K> {
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double getDouble(K key);
+
+    /**
+     * Returns the value corresponding to the given key, if the key exists in the map.
+     * Otherwise, returns the default value.
+     *
+     * Note: This method does not modify the map in any way.
+     */
+    public double getOrDefault(K key, double defaultValue);
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    public void put(K key, double value);
+
+    /**
+     * Adds 'delta' to the value corresponding to the given key and returns the new value.
+     * If the key does not exist yet, it is added with a value of 'delta'.
+     *
+     * This is equivalent to (but faster than) put(key, getOrDefault(key, 0) + delta).
+     */
+    public double addTo(K key, double delta);
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double remove(K key);
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(K key);
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size();
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns an iterator over all keys contained within this dictionary.
+     */
+    public Iterator<K> iterator();
+}
@@ -29,6 +29,25 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     T peekMin();
 
+    /**
+     * Removes and returns the smallest element in the queue, and inserts the given
+     * item in its place.
+     *
+     * This behaves like calling removeMin then insert, but implementations may do
+     * it in a single pass.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     * @throws IllegalArgumentException  if the item is null
+     */
+    default T replaceMin(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        T min = this.removeMin();
+        this.insert(item);
+        return min;
+    }
+
     /**
      * Inserts the given item into the queue.
      *
@@ -36,6 +55,20 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     void insert(T item);
 
+    /**
+     * Inserts every item in the given list into the queue.
+     *
+     * The default implementation simply calls insert once per item. Implementations
+     * may override it with something faster.
+     *
+     * @throws IllegalArgumentException  if any of the items is null
+     */
+    default void insertAll(IList<T> items) {
+        for (T item : items) {
+            this.insert(item);
+        }
+    }
+
     /**
      * Returns the number of elements contained within this queue.
      */
@@ -1,9 +1,12 @@
 package misc;
 
-import datastructures.concrete.ArrayHeap;
-import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
 public class Searcher {
     /**
      * This method takes the input list and returns the top k elements
@@ -29,26 +32,93 @@ public class Searcher {
         //   You can implement a generic method in basically the same way you implement
         //   generic classes: just use the 'T' generic type as if it were a regular type.
         //
-        // - You should implement this method by using your ArrayHeap for the sake of
-        //   efficiency.
+        // - Only the best 'k' elements seen so far are kept in the heap, so this takes
+        //   O(n log k) time and O(k) extra memory.
+        return topKSort(k, input.iterator());
+    }
+
+    /**
+     * Returns the top k elements produced by the given iterator, in sorted order.
+     *
+     * The iterator is consumed exactly once, and at most k elements are held in
+     * memory at any point.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the iterator produces a null element
+     */
+    public static <T extends Comparable<T>> IList<T> topKSort(int k, Iterator<T> input) {
+        TopKCollector<T> collector = new TopKCollector<>(k);
+        while (input.hasNext()) {
+            collector.add(input.next());
+        }
+        return collector.drain();
+    }
+
+    /**
+     * Returns the top k elements of the given stream, in sorted order.
+     *
+     * If the stream is parallel, each thread keeps its own top k and the partial
+     * results are merged at the end.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if the stream contains a null element
+     */
+    public static <T extends Comparable<T>> IList<T> topKSort(int k, Stream<T> input) {
+        return input.collect(toTopK(k));
+    }
+
+    /**
+     * Returns the top k elements across all the given partitions, in sorted order.
+     *
+     * Each partition is scanned on its own thread (using the common fork-join pool),
+     * and the per-partition results are merged.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if any partition contains a null element
+     */
+    public static <T extends Comparable<T>> IList<T> parallelTopKSort(
+            int k, IList<? extends Iterable<T>> partitions) {
         if (k < 0) {
             throw new IllegalArgumentException();
         }
-        ArrayHeap<T> heap = new ArrayHeap<>();
-        for (T element : input) {
-            heap.insert(element);
-        }
-        int cap = 0;
-        if (k < input.size()) {
-            cap = input.size() - k;
-        }
-        for (int i = 0; i < cap; i++) {
-            heap.removeMin();
+        // Copy the partitions into an array first: it splits evenly between threads,
+        // unlike a stream over an iterator.
+        Object[] parts = new Object[partitions.size()];
+        int i = 0;
+        for (Iterable<T> partition : partitions) {
+            parts[i] = partition;
+            i++;
         }
-        DoubleLinkedList<T> topK = new DoubleLinkedList<>();
-        for (int i = cap; i < input.size(); i++) {
-            topK.add(heap.removeMin());
+        return Arrays.stream(parts)
+                .parallel()
+                .map(part -> {
+                    @SuppressWarnings("unchecked")
+                    Iterable<T> partition = (Iterable<T>) part;
+                    TopKCollector<T> collector = new TopKCollector<>(k);
+                    for (T item : partition) {
+                        collector.add(item);
+                    }
+                    return collector;
+                })
+                .collect(() -> new TopKCollector<T>(k), TopKCollector<T>::merge, TopKCollector<T>::merge)
+                .drain();
+    }
+
+    /**
+     * Returns a stream collector that keeps the top k elements, and finishes by
+     * returning them in sorted order.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public static <T extends Comparable<T>> Collector<T, ?, IList<T>> toTopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
         }
-        return topK;
-    }    
-}
\ No newline at end of file
+        return Collector.of(
+                () -> new TopKCollector<T>(k),
+                TopKCollector::add,
+                TopKCollector::merge,
+                TopKCollector::drain,
+                Collector.Characteristics.UNORDERED);
+    }
+}
@@ -1,5 +1,9 @@
 package search;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 public class Main {
     // The dataset to index and search.
     // MUST be the name of one of the folders in the 'data' folder.
@@ -13,10 +17,26 @@ public class Main {
     // and know what ports are, feel free to change this if it's convenient.
     public static final int PORT = 8080;
 
+    // How often to check the data folder for new pages, such as ones being fetched by
+    // Scrape, and add them to the index.
+    public static final int REFRESH_MINUTES = 5;
+
     public static void main(String[] args) {
         System.out.println("Indexing web pages...");
         SearchEngine engine = new SearchEngine(DATA_FOLDER_NAME);
 
+        ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor();
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                int added = engine.refresh();
+                if (added > 0) {
+                    System.out.println(String.format("Indexed %d new pages", added));
+                }
+            } catch (RuntimeException ex) {
+                System.out.println("Could not index new pages: " + ex);
+            }
+        }, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+
         System.out.println("Setting up web server...");
         Webapp app = new Webapp(engine, SITE_TITLE, PORT);
 
@@ -4,53 +4,156 @@ import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
-import misc.Searcher;
+import search.analyzers.InvertedIndex;
 import search.analyzers.PageRankAnalyzer;
+import search.analyzers.SegmentedIndex;
+import search.analyzers.SegmentWriter;
 import search.analyzers.TfIdfAnalyzer;
 import search.misc.Bridge;
 import search.misc.exceptions.DataExtractionException;
 import search.models.Result;
 import search.models.Webpage;
-import search.models.WebpageSummary;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
 
-public class SearchEngine {
+public class SearchEngine implements Closeable {
     public static final double PAGE_RANK_DECAY = 0.85;
     public static final double PAGE_RANK_EPSILON = 0.0001;
     public static final int PAGE_RANK_ITERATION_LIMIT = 200;
 
-    private ISet<WebpageSummary> pages;
-    private TfIdfAnalyzer tfIdfAnalyzer;
-    private PageRankAnalyzer pageRankAnalyzer;
+    // Null if the index was loaded from disk rather than built from the pages, or if
+    // pages have been added to it since. Read once per call, as refresh may clear it
+    // from another thread.
+    private volatile Analyzers analyzers;
+    // Scores queries as computeScore does, but only over the pages sharing a word
+    // with the query. Kept on disk in the 'index' folder, so later runs can skip
+    // loading and analyzing the pages: delete the folder to rebuild it.
+    private final SegmentedIndex index;
+    private final Path dataFolder;
+    // The page files already indexed, relative to the data folder, one per line.
+    private final Path sourcesPath;
+    private final ISet<String> indexedSources;
 
     public SearchEngine(String dataFolderName) {
-        long start = System.currentTimeMillis();
-        ISet<Webpage> webpages = this.collectWebpages(Paths.get("data", dataFolderName));
-        long end = System.currentTimeMillis() - start;
-        System.out.println("Done loading pages (" + (end / 1000.0) + " sec)");
-
-        this.pages = this.extractWebpageSummaries(webpages);
-        System.out.println("Done extracting");
-
-        start = System.currentTimeMillis();
-        this.tfIdfAnalyzer = new TfIdfAnalyzer(webpages);
-        this.pageRankAnalyzer = new PageRankAnalyzer(
-                webpages,
-                PAGE_RANK_DECAY,
-                PAGE_RANK_EPSILON,
-                PAGE_RANK_ITERATION_LIMIT);
-        end = System.currentTimeMillis() - start;
-        System.out.println("Done indexing (" + (end / 1000.0) + " sec)");
+        this(Paths.get("data", dataFolderName), Paths.get("index", dataFolderName));
+    }
+
+    /**
+     * Searches the pages in 'dataFolder', keeping their index in 'indexFolder'.
+     */
+    public SearchEngine(Path dataFolder, Path indexFolder) {
+        this.dataFolder = dataFolder;
+        this.sourcesPath = indexFolder.resolve("sources");
+        this.indexedSources = new ChainedHashSet<>();
+        try {
+            this.index = new SegmentedIndex(indexFolder);
+            if (this.index.snapshot().numDocuments() > 0) {
+                // Without the list, refresh skips pages by URI instead, after loading them.
+                if (Files.exists(this.sourcesPath)) {
+                    for (String source : Files.readAllLines(this.sourcesPath, StandardCharsets.UTF_8)) {
+                        this.indexedSources.add(source);
+                    }
+                }
+                System.out.println("Done loading index (" + this.index.snapshot().numDocuments() + " pages)");
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            IList<Path> files = this.findPageFiles();
+            ISet<Webpage> webpages = new ChainedHashSet<>();
+            for (Path file : files) {
+                webpages.add(Webpage.load(file.toUri()));
+            }
+            long end = System.currentTimeMillis() - start;
+            System.out.println("Done loading pages (" + (end / 1000.0) + " sec)");
+
+            start = System.currentTimeMillis();
+            TfIdfAnalyzer tfIdfAnalyzer = new TfIdfAnalyzer(webpages);
+            PageRankAnalyzer pageRankAnalyzer = new PageRankAnalyzer(
+                    webpages,
+                    PAGE_RANK_DECAY,
+                    PAGE_RANK_EPSILON,
+                    PAGE_RANK_ITERATION_LIMIT);
+            // The same combination of scores as computeScore.
+            SegmentWriter writer = new SegmentWriter();
+            for (Webpage page : webpages) {
+                writer.addDocument(page.getSummary(), page.getWords(),
+                        Math.sqrt(pageRankAnalyzer.computePageRank(page.getUri())));
+            }
+            this.index.addDocuments(writer);
+            this.analyzers = new Analyzers(tfIdfAnalyzer, pageRankAnalyzer);
+            this.recordSources(files);
+            end = System.currentTimeMillis() - start;
+            System.out.println("Done indexing (" + (end / 1000.0) + " sec)");
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not read or write the index", ex);
+        }
+    }
+
+    /**
+     * Indexes the pages added to the data folder since the index was built, such as
+     * ones fetched by Scraper.run, into a new segment, and returns how many there were.
+     * Queries are answered from the pages indexed before until the new segment is
+     * complete, and from all of them after.
+     *
+     * Page ranks can only be computed over every page at once, so new pages are
+     * boosted as if their rank were the average one, 1 / (number of pages).
+     */
+    public synchronized int refresh() {
+        try {
+            SegmentedIndex.Snapshot current = this.index.snapshot();
+            IList<Path> newFiles = new DoubleLinkedList<>();
+            IList<Webpage> newPages = new DoubleLinkedList<>();
+            ISet<URI> newUris = new ChainedHashSet<>();
+            for (Path file : this.findPageFiles()) {
+                if (!this.indexedSources.contains(this.sourceOf(file))) {
+                    newFiles.add(file);
+                    Webpage page = Webpage.load(file.toUri());
+                    // a page saved twice, or indexed before its file was recorded
+                    if (current.getDocId(page.getUri()) < 0 && !newUris.contains(page.getUri())) {
+                        newUris.add(page.getUri());
+                        newPages.add(page);
+                    }
+                }
+            }
+
+            double boost = Math.sqrt(1.0 / (current.numDocuments() + newPages.size()));
+            SegmentWriter writer = new SegmentWriter();
+            for (Webpage page : newPages) {
+                writer.addDocument(page.getSummary(), page.getWords(), boost);
+            }
+            this.index.addDocuments(writer);
+            this.recordSources(newFiles);
+            if (!newPages.isEmpty()) {
+                // Their scores no longer count every page.
+                this.analyzers = null;
+            }
+            return newPages.size();
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not update the index", ex);
+        }
     }
 
     public double computeScore(IList<String> query, URI uri) {
-        double tfIdf = this.tfIdfAnalyzer.computeRelevance(query, uri);
-        double pageRank = this.pageRankAnalyzer.computePageRank(uri);
+        Analyzers current = this.analyzers;
+        if (current == null) {
+            SegmentedIndex.Snapshot snapshot = this.index.snapshot();
+            int docId = snapshot.getDocId(uri);
+            if (docId < 0) {
+                throw new IllegalArgumentException("Page '" + uri + "' is not indexed");
+            }
+            return snapshot.computeScore(query, docId);
+        }
+        double tfIdf = current.tfIdfAnalyzer.computeRelevance(query, uri);
+        double pageRank = current.pageRankAnalyzer.computePageRank(uri);
 
         if (pageRank <= 0.0) {
             throw new IllegalStateException(String.format(
@@ -83,41 +186,60 @@ public class SearchEngine {
     }
 
     public IList<Result> getTopKResults(IList<String> query, int k) {
+        // Document numbers change when segments are merged, so they are looked up
+        // in the same snapshot that found them.
+        SegmentedIndex.Snapshot current = this.index.snapshot();
         IList<Result> results = new DoubleLinkedList<>();
-
-        for (WebpageSummary summary: this.pages) {
-            double score = this.computeScore(query, summary.getUri());
-            results.add(new Result(summary, score));
-        }
-
-        IList<Result> topK = Searcher.topKSort(k, results);
-
-        IList<Result> reversed = new DoubleLinkedList<>();
-        for (Result res : topK) {
-            reversed.insert(0, res);
+        for (InvertedIndex.Hit hit : current.findTopK(query, k)) {
+            results.add(new Result(current.getSummary(hit.getDocId()), hit.getScore()));
         }
+        return results;
+    }
 
-        return reversed;
+    /**
+     * Stops merging the index's segments in the background. Queries can still be answered.
+     */
+    @Override
+    public void close() {
+        this.index.close();
     }
 
-    private ISet<Webpage> collectWebpages(Path root) {
-        try {
-            return Files.walk(root)
+    private IList<Path> findPageFiles() {
+        try (Stream<Path> paths = Files.walk(this.dataFolder)) {
+            return paths
                     .filter(Files::isRegularFile)
                     .filter(path -> path.toString().endsWith(".htm") || path.toString().endsWith(".html"))
-                    .map(Path::toUri)
-                    .map(Webpage::load)
-                    .collect(Bridge.toISet());
+                    .collect(Bridge.toIList());
         } catch (IOException ex) {
             throw new DataExtractionException("Could not find given root folder", ex);
         }
     }
 
-    private ISet<WebpageSummary> extractWebpageSummaries(ISet<Webpage> webpages) {
-        ISet<WebpageSummary> output = new ChainedHashSet<>();
-        for (Webpage page : webpages) {
-            output.add(page.getSummary());
+    private String sourceOf(Path file) {
+        return this.dataFolder.relativize(file).toString();
+    }
+
+    private void recordSources(IList<Path> files) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Path file : files) {
+            String source = this.sourceOf(file);
+            this.indexedSources.add(source);
+            lines.append(source).append('\n');
+        }
+        Files.write(this.sourcesPath, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The analyzers built from the same pages, swapped in and out together.
+     */
+    private static class Analyzers {
+        private final TfIdfAnalyzer tfIdfAnalyzer;
+        private final PageRankAnalyzer pageRankAnalyzer;
+
+        public Analyzers(TfIdfAnalyzer tfIdfAnalyzer, PageRankAnalyzer pageRankAnalyzer) {
+            this.tfIdfAnalyzer = tfIdfAnalyzer;
+            this.pageRankAnalyzer = pageRankAnalyzer;
         }
-        return output;
     }
 }
@@ -0,0 +1,424 @@
+package search.analyzers;
+
+import datastructures.interfaces.IList;
+import search.analyzers.InvertedIndex.Hit;
+import search.models.WebpageSummary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An immutable inverted index stored in a file, written by SegmentWriter, which
+ * answers queries exactly as InvertedIndex does but without loading anything into
+ * memory: the file is memory-mapped, so opening a segment takes constant time, and
+ * only the parts a query touches are ever paged in. The index can be bigger than
+ * the heap, though each segment file must be smaller than 2 GiB.
+ *
+ * A segment is made of these sections, in this order. All numbers are big-endian,
+ * and strings are a length in bytes followed by that many bytes of UTF-8.
+ *
+ *   - Postings: for every term, a skip table of (last document, block position)
+ *     pairs, one per block of BLOCK_SIZE postings, then the blocks. Every posting is
+ *     the gap from the previous document and the number of times the term appears in
+ *     the document, both as varints: small numbers, like the gaps in long lists and
+ *     almost every count, take a single byte.
+ *   - Term entries: for every term, its document frequency, its highest weight times
+ *     boost not counting its IDF score, the position of its postings, its number of
+ *     blocks and the term itself.
+ *   - Term offsets: the position of every term entry, in sorted order of the terms.
+ *   - Document data: every document's URI, title and blurb.
+ *   - Document records: for every document, 24 bytes holding its number of words,
+ *     the norm of its TF-IDF vector, its boost and the position of its data.
+ *   - URI order: the document numbers sorted by URI.
+ *   - Footer: the number of documents and terms, the positions of the term offsets,
+ *     document records and URI order, the format version and MAGIC.
+ *
+ * Weights are stored as word counts and rebuilt into TF-IDF weights while scoring,
+ * so they lose no precision and take as little space as any quantized weight. They
+ * also leave the IDF scores out of the file, so a segment that is part of a bigger
+ * SegmentedIndex can be scored with the IDF scores of the whole index. Only the
+ * document norms are fixed when the segment is written.
+ *
+ * A segment can be searched by many threads at once.
+ */
+public class IndexSegment {
+    static final int MAGIC = 0x53454731;
+    static final int VERSION = 1;
+    static final int BLOCK_SIZE = 128;
+    static final int SKIP_ENTRY_BYTES = 8;
+
+    private static final int FOOTER_BYTES = 28;
+    private static final int DOC_RECORD_BYTES = 24;
+    private static final int TERM_ENTRY_HEADER_BYTES = 20;
+
+    // Only ever read at absolute positions, so it can be shared between threads.
+    private final ByteBuffer buffer;
+    private final int numDocs;
+    private final int numTerms;
+    private final int termOffsetsStart;
+    private final int docRecordsStart;
+    private final int uriOrderStart;
+
+    private IndexSegment(ByteBuffer buffer, Path path) throws IOException {
+        this.buffer = buffer;
+        int footer = buffer.capacity() - FOOTER_BYTES;
+        if (footer < 0 || buffer.getInt(footer + 24) != MAGIC) {
+            throw new IOException("Not an index segment: " + path);
+        }
+        if (buffer.getInt(footer + 20) != VERSION) {
+            throw new IOException("Unsupported index segment version in " + path);
+        }
+        this.numDocs = buffer.getInt(footer);
+        this.numTerms = buffer.getInt(footer + 4);
+        this.termOffsetsStart = buffer.getInt(footer + 8);
+        this.docRecordsStart = buffer.getInt(footer + 12);
+        this.uriOrderStart = buffer.getInt(footer + 16);
+    }
+
+    /**
+     * Memory-maps the segment at the given path.
+     *
+     * @throws IOException  if the file cannot be read or is not a segment
+     */
+    public static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Index segment is too big to map: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new IndexSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+        }
+    }
+
+    /**
+     * Returns the number of documents in the segment.
+     */
+    public int numDocuments() {
+        return this.numDocs;
+    }
+
+    /**
+     * Returns the number of distinct words in the segment.
+     */
+    public int numTerms() {
+        return this.numTerms;
+    }
+
+    /**
+     * Returns the URI of the document with the given number.
+     *
+     * @throws IndexOutOfBoundsException  if there is no such document
+     */
+    public URI getUri(int docId) {
+        return URI.create(this.readString(this.dataOffset(docId)));
+    }
+
+    /**
+     * Returns the summary of the document with the given number.
+     *
+     * @throws IndexOutOfBoundsException  if there is no such document
+     */
+    public WebpageSummary getSummary(int docId) {
+        int position = this.dataOffset(docId);
+        String uri = this.readString(position);
+        position += 4 + this.buffer.getInt(position);
+        String title = this.readString(position);
+        position += 4 + this.buffer.getInt(position);
+        return new WebpageSummary(URI.create(uri), title, this.readString(position));
+    }
+
+    /**
+     * Returns the number of the document with the given URI, or -1 if it is not indexed.
+     */
+    public int getDocId(URI uri) {
+        String target = uri.toString();
+        int low = 0;
+        int high = this.numDocs - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int docId = this.buffer.getInt(this.uriOrderStart + 4 * middle);
+            int comparison = this.readString(this.dataOffset(docId)).compareTo(target);
+            if (comparison == 0) {
+                return docId;
+            } else if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of documents containing the given word.
+     */
+    public int documentFrequency(String word) {
+        int termId = this.findTerm(word);
+        return termId < 0 ? 0 : this.buffer.getInt(this.termEntry(termId));
+    }
+
+    /**
+     * Returns the 'k' documents scoring highest against the query, best first, in the
+     * same way as InvertedIndex.findTopK.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public IList<Hit> findTopK(IList<String> query, int k) {
+        return this.search(query).findTopK(k, true, this.numDocs);
+    }
+
+    /**
+     * Returns the same as findTopK, but scores every document sharing a word with
+     * the query.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public IList<Hit> findTopKExhaustively(IList<String> query, int k) {
+        return this.search(query).findTopK(k, false, this.numDocs);
+    }
+
+    /**
+     * Returns the score findTopK would give the document with the given number.
+     *
+     * @throws IndexOutOfBoundsException  if there is no such document
+     */
+    public double computeScore(IList<String> query, int docId) {
+        if (docId < 0 || docId >= this.numDocs) {
+            throw new IndexOutOfBoundsException("No document " + docId);
+        }
+        return this.search(query).computeScore(docId);
+    }
+
+    private TopKSearch search(IList<String> query) {
+        QueryTerms terms = new QueryTerms(query, this::findTerm, this::idfScore);
+        double[] idfScores = new double[terms.size];
+        for (int i = 0; i < terms.size; i++) {
+            idfScores[i] = this.idfScore(terms.ids[i]);
+        }
+        return this.search(terms, idfScores);
+    }
+
+    /**
+     * Sets up a search for the given query terms, looked up in this segment by word,
+     * where idfScores[i] is the IDF score to give the i-th term. Terms that are not in
+     * this segment are left out.
+     */
+    TopKSearch search(QueryTerms terms, double[] idfScores) {
+        int numCursors = 0;
+        PostingCursor[] cursors = new PostingCursor[terms.size];
+        double[] weights = new double[terms.size];
+        double[] maxScores = new double[terms.size];
+        for (int i = 0; i < terms.size; i++) {
+            int termId = this.findTerm(terms.words[i]);
+            if (termId >= 0) {
+                cursors[numCursors] = new BlockCursor(termId, idfScores[i]);
+                weights[numCursors] = terms.weights[i];
+                maxScores[numCursors] = idfScores[i] * this.buffer.getDouble(this.termEntry(termId) + 4);
+                numCursors++;
+            }
+        }
+        return new TopKSearch(Arrays.copyOf(cursors, numCursors), weights, maxScores, this::boost);
+    }
+
+    /**
+     * Returns the word with the given number among the sorted terms.
+     */
+    String termAt(int termId) {
+        return this.readString(this.termEntry(termId) + TERM_ENTRY_HEADER_BYTES);
+    }
+
+    /**
+     * Returns a cursor over the postings of the term with the given number.
+     */
+    BlockCursor postings(int termId) {
+        return new BlockCursor(termId, 0.0);
+    }
+
+    /**
+     * Returns the number of words in the document with the given number.
+     */
+    int length(int docId) {
+        return this.buffer.getInt(this.docRecord(docId));
+    }
+
+    double boost(int docId) {
+        return this.buffer.getDouble(this.docRecord(docId) + 12);
+    }
+
+    /**
+     * Returns the number of the given word among the sorted terms, or -1 if it is not
+     * in the segment.
+     */
+    private int findTerm(String word) {
+        int low = 0;
+        int high = this.numTerms - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = this.readString(this.termEntry(middle) + TERM_ENTRY_HEADER_BYTES).compareTo(word);
+            if (comparison == 0) {
+                return middle;
+            } else if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    private double idfScore(int termId) {
+        return Math.log(1.0 * this.numDocs / this.buffer.getInt(this.termEntry(termId)));
+    }
+
+    private int termEntry(int termId) {
+        return this.buffer.getInt(this.termOffsetsStart + 4 * termId);
+    }
+
+    private int docRecord(int docId) {
+        if (docId < 0 || docId >= this.numDocs) {
+            throw new IndexOutOfBoundsException("No document " + docId);
+        }
+        return this.docRecordsStart + DOC_RECORD_BYTES * docId;
+    }
+
+    private int dataOffset(int docId) {
+        return this.buffer.getInt(this.docRecord(docId) + 20);
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[this.buffer.getInt(position)];
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(position + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A cursor that decodes one term's postings a block at a time, and uses the skip
+     * table to jump straight to the block holding a sought document.
+     */
+    class BlockCursor implements PostingCursor {
+        private final int skipTable;
+        private final int numBlocks;
+        private final int numPostings;
+        private final double idf;
+
+        private int block;
+        // The position of the next posting in the current block, and how many are left.
+        private int position;
+        private int remaining;
+        private int doc;
+        private int count;
+
+        public BlockCursor(int termId, double idf) {
+            ByteBuffer buffer = IndexSegment.this.buffer;
+            int termEntry = IndexSegment.this.termEntry(termId);
+            this.numPostings = buffer.getInt(termEntry);
+            this.skipTable = buffer.getInt(termEntry + 12);
+            this.numBlocks = buffer.getInt(termEntry + 16);
+            this.idf = idf;
+            this.block = -1;
+            this.remaining = 0;
+            this.next();
+        }
+
+        @Override
+        public int doc() {
+            return this.doc;
+        }
+
+        @Override
+        public double weight() {
+            int record = IndexSegment.this.docRecord(this.doc);
+            int length = IndexSegment.this.buffer.getInt(record);
+            double norm = IndexSegment.this.buffer.getDouble(record + 4);
+            // A norm of zero means every word of the document was in every document
+            // when the segment was written; the document still matches nothing.
+            return norm == 0.0 ? 0.0 : 1.0 * this.count / length * this.idf / norm;
+        }
+
+        /**
+         * Returns the number of times the term appears in the current document.
+         */
+        int count() {
+            return this.count;
+        }
+
+        @Override
+        public void next() {
+            if (this.remaining == 0) {
+                if (this.block + 1 >= this.numBlocks) {
+                    this.doc = END;
+                    return;
+                }
+                this.enterBlock(this.block + 1);
+            }
+            this.doc += this.readVarInt();
+            this.count = this.readVarInt();
+            this.remaining--;
+        }
+
+        @Override
+        public void seek(int target) {
+            if (this.doc >= target) {
+                return;
+            }
+            if (this.lastDocOf(this.block) < target) {
+                // Binary search the skip table for the first block that could hold it.
+                int low = this.block + 1;
+                int high = this.numBlocks;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (this.lastDocOf(middle) < target) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                if (low == this.numBlocks) {
+                    this.block = this.numBlocks - 1;
+                    this.remaining = 0;
+                    this.doc = END;
+                    return;
+                }
+                this.enterBlock(low);
+                this.next();
+            }
+            while (this.doc < target) {
+                this.next();
+            }
+        }
+
+        private int lastDocOf(int block) {
+            return IndexSegment.this.buffer.getInt(this.skipTable + SKIP_ENTRY_BYTES * block);
+        }
+
+        private void enterBlock(int block) {
+            this.block = block;
+            this.position = IndexSegment.this.buffer.getInt(this.skipTable + SKIP_ENTRY_BYTES * block + 4);
+            this.remaining = Math.min(BLOCK_SIZE, this.numPostings - BLOCK_SIZE * block);
+            // gaps in a block count from the last document of the block before
+            this.doc = block == 0 ? -1 : this.lastDocOf(block - 1);
+        }
+
+        private int readVarInt() {
+            ByteBuffer buffer = IndexSegment.this.buffer;
+            int value = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = buffer.get(this.position);
+                this.position++;
+                value |= (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            return value;
+        }
+    }
+}
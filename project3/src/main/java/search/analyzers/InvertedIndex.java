@@ -0,0 +1,285 @@
+package search.analyzers;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjDoubleDictionary;
+import datastructures.interfaces.IObjIntDictionary;
+
+import java.net.URI;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An inverted index over the TF-IDF vectors of a set of webpages: for every word,
+ * the "posting list" of the documents containing it, each paired with the word's
+ * weight in that document.
+ *
+ * Documents are numbered 0 to numDocuments() - 1, and every posting list is sorted
+ * by document number. Weights are divided by the norm of their document's vector
+ * ahead of time, so the cosine similarity of a query and a document is just the
+ * sum, over the query's words, of the word's query weight times its posting weight.
+ * That similarity is then multiplied by a fixed boost per document.
+ *
+ * A query only ever reads the posting lists of its own words, so it takes time
+ * proportional to their length, however many pages there are.
+ *
+ * Create one with TfIdfAnalyzer.buildInvertedIndex.
+ */
+public class InvertedIndex {
+    private final URI[] uris;
+    private final IObjIntDictionary<URI> docIds;
+    private final double[] boosts;
+
+    private final IObjIntDictionary<String> termIds;
+    private final double[] idfScores;
+    // The postings of term t are at indices postingOffsets[t] to postingOffsets[t + 1] - 1
+    // of postingDocs and postingWeights.
+    private final int[] postingOffsets;
+    private final int[] postingDocs;
+    private final double[] postingWeights;
+    // The highest weight times boost in each term's postings: no document can get
+    // more than this, times the term's query weight, out of the term.
+    private final double[] maxScores;
+
+    /**
+     * Builds the index from every document's TF-IDF vector and that vector's norm, and
+     * the IDF score of every word. Words whose weight in a document is zero are left
+     * out of its postings: they cannot change any score.
+     *
+     * @throws IllegalStateException  if any document's boost is not positive
+     */
+    InvertedIndex(IDictionary<URI, IDictionary<String, Double>> documentVectors,
+                  IObjDoubleDictionary<URI> documentNorms,
+                  IObjDoubleDictionary<String> idfScores,
+                  ToDoubleFunction<URI> boost) {
+        int numDocs = documentVectors.size();
+        this.uris = new URI[numDocs];
+        this.docIds = new ProbingObjIntDictionary<>(numDocs);
+        this.boosts = new double[numDocs];
+        this.termIds = new ProbingObjIntDictionary<>(idfScores.size());
+        this.idfScores = new double[idfScores.size()];
+        for (String word : idfScores) {
+            int termId = this.termIds.size();
+            this.termIds.put(word, termId);
+            this.idfScores[termId] = idfScores.getDouble(word);
+        }
+
+        // Count each term's postings into postingOffsets[t + 1]...
+        int[] offsets = new int[this.idfScores.length + 1];
+        int numPostings = 0;
+        for (KVPair<URI, IDictionary<String, Double>> document : documentVectors) {
+            URI uri = document.getKey();
+            int docId = this.docIds.size();
+            this.docIds.put(uri, docId);
+            this.uris[docId] = uri;
+            this.boosts[docId] = boost.applyAsDouble(uri);
+            if (!(this.boosts[docId] > 0.0)) {
+                throw new IllegalStateException(String.format(
+                        "Page '%s' had a boost of '%f'; all boosts should be positive and non-zero.",
+                        uri, this.boosts[docId]));
+            }
+            for (KVPair<String, Double> entry : document.getValue()) {
+                if (entry.getValue() != 0.0) {
+                    offsets[this.termIds.getInt(entry.getKey()) + 1]++;
+                    numPostings++;
+                }
+            }
+        }
+        // ...then turn the counts into starting indices, and fill the lists in
+        // document order, so each one comes out sorted.
+        for (int t = 0; t < this.idfScores.length; t++) {
+            offsets[t + 1] += offsets[t];
+        }
+        this.postingOffsets = offsets;
+        this.postingDocs = new int[numPostings];
+        this.postingWeights = new double[numPostings];
+        int[] nextPosting = new int[this.idfScores.length];
+        System.arraycopy(offsets, 0, nextPosting, 0, nextPosting.length);
+        for (int docId = 0; docId < numDocs; docId++) {
+            IDictionary<String, Double> vector = documentVectors.get(this.uris[docId]);
+            double norm = documentNorms.getDouble(this.uris[docId]);
+            for (KVPair<String, Double> entry : vector) {
+                double weight = entry.getValue();
+                if (weight != 0.0) {
+                    int termId = this.termIds.getInt(entry.getKey());
+                    int posting = nextPosting[termId];
+                    this.postingDocs[posting] = docId;
+                    this.postingWeights[posting] = weight / norm;
+                    nextPosting[termId]++;
+                }
+            }
+        }
+
+        this.maxScores = new double[this.idfScores.length];
+        for (int t = 0; t < this.idfScores.length; t++) {
+            for (int posting = offsets[t]; posting < offsets[t + 1]; posting++) {
+                double score = this.postingWeights[posting] * this.boosts[this.postingDocs[posting]];
+                this.maxScores[t] = Math.max(this.maxScores[t], score);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of documents in the index.
+     */
+    public int numDocuments() {
+        return this.uris.length;
+    }
+
+    /**
+     * Returns the URI of the document with the given number.
+     *
+     * @throws IndexOutOfBoundsException  if there is no such document
+     */
+    public URI getUri(int docId) {
+        return this.uris[docId];
+    }
+
+    /**
+     * Returns the number of the document with the given URI, or -1 if it is not indexed.
+     */
+    public int getDocId(URI uri) {
+        return this.docIds.getOrDefault(uri, -1);
+    }
+
+    /**
+     * Returns the 'k' documents scoring highest against the query, best first.
+     *
+     * A document's score is its cosine similarity to the query, times its boost.
+     * Ties are broken in favour of the lower document number. If fewer than 'k'
+     * documents share a word with the query, the rest are filled with documents
+     * scoring zero.
+     *
+     * Documents are found with WAND ("weak AND") dynamic pruning: once 'k' documents
+     * have been found, any document whose terms' upper bounds cannot add up to the
+     * k-th best score so far is skipped without being scored. The result is exactly
+     * the same as findTopKExhaustively's.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public IList<Hit> findTopK(IList<String> query, int k) {
+        return this.findTopK(query, k, true);
+    }
+
+    /**
+     * Returns the same as findTopK, but scores every document sharing a word with
+     * the query.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public IList<Hit> findTopKExhaustively(IList<String> query, int k) {
+        return this.findTopK(query, k, false);
+    }
+
+    private IList<Hit> findTopK(IList<String> query, int k, boolean prune) {
+        QueryTerms terms = new QueryTerms(query,
+                word -> this.termIds.getOrDefault(word, -1),
+                termId -> this.idfScores[termId]);
+        // Document-at-a-time: every query term has a cursor into its posting list.
+        PostingCursor[] cursors = new PostingCursor[terms.size];
+        double[] maxScores = new double[terms.size];
+        for (int i = 0; i < terms.size; i++) {
+            cursors[i] = new ArrayCursor(this.postingOffsets[terms.ids[i]], this.postingOffsets[terms.ids[i] + 1]);
+            maxScores[i] = this.maxScores[terms.ids[i]];
+        }
+        return new TopKSearch(cursors, terms.weights, maxScores, docId -> this.boosts[docId])
+                .findTopK(k, prune, this.uris.length);
+    }
+
+    /**
+     * A cursor over the postings at indices [position, end) of postingDocs and
+     * postingWeights.
+     */
+    private class ArrayCursor implements PostingCursor {
+        private int position;
+        private final int end;
+
+        public ArrayCursor(int start, int end) {
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int doc() {
+            return this.position < this.end ? InvertedIndex.this.postingDocs[this.position] : END;
+        }
+
+        @Override
+        public double weight() {
+            return InvertedIndex.this.postingWeights[this.position];
+        }
+
+        @Override
+        public void next() {
+            this.position++;
+        }
+
+        /**
+         * Gallops ahead in doubling steps, then binary searches, so short skips stay cheap.
+         */
+        @Override
+        public void seek(int target) {
+            int[] docs = InvertedIndex.this.postingDocs;
+            if (this.position >= this.end || docs[this.position] >= target) {
+                return;
+            }
+            int low = this.position;
+            int step = 1;
+            while (low + step < this.end && docs[low + step] < target) {
+                low += step;
+                step *= 2;
+            }
+            // docs[low] < target, and the answer is in (low, min(low + step, end)]
+            int high = Math.min(low + step, this.end);
+            low++;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (docs[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            this.position = low;
+        }
+    }
+
+    /**
+     * A document number and its score for some query.
+     *
+     * Hits are ordered by score, then by document number with the lower number
+     * counting as the better hit, so no two hits for the same query are ever tied.
+     */
+    public static class Hit implements Comparable<Hit> {
+        private final int docId;
+        private final double score;
+
+        public Hit(int docId, double score) {
+            this.docId = docId;
+            this.score = score;
+        }
+
+        public int getDocId() {
+            return this.docId;
+        }
+
+        public double getScore() {
+            return this.score;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Double.compare(this.score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.docId, this.docId);
+        }
+
+        /**
+         * Returns whether a hit with the given score and document number would be
+         * better than the other hit, without building it.
+         */
+        static boolean beats(double score, int docId, Hit other) {
+            return score > other.score || (score == other.score && docId < other.docId);
+        }
+    }
+}
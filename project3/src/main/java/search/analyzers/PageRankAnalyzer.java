@@ -2,13 +2,18 @@ package search.analyzers;
 
 import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.KVPair;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ProbingHashDictionary;
+import datastructures.concrete.dictionaries.ProbingObjDoubleDictionary;
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjDoubleDictionary;
+import datastructures.interfaces.IObjIntDictionary;
 import datastructures.interfaces.ISet;
 import search.models.Webpage;
 
 import java.net.URI;
+import java.util.Arrays;
 
 /**
  * This class is responsible for computing the 'page rank' of all available webpages.
@@ -16,7 +21,7 @@ import java.net.URI;
  * See the spec for more details.
  */
 public class PageRankAnalyzer {
-    private IDictionary<URI, Double> pageRanks;
+    private IObjDoubleDictionary<URI> pageRanks;
 
     /**
      * Computes a graph representing the internet and computes the page rank of all
@@ -24,8 +29,8 @@ public class PageRankAnalyzer {
      *
      * @param webpages  A set of all webpages we have parsed.
      * @param decay     Represents the "decay" factor when computing page rank (see spec).
-     * @param epsilon   When the difference in page ranks is less then or equal to this number,
-     *                  stop iterating.
+     * @param epsilon   When the sum of the changes in every page's rank is less then or equal
+     *                  to this number, stop iterating.
      * @param limit     The maximum number of iterations we spend computing page rank. This value
      *                  is meant as a safety valve to prevent us from infinite looping in case our
      *                  page rank never converges.
@@ -65,7 +70,7 @@ public class PageRankAnalyzer {
             existingUris.add(pages.getUri());
         }
         
-        IDictionary<URI, ISet<URI>> graph = new ChainedHashDictionary<URI, ISet<URI>>();
+        IDictionary<URI, ISet<URI>> graph = new ProbingHashDictionary<URI, ISet<URI>>();
         for (Webpage page : webpages) {
             URI uriPage = page.getUri();
             IList<URI> allLinks = page.getLinks();
@@ -83,60 +88,94 @@ public class PageRankAnalyzer {
     /**
      * Computes the page ranks for all webpages in the graph.
      *
+     * The pages are numbered, and the links into each page are copied out of the graph
+     * into compressed sparse row (CSR) arrays, so each iteration is a single O(V + E)
+     * pass over plain arrays: every page's new rank is the sum of the shares of the
+     * pages linking to it. The rank of pages without links is spread over every page,
+     * so it is added up once per iteration rather than once per page.
+     *
      * Precondition: assumes 'this.graphs' has previously been initialized.
      *
      * @param decay     Represents the "decay" factor when computing page rank (see spec).
-     * @param epsilon   When the difference in page ranks is less then or equal to this number,
-     *                  stop iterating.
+     * @param epsilon   When the sum of the changes in every page's rank (their L1
+     *                  distance) is less then or equal to this number, stop iterating.
      * @param limit     The maximum number of iterations we spend computing page rank. This value
      *                  is meant as a safety valve to prevent us from infinite looping in case our
      *                  page rank never converges.
      */
-    private IDictionary<URI, Double> makePageRanks(IDictionary<URI, ISet<URI>> graph,
+    private IObjDoubleDictionary<URI> makePageRanks(IDictionary<URI, ISet<URI>> graph,
                                                    double decay,
                                                    int limit,
                                                    double epsilon) {
-        // Step 1: The initialize step should go here
-        IDictionary<URI, Double> pageRank = new ChainedHashDictionary<URI, Double>();
-        IDictionary<URI, Double> newPageRank = new ChainedHashDictionary<URI, Double>();
+        int numPages = graph.size();
+        IObjIntDictionary<URI> pageIds = new ProbingObjIntDictionary<>(numPages);
+        URI[] uris = new URI[numPages];
         for (KVPair<URI, ISet<URI>> pair : graph) {
-            newPageRank.put(pair.getKey(), 1.0 / graph.size());
+            uris[pageIds.size()] = pair.getKey();
+            pageIds.put(pair.getKey(), pageIds.size());
         }
-        
-        boolean flag = true;
+
+        // The pages linking to page p are linkSources[linkOffsets[p]] to
+        // linkSources[linkOffsets[p + 1] - 1].
+        int[] outDegrees = new int[numPages];
+        int[] linkOffsets = new int[numPages + 1];
+        for (KVPair<URI, ISet<URI>> pair : graph) {
+            outDegrees[pageIds.getInt(pair.getKey())] = pair.getValue().size();
+            for (URI link : pair.getValue()) {
+                linkOffsets[pageIds.getInt(link) + 1]++;
+            }
+        }
+        for (int p = 0; p < numPages; p++) {
+            linkOffsets[p + 1] += linkOffsets[p];
+        }
+        int[] linkSources = new int[linkOffsets[numPages]];
+        int[] nextLink = Arrays.copyOf(linkOffsets, numPages);
+        for (KVPair<URI, ISet<URI>> pair : graph) {
+            int source = pageIds.getInt(pair.getKey());
+            for (URI link : pair.getValue()) {
+                int target = pageIds.getInt(link);
+                linkSources[nextLink[target]] = source;
+                nextLink[target]++;
+            }
+        }
+
+        double[] ranks = new double[numPages];
+        double[] nextRanks = new double[numPages];
+        // The rank each page passes along every one of its links.
+        double[] shares = new double[numPages];
+        Arrays.fill(ranks, 1.0 / numPages);
         for (int i = 0; i < limit; i++) {
-            // Step 2: The update step should go here
-            if (flag) {
-                flag = false;
-                for (KVPair<URI, Double> pair : newPageRank) {
-                    pageRank.put(pair.getKey(), pair.getValue());
-                    newPageRank.put(pair.getKey(), 0.0);
+            double danglingRank = 0.0;
+            for (int p = 0; p < numPages; p++) {
+                if (outDegrees[p] == 0) {
+                    danglingRank += ranks[p];
+                } else {
+                    shares[p] = ranks[p] / outDegrees[p];
                 }
-                for (KVPair<URI, ISet<URI>> page : graph) {
-                    double newRank = 0.0;
-                    URI uriKey = page.getKey();
-                    for (KVPair<URI, ISet<URI>> findPage : graph) {
-                        URI currentUri = findPage.getKey();
-                        if (findPage.getValue().contains(uriKey)) {
-                            newRank += pageRank.get(currentUri) * decay / findPage.getValue().size();
-                        }
-                    }
-                    if (page.getValue().size() == 0) {
-                        double newValue = decay * pageRank.get(uriKey) / graph.size();
-                        for (KVPair<URI, Double> pair : newPageRank) {
-                            newPageRank.put(pair.getKey(), pair.getValue() + newValue); 
-                        }   
-                    }
-                    newRank += (1 - decay) / graph.size() + newPageRank.get(uriKey);
-                    if (Math.abs((newRank) - pageRank.get(uriKey)) > epsilon) {
-                        flag = true;
-                    }
-                    newPageRank.put(uriKey, newRank);                   
+            }
+            double baseRank = (1 - decay) / numPages + decay * danglingRank / numPages;
+
+            double change = 0.0;
+            for (int p = 0; p < numPages; p++) {
+                double linkedRank = 0.0;
+                for (int link = linkOffsets[p]; link < linkOffsets[p + 1]; link++) {
+                    linkedRank += shares[linkSources[link]];
                 }
-            } else {
-                return pageRank;
+                nextRanks[p] = baseRank + decay * linkedRank;
+                change += Math.abs(nextRanks[p] - ranks[p]);
+            }
+            double[] swap = ranks;
+            ranks = nextRanks;
+            nextRanks = swap;
+            if (change <= epsilon) {
+                break;
             }
         }
+
+        IObjDoubleDictionary<URI> pageRank = new ProbingObjDoubleDictionary<URI>(numPages);
+        for (int p = 0; p < numPages; p++) {
+            pageRank.put(uris[p], ranks[p]);
+        }
         return pageRank;
     }
 
@@ -148,7 +187,7 @@ public class PageRankAnalyzer {
      */
     public double computePageRank(URI pageUri) {
         // Implementation note: this method should be very simple: just one line!
-        return this.pageRanks.get(pageUri);
+        return this.pageRanks.getDouble(pageUri);
 
     }
 }
\ No newline at end of file
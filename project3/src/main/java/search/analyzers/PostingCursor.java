@@ -0,0 +1,34 @@
+package search.analyzers;
+
+/**
+ * A position in one term's posting list, which only ever moves forward through
+ * the postings in document order.
+ */
+interface PostingCursor {
+    /**
+     * The document a cursor reports once it has moved past its last posting.
+     */
+    int END = Integer.MAX_VALUE;
+
+    /**
+     * Returns the document of the current posting, or END.
+     */
+    int doc();
+
+    /**
+     * Returns the term's weight in the current document, already divided by the
+     * norm of the document's vector.
+     */
+    double weight();
+
+    /**
+     * Moves to the next posting.
+     */
+    void next();
+
+    /**
+     * Moves to the first posting whose document is at least 'target'. Does nothing
+     * if the cursor is already there.
+     */
+    void seek(int target);
+}
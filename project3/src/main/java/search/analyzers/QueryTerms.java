@@ -0,0 +1,60 @@
+package search.analyzers;
+
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjIntDictionary;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * The distinct words of a query that appear in an index, with their query weights.
+ *
+ * A word's weight is its TF-IDF score in the query, divided by the norm of the query
+ * vector, times the number of times it appears in the query: like
+ * TfIdfAnalyzer.computeRelevance, every occurrence of a repeated word counts.
+ * Words that are not in the index have no postings, so they are left out. They
+ * still count toward the query's length, which divides every term frequency, but
+ * not toward its norm, since their IDF score is unknown.
+ */
+class QueryTerms {
+    final String[] words;
+    final int[] ids;
+    final double[] weights;
+    final int size;
+
+    /**
+     * Looks up every word's term id with 'termIds', which returns -1 for words that
+     * are not in the index, and every term's IDF score with 'idfScores'. A term id can
+     * be any non-negative key for the word that 'idfScores' understands.
+     */
+    QueryTerms(IList<String> query, ToIntFunction<String> termIds, IntToDoubleFunction idfScores) {
+        IObjIntDictionary<String> counts = new ProbingObjIntDictionary<>();
+        for (String word : query) {
+            counts.addTo(word, 1);
+        }
+        this.words = new String[counts.size()];
+        this.ids = new int[counts.size()];
+        this.weights = new double[counts.size()];
+        double squaredNorm = 0.0;
+        int numTerms = 0;
+        for (String word : counts) {
+            int termId = termIds.applyAsInt(word);
+            if (termId >= 0) {
+                double tfIdf = 1.0 * counts.getInt(word) / query.size() * idfScores.applyAsDouble(termId);
+                squaredNorm += tfIdf * tfIdf;
+                if (tfIdf != 0.0) {
+                    this.words[numTerms] = word;
+                    this.ids[numTerms] = termId;
+                    this.weights[numTerms] = counts.getInt(word) * tfIdf;
+                    numTerms++;
+                }
+            }
+        }
+        double norm = Math.sqrt(squaredNorm);
+        for (int i = 0; i < numTerms; i++) {
+            this.weights[i] /= norm;
+        }
+        this.size = numTerms;
+    }
+}
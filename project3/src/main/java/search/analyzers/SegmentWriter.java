@@ -0,0 +1,321 @@
+package search.analyzers;
+
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjIntDictionary;
+import search.models.WebpageSummary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Collects documents in memory, then writes them out as an index segment that
+ * IndexSegment can open. See IndexSegment for the file format.
+ *
+ * Documents are numbered in the order they are added.
+ */
+public class SegmentWriter {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private WebpageSummary[] summaries;
+    private int[] lengths;
+    private double[] boosts;
+    private int numDocs;
+
+    private final IObjIntDictionary<String> termIds;
+    private String[] terms;
+    // Every (term, document, count) triple added so far. Each term's triples are in
+    // document order.
+    private int[] postingTerms;
+    private int[] postingDocs;
+    private int[] postingCounts;
+    private int numPostings;
+
+    public SegmentWriter() {
+        this.summaries = new WebpageSummary[INITIAL_CAPACITY];
+        this.lengths = new int[INITIAL_CAPACITY];
+        this.boosts = new double[INITIAL_CAPACITY];
+        this.numDocs = 0;
+        this.termIds = new ProbingObjIntDictionary<>();
+        this.terms = new String[INITIAL_CAPACITY];
+        this.postingTerms = new int[INITIAL_CAPACITY];
+        this.postingDocs = new int[INITIAL_CAPACITY];
+        this.postingCounts = new int[INITIAL_CAPACITY];
+        this.numPostings = 0;
+    }
+
+    /**
+     * Adds a document with the given words, whose cosine similarity to every query
+     * will be multiplied by 'boost'.
+     *
+     * @throws IllegalArgumentException  if the boost is not positive
+     */
+    public void addDocument(WebpageSummary summary, IList<String> words, double boost) {
+        if (!(boost > 0.0)) {
+            throw new IllegalArgumentException(String.format(
+                    "Page '%s' had a boost of '%f'; all boosts should be positive and non-zero.",
+                    summary.getUri(), boost));
+        }
+        int docId = this.appendDocument(summary, words.size(), boost);
+        IObjIntDictionary<String> counts = new ProbingObjIntDictionary<>();
+        for (String word : words) {
+            counts.addTo(word, 1);
+        }
+        for (String word : counts) {
+            this.appendPosting(this.termIdOf(word), docId, counts.getInt(word));
+        }
+    }
+
+    /**
+     * Adds every document of the segment, in order.
+     */
+    void addSegment(IndexSegment segment) {
+        int docBase = this.numDocs;
+        for (int docId = 0; docId < segment.numDocuments(); docId++) {
+            this.appendDocument(segment.getSummary(docId), segment.length(docId), segment.boost(docId));
+        }
+        // Each term's postings still come in document order, after any added before.
+        for (int termId = 0; termId < segment.numTerms(); termId++) {
+            int ownTermId = this.termIdOf(segment.termAt(termId));
+            IndexSegment.BlockCursor cursor = segment.postings(termId);
+            for (; cursor.doc() != PostingCursor.END; cursor.next()) {
+                this.appendPosting(ownTermId, docBase + cursor.doc(), cursor.count());
+            }
+        }
+    }
+
+    private int appendDocument(WebpageSummary summary, int length, double boost) {
+        if (this.numDocs == this.summaries.length) {
+            this.summaries = Arrays.copyOf(this.summaries, 2 * this.numDocs);
+            this.lengths = Arrays.copyOf(this.lengths, 2 * this.numDocs);
+            this.boosts = Arrays.copyOf(this.boosts, 2 * this.numDocs);
+        }
+        this.summaries[this.numDocs] = summary;
+        this.lengths[this.numDocs] = length;
+        this.boosts[this.numDocs] = boost;
+        this.numDocs++;
+        return this.numDocs - 1;
+    }
+
+    private int termIdOf(String word) {
+        int termId = this.termIds.getOrDefault(word, -1);
+        if (termId < 0) {
+            termId = this.termIds.size();
+            this.termIds.put(word, termId);
+            if (termId == this.terms.length) {
+                this.terms = Arrays.copyOf(this.terms, 2 * termId);
+            }
+            this.terms[termId] = word;
+        }
+        return termId;
+    }
+
+    private void appendPosting(int termId, int docId, int count) {
+        if (this.numPostings == this.postingTerms.length) {
+            this.postingTerms = Arrays.copyOf(this.postingTerms, 2 * this.numPostings);
+            this.postingDocs = Arrays.copyOf(this.postingDocs, 2 * this.numPostings);
+            this.postingCounts = Arrays.copyOf(this.postingCounts, 2 * this.numPostings);
+        }
+        this.postingTerms[this.numPostings] = termId;
+        this.postingDocs[this.numPostings] = docId;
+        this.postingCounts[this.numPostings] = count;
+        this.numPostings++;
+    }
+
+    /**
+     * Returns the number of documents added so far.
+     */
+    public int numDocuments() {
+        return this.numDocs;
+    }
+
+    /**
+     * Writes every document added so far to a segment file at the given path,
+     * replacing any file already there. The segment is written to a temporary file
+     * first and moved into place once complete, so a reader never sees half of one.
+     *
+     * @throws IOException  if the file cannot be written, or the segment would be
+     *                      2 GiB or more
+     */
+    public void write(Path path) throws IOException {
+        this.write(path, 0, word -> 0);
+    }
+
+    /**
+     * Writes the segment as write(Path) does, for an index holding 'corpusSize'
+     * documents besides these, where corpusFrequencies returns how many of them
+     * contain a word. The documents' norms are computed with the IDF scores of the
+     * whole index.
+     */
+    void write(Path path, int corpusSize, ToIntFunction<String> corpusFrequencies) throws IOException {
+        int numTerms = this.termIds.size();
+        // Terms are stored in sorted order, so they can be binary searched.
+        String[] sortedTerms = Arrays.copyOf(this.terms, numTerms);
+        Arrays.sort(sortedTerms);
+        int[] rank = new int[numTerms];
+        for (int r = 0; r < numTerms; r++) {
+            rank[this.termIds.getInt(sortedTerms[r])] = r;
+        }
+
+        // Group the postings by term, keeping each term's in document order.
+        int[] offsets = new int[numTerms + 1];
+        for (int p = 0; p < this.numPostings; p++) {
+            offsets[rank[this.postingTerms[p]] + 1]++;
+        }
+        for (int r = 0; r < numTerms; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+        int[] docs = new int[this.numPostings];
+        int[] counts = new int[this.numPostings];
+        int[] next = Arrays.copyOf(offsets, numTerms);
+        for (int p = 0; p < this.numPostings; p++) {
+            int r = rank[this.postingTerms[p]];
+            docs[next[r]] = this.postingDocs[p];
+            counts[next[r]] = this.postingCounts[p];
+            next[r]++;
+        }
+
+        // The same IDF scores and document norms as TfIdfAnalyzer's.
+        double[] idfScores = new double[numTerms];
+        for (int r = 0; r < numTerms; r++) {
+            int df = corpusFrequencies.applyAsInt(sortedTerms[r]) + offsets[r + 1] - offsets[r];
+            idfScores[r] = Math.log(1.0 * (corpusSize + this.numDocs) / df);
+        }
+        double[] norms = new double[this.numDocs];
+        for (int r = 0; r < numTerms; r++) {
+            for (int p = offsets[r]; p < offsets[r + 1]; p++) {
+                double tfIdf = 1.0 * counts[p] / this.lengths[docs[p]] * idfScores[r];
+                norms[docs[p]] += tfIdf * tfIdf;
+            }
+        }
+        for (int docId = 0; docId < this.numDocs; docId++) {
+            norms[docId] = Math.sqrt(norms[docId]);
+        }
+
+        Path temporary = Paths.get(path.toString() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            int[] entryOffsets = new int[numTerms];
+            int[] postingStarts = new int[numTerms];
+            double[] maxScores = new double[numTerms];
+            for (int r = 0; r < numTerms; r++) {
+                postingStarts[r] = out.size();
+                maxScores[r] = this.writePostings(out, docs, counts, offsets[r], offsets[r + 1], norms);
+            }
+            for (int r = 0; r < numTerms; r++) {
+                entryOffsets[r] = out.size();
+                int df = offsets[r + 1] - offsets[r];
+                out.writeInt(df);
+                out.writeDouble(maxScores[r]);
+                out.writeInt(postingStarts[r]);
+                out.writeInt((df + IndexSegment.BLOCK_SIZE - 1) / IndexSegment.BLOCK_SIZE);
+                writeString(out, sortedTerms[r]);
+            }
+            int termOffsetsStart = out.size();
+            for (int r = 0; r < numTerms; r++) {
+                out.writeInt(entryOffsets[r]);
+            }
+
+            int[] dataOffsets = new int[this.numDocs];
+            for (int docId = 0; docId < this.numDocs; docId++) {
+                dataOffsets[docId] = out.size();
+                writeString(out, this.summaries[docId].getUri().toString());
+                writeString(out, this.summaries[docId].getTitle());
+                writeString(out, this.summaries[docId].getBlurb());
+            }
+            int docRecordsStart = out.size();
+            for (int docId = 0; docId < this.numDocs; docId++) {
+                out.writeInt(this.lengths[docId]);
+                out.writeDouble(norms[docId]);
+                out.writeDouble(this.boosts[docId]);
+                out.writeInt(dataOffsets[docId]);
+            }
+
+            // Document numbers sorted by URI, so a URI can be binary searched.
+            Integer[] byUri = new Integer[this.numDocs];
+            for (int docId = 0; docId < this.numDocs; docId++) {
+                byUri[docId] = docId;
+            }
+            Arrays.sort(byUri, (a, b) -> this.summaries[a].getUri().toString().compareTo(
+                    this.summaries[b].getUri().toString()));
+            int uriOrderStart = out.size();
+            for (int docId : byUri) {
+                out.writeInt(docId);
+            }
+
+            out.writeInt(this.numDocs);
+            out.writeInt(numTerms);
+            out.writeInt(termOffsetsStart);
+            out.writeInt(docRecordsStart);
+            out.writeInt(uriOrderStart);
+            out.writeInt(IndexSegment.VERSION);
+            out.writeInt(IndexSegment.MAGIC);
+            // DataOutputStream stops counting at Integer.MAX_VALUE
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Segment would be 2 GiB or more; split the documents into smaller segments");
+            }
+        } catch (IOException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the postings at indices [start, end) of docs and counts: a skip table
+     * holding the last document and the position of every block, then the blocks.
+     * Returns the highest weight times boost among them, not counting the term's IDF
+     * score, which is the same for all of them.
+     */
+    private double writePostings(DataOutputStream out, int[] docs, int[] counts, int start, int end,
+                                 double[] norms) throws IOException {
+        int numBlocks = (end - start + IndexSegment.BLOCK_SIZE - 1) / IndexSegment.BLOCK_SIZE;
+        int blocksStart = out.size() + numBlocks * IndexSegment.SKIP_ENTRY_BYTES;
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        double maxScore = 0.0;
+        int previousDoc = -1;
+        for (int p = start; p < end; p++) {
+            if ((p - start) % IndexSegment.BLOCK_SIZE == 0) {
+                int blockEnd = Math.min(p + IndexSegment.BLOCK_SIZE, end);
+                out.writeInt(docs[blockEnd - 1]);
+                out.writeInt(blocksStart + blocks.size());
+            }
+            writeVarInt(blocks, docs[p] - previousDoc);
+            writeVarInt(blocks, counts[p]);
+            previousDoc = docs[p];
+
+            double score = 1.0 * counts[p] / this.lengths[docs[p]] / norms[docs[p]] * this.boosts[docs[p]];
+            if (norms[docs[p]] > 0.0) {
+                maxScore = Math.max(maxScore, score);
+            }
+        }
+        blocks.writeTo(out);
+        return maxScore;
+    }
+
+    /**
+     * Writes a non-negative int seven bits at a time, lowest bits first, with the
+     * high bit of each byte set if more bytes follow.
+     */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
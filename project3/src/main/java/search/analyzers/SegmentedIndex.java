@@ -0,0 +1,468 @@
+package search.analyzers;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.TopKCollector;
+import search.analyzers.InvertedIndex.Hit;
+import search.models.WebpageSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An index kept in a folder as a list of IndexSegments, which grows by writing new
+ * documents into a fresh segment instead of rebuilding the segments it already has.
+ *
+ * Queries run against a Snapshot: the segments at one moment, numbered one after the
+ * other, oldest first. Adding a segment or merging some only ever publishes a new
+ * snapshot, so a query in progress is never disturbed and the index never stops
+ * answering. Document numbers are only meaningful within one snapshot.
+ *
+ * Segments do not store IDF scores. Instead, each stores the document frequencies
+ * of its own documents, which add up, segment by segment, to those of the whole
+ * index, so every query is scored with the IDF scores of every document indexed so
+ * far. Only the document norms are fixed when a segment is written, using the IDF
+ * scores of the index at the time; merging recomputes them.
+ *
+ * Once MERGE_FACTOR adjacent segments are in the same tier (see tierOf), a
+ * background thread merges them into one segment of the next tier up. So there are
+ * only ever O(log n) segments to search, and every document is rewritten O(log n)
+ * times over the life of the index.
+ *
+ * The folder holds the segment files and a manifest listing the live ones in order.
+ * Segment files not in the manifest are left over from an interrupted write or
+ * merge, and are deleted when the index is opened.
+ */
+public class SegmentedIndex implements Closeable {
+    public static final int MERGE_FACTOR = 4;
+
+    private static final String MANIFEST_NAME = "segments";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // A segment file, or one being written, whose generation is the first group.
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{1,9})\\.seg(\\.tmp)?");
+
+    private final Path folder;
+    private final ExecutorService merger;
+    private volatile Snapshot snapshot;
+    // These three are guarded by 'this'.
+    private int nextGeneration;
+    private boolean merging;
+    private Exception mergeFailure;
+
+    /**
+     * Opens the index in the given folder, creating an empty one if there is none.
+     *
+     * @throws IOException  if the folder or any of its segments cannot be read
+     */
+    public SegmentedIndex(Path folder) throws IOException {
+        this.folder = folder;
+        Files.createDirectories(folder);
+        Path manifest = folder.resolve(MANIFEST_NAME);
+        String[] names = Files.exists(manifest)
+                ? Files.readAllLines(manifest, StandardCharsets.UTF_8).toArray(new String[0])
+                : new String[0];
+        IndexSegment[] segments = new IndexSegment[names.length];
+        ISet<String> live = new ChainedHashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            segments[i] = IndexSegment.open(folder.resolve(names[i]));
+            live.add(names[i]);
+        }
+
+        this.nextGeneration = 0;
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                // Any other file is none of the index's business.
+                Matcher matcher = SEGMENT_FILE.matcher(name);
+                if (matcher.matches()) {
+                    int generation = Integer.parseInt(matcher.group(1));
+                    this.nextGeneration = Math.max(this.nextGeneration, generation + 1);
+                    if (!live.contains(name)) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+
+        this.snapshot = new Snapshot(names, segments);
+        this.merger = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "segment-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // An earlier run may have stopped before finishing its merges.
+        this.scheduleMerges();
+    }
+
+    /**
+     * Returns the segments of the index as they are now.
+     */
+    public Snapshot snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Writes every document in the writer into a new segment, and publishes it once
+     * complete, so queries already running never see it and later ones see all of it.
+     * Merges any segments that this fills a tier with in the background.
+     *
+     * @throws IOException  if the segment cannot be written or a background merge has failed
+     */
+    public synchronized void addDocuments(SegmentWriter writer) throws IOException {
+        this.checkForMergeFailure();
+        if (writer.numDocuments() == 0) {
+            return;
+        }
+        Snapshot current = this.snapshot;
+        String name = this.newSegmentName();
+        Path path = this.folder.resolve(name);
+        writer.write(path, current.numDocuments(), current::documentFrequency);
+        this.publish(current.withAppended(name, IndexSegment.open(path)));
+        this.scheduleMerges();
+    }
+
+    /**
+     * Waits until the background thread has made every merge the index needs.
+     *
+     * @throws IOException  if a background merge has failed
+     */
+    public synchronized void awaitMerges() throws IOException, InterruptedException {
+        while (this.merging) {
+            this.wait();
+        }
+        this.checkForMergeFailure();
+    }
+
+    /**
+     * Stops merging, after any merge in progress, which is left to the next time
+     * the index is opened. Snapshots can still be searched.
+     */
+    @Override
+    public void close() {
+        this.merger.shutdown();
+        try {
+            this.merger.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkForMergeFailure() throws IOException {
+        if (this.mergeFailure != null) {
+            throw new IOException("A background merge failed", this.mergeFailure);
+        }
+    }
+
+    private synchronized String newSegmentName() {
+        String name = SEGMENT_PREFIX + this.nextGeneration + SEGMENT_SUFFIX;
+        this.nextGeneration++;
+        return name;
+    }
+
+    /**
+     * Lists the snapshot's segments in the manifest, then makes it the current one.
+     * Must be called holding the lock.
+     */
+    private void publish(Snapshot next) throws IOException {
+        Path manifest = this.folder.resolve(MANIFEST_NAME);
+        Path temporary = this.folder.resolve(MANIFEST_NAME + ".tmp");
+        Files.write(temporary, String.join("\n", next.names).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.snapshot = next;
+    }
+
+    private synchronized void scheduleMerges() {
+        if (!this.merging && this.mergeFailure == null && !this.merger.isShutdown()
+                && findMerge(this.snapshot) != null) {
+            this.merging = true;
+            this.merger.execute(this::mergeWhileNeeded);
+        }
+    }
+
+    /**
+     * Runs on the merger thread, merging until no tier is full.
+     */
+    private void mergeWhileNeeded() {
+        try {
+            while (true) {
+                Snapshot current;
+                int[] run;
+                synchronized (this) {
+                    current = this.snapshot;
+                    run = findMerge(current);
+                    if (run == null || this.merger.isShutdown()) {
+                        this.merging = false;
+                        this.notifyAll();
+                        return;
+                    }
+                }
+                this.merge(current, run[0], run[1]);
+            }
+        } catch (IOException | RuntimeException ex) {
+            synchronized (this) {
+                this.mergeFailure = ex;
+                this.merging = false;
+                this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Merges segments 'from' to 'to' - 1 of the snapshot into one. Nothing else
+     * removes or reorders segments, and new ones only go at the end, so they are
+     * still at the same place in whatever snapshot is current once it is written.
+     */
+    private void merge(Snapshot current, int from, int to) throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        for (int i = from; i < to; i++) {
+            writer.addSegment(current.segments[i]);
+        }
+        String name = this.newSegmentName();
+        Path path = this.folder.resolve(name);
+        writer.write(path, current.numDocuments() - writer.numDocuments(),
+                word -> current.documentFrequency(word) - current.documentFrequency(word, from, to));
+        IndexSegment merged = IndexSegment.open(path);
+
+        synchronized (this) {
+            this.publish(this.snapshot.withReplaced(from, to, name, merged));
+        }
+        for (int i = from; i < to; i++) {
+            try {
+                Files.delete(this.folder.resolve(current.names[i]));
+            } catch (IOException ex) {
+                // Some systems cannot delete a file that is still mapped; it is
+                // deleted instead the next time the index is opened.
+            }
+        }
+    }
+
+    /**
+     * Returns the range [from, to) of the first MERGE_FACTOR adjacent segments in the
+     * same tier, or null if there are none.
+     */
+    private static int[] findMerge(Snapshot snapshot) {
+        int runStart = 0;
+        for (int i = 0; i < snapshot.segments.length; i++) {
+            if (tierOf(snapshot.segments[i]) != tierOf(snapshot.segments[runStart])) {
+                runStart = i;
+            }
+            if (i - runStart + 1 == MERGE_FACTOR) {
+                return new int[] {runStart, i + 1};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the tier of a segment: the number of times its number of documents can
+     * be divided by MERGE_FACTOR before it drops below MERGE_FACTOR.
+     */
+    private static int tierOf(IndexSegment segment) {
+        int tier = 0;
+        for (int size = segment.numDocuments(); size >= MERGE_FACTOR; size /= MERGE_FACTOR) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * The segments of a SegmentedIndex at one moment, which can be searched as one
+     * index, by many threads at once. The documents of each segment are numbered
+     * after those of the segments before it.
+     */
+    public static class Snapshot {
+        private final String[] names;
+        private final IndexSegment[] segments;
+        // The documents of segment i are numbered docBases[i] to docBases[i + 1] - 1.
+        private final int[] docBases;
+
+        private Snapshot(String[] names, IndexSegment[] segments) {
+            this.names = names;
+            this.segments = segments;
+            this.docBases = new int[segments.length + 1];
+            for (int i = 0; i < segments.length; i++) {
+                this.docBases[i + 1] = this.docBases[i] + segments[i].numDocuments();
+            }
+        }
+
+        /**
+         * Returns the number of documents in the index.
+         */
+        public int numDocuments() {
+            return this.docBases[this.segments.length];
+        }
+
+        /**
+         * Returns the number of segments the index is made of.
+         */
+        public int numSegments() {
+            return this.segments.length;
+        }
+
+        /**
+         * Returns the number of documents containing the given word.
+         */
+        public int documentFrequency(String word) {
+            return this.documentFrequency(word, 0, this.segments.length);
+        }
+
+        private int documentFrequency(String word, int from, int to) {
+            int frequency = 0;
+            for (int i = from; i < to; i++) {
+                frequency += this.segments[i].documentFrequency(word);
+            }
+            return frequency;
+        }
+
+        /**
+         * Returns the URI of the document with the given number.
+         *
+         * @throws IndexOutOfBoundsException  if there is no such document
+         */
+        public URI getUri(int docId) {
+            int i = this.segmentOf(docId);
+            return this.segments[i].getUri(docId - this.docBases[i]);
+        }
+
+        /**
+         * Returns the summary of the document with the given number.
+         *
+         * @throws IndexOutOfBoundsException  if there is no such document
+         */
+        public WebpageSummary getSummary(int docId) {
+            int i = this.segmentOf(docId);
+            return this.segments[i].getSummary(docId - this.docBases[i]);
+        }
+
+        /**
+         * Returns the number of the document with the given URI, or -1 if it is not indexed.
+         */
+        public int getDocId(URI uri) {
+            for (int i = 0; i < this.segments.length; i++) {
+                int docId = this.segments[i].getDocId(uri);
+                if (docId >= 0) {
+                    return this.docBases[i] + docId;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the 'k' documents scoring highest against the query, best first, in the
+         * same way as InvertedIndex.findTopK. All segments share the k best hits found
+         * so far, so WAND prunes each segment against the best of those before it.
+         *
+         * @throws IllegalArgumentException  if k < 0
+         */
+        public IList<Hit> findTopK(IList<String> query, int k) {
+            return this.findTopK(query, k, true);
+        }
+
+        /**
+         * Returns the same as findTopK, but scores every document sharing a word with
+         * the query.
+         *
+         * @throws IllegalArgumentException  if k < 0
+         */
+        public IList<Hit> findTopKExhaustively(IList<String> query, int k) {
+            return this.findTopK(query, k, false);
+        }
+
+        /**
+         * Returns the score findTopK would give the document with the given number.
+         *
+         * @throws IndexOutOfBoundsException  if there is no such document
+         */
+        public double computeScore(IList<String> query, int docId) {
+            int i = this.segmentOf(docId);
+            QueryTerms terms = this.queryTerms(query);
+            return this.segments[i].search(terms, this.idfScores(terms)).computeScore(docId - this.docBases[i]);
+        }
+
+        private IList<Hit> findTopK(IList<String> query, int k, boolean prune) {
+            TopKCollector<Hit> best = new TopKCollector<>(k);
+            QueryTerms terms = this.queryTerms(query);
+            double[] idfScores = this.idfScores(terms);
+            for (int i = 0; i < this.segments.length; i++) {
+                this.segments[i].search(terms, idfScores).collect(best, this.docBases[i], prune);
+            }
+            return TopKSearch.bestFirst(best, k, this.numDocuments());
+        }
+
+        /**
+         * Returns the query's terms, each identified by its document frequency in the
+         * whole index, which is all its IDF score depends on.
+         */
+        private QueryTerms queryTerms(IList<String> query) {
+            return new QueryTerms(query, word -> {
+                int frequency = this.documentFrequency(word);
+                return frequency > 0 ? frequency : -1;
+            }, this::idfScore);
+        }
+
+        private double[] idfScores(QueryTerms terms) {
+            double[] idfScores = new double[terms.size];
+            for (int i = 0; i < terms.size; i++) {
+                idfScores[i] = this.idfScore(terms.ids[i]);
+            }
+            return idfScores;
+        }
+
+        private double idfScore(int documentFrequency) {
+            return Math.log(1.0 * this.numDocuments() / documentFrequency);
+        }
+
+        private int segmentOf(int docId) {
+            if (docId < 0 || docId >= this.numDocuments()) {
+                throw new IndexOutOfBoundsException("No document " + docId);
+            }
+            // the last segment starting at or before the document
+            int low = 0;
+            int high = this.segments.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (this.docBases[middle] <= docId) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        private Snapshot withAppended(String name, IndexSegment segment) {
+            String[] names = Arrays.copyOf(this.names, this.names.length + 1);
+            IndexSegment[] segments = Arrays.copyOf(this.segments, this.segments.length + 1);
+            names[this.names.length] = name;
+            segments[this.segments.length] = segment;
+            return new Snapshot(names, segments);
+        }
+
+        private Snapshot withReplaced(int from, int to, String name, IndexSegment segment) {
+            int size = this.segments.length - (to - from) + 1;
+            String[] names = new String[size];
+            IndexSegment[] segments = new IndexSegment[size];
+            System.arraycopy(this.names, 0, names, 0, from);
+            System.arraycopy(this.segments, 0, segments, 0, from);
+            names[from] = name;
+            segments[from] = segment;
+            System.arraycopy(this.names, to, names, from + 1, this.names.length - to);
+            System.arraycopy(this.segments, to, segments, from + 1, this.segments.length - to);
+            return new Snapshot(names, segments);
+        }
+    }
+}
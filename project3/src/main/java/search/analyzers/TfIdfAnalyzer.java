@@ -2,13 +2,18 @@ package search.analyzers;
 
 import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.KVPair;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ProbingHashDictionary;
+import datastructures.concrete.dictionaries.ProbingObjDoubleDictionary;
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjDoubleDictionary;
+import datastructures.interfaces.IObjIntDictionary;
 import datastructures.interfaces.ISet;
 import search.models.Webpage;
 
 import java.net.URI;
+import java.util.function.ToDoubleFunction;
 
 /**
  * This class is responsible for computing how "relevant" any given document is
@@ -19,14 +24,14 @@ import java.net.URI;
 public class TfIdfAnalyzer {
     // This field must contain the IDF score for every single word in all
     // the documents.
-    private IDictionary<String, Double> idfScores;
+    private IObjDoubleDictionary<String> idfScores;
 
     // This field must contain the TF-IDF vector for each webpage you were given
     // in the constructor.
     //
     // We will use each webpage's page URI as a unique key.
     private IDictionary<URI, IDictionary<String, Double>> documentTfIdfVectors;
-    private IDictionary<URI, Double> normDocumentVectors;
+    private IObjDoubleDictionary<URI> normDocumentVectors;
 
     // Feel free to add extra fields and helper methods.
 
@@ -40,7 +45,7 @@ public class TfIdfAnalyzer {
 
         this.idfScores = this.computeIdfScores(webpages);
         this.documentTfIdfVectors = this.computeAllDocumentTfIdfVectors(webpages);
-        this.normDocumentVectors = new ChainedHashDictionary<URI, Double>();
+        this.normDocumentVectors = new ProbingObjDoubleDictionary<URI>(webpages.size());
         for (KVPair<URI, IDictionary<String, Double>> pair : documentTfIdfVectors) {
             double normVal = norm(pair.getValue());
             this.normDocumentVectors.put(pair.getKey(), normVal);
@@ -53,6 +58,17 @@ public class TfIdfAnalyzer {
         return this.documentTfIdfVectors;
     }
 
+    /**
+     * Returns an inverted index over every document's TF-IDF vector, which answers
+     * queries by reading only the postings of the query's words. Each document's
+     * cosine similarity to a query is multiplied by its boost.
+     *
+     * @throws IllegalStateException  if any document's boost is not positive
+     */
+    public InvertedIndex buildInvertedIndex(ToDoubleFunction<URI> boost) {
+        return new InvertedIndex(this.documentTfIdfVectors, this.normDocumentVectors, this.idfScores, boost);
+    }
+
     // Note: these private methods are suggestions or hints on how to structure your
     // code. However, since they're private, you're not obligated to implement exactly
     // these methods: feel free to change or modify these methods however you want. The
@@ -63,9 +79,8 @@ public class TfIdfAnalyzer {
      * Return a dictionary mapping every single unique word found
      * in every single document to their IDF score.
      */
-    private IDictionary<String, Double> computeIdfScores(ISet<Webpage> pages) {
-        IDictionary<String, Integer> freq = new ChainedHashDictionary<String, Integer>();
-        IDictionary<String, Double> idfDictionary = new ChainedHashDictionary<String, Double>();
+    private IObjDoubleDictionary<String> computeIdfScores(ISet<Webpage> pages) {
+        IObjIntDictionary<String> freq = new ProbingObjIntDictionary<String>();
         for (Webpage page : pages) {
             ISet<String> set = new ChainedHashSet<String>();
             IList<String> allWords = page.getWords();
@@ -73,16 +88,13 @@ public class TfIdfAnalyzer {
                 set.add(word);
             }
             for (String uniqueWord : set) {
-                if (!freq.containsKey(uniqueWord)) {
-                    freq.put(uniqueWord,  1);
-                } else {
-                    freq.put(uniqueWord, (freq.get(uniqueWord) + 1));
-                }
+                freq.addTo(uniqueWord, 1);
             }
         }
-        for (KVPair<String, Integer> pair : freq) {
-            double newVal = Math.log(1.0 * pages.size() / pair.getValue());
-            idfDictionary.put(pair.getKey(), newVal);
+        IObjDoubleDictionary<String> idfDictionary = new ProbingObjDoubleDictionary<String>(freq.size());
+        for (String word : freq) {
+            double newVal = Math.log(1.0 * pages.size() / freq.getInt(word));
+            idfDictionary.put(word, newVal);
         }
         return idfDictionary;
     }
@@ -93,19 +105,15 @@ public class TfIdfAnalyzer {
      *
      * The input list represents the words contained within a single document.
      */
-    private IDictionary<String, Double> computeTfScores(IList<String> words) {
-        IDictionary<String, Integer> freq = new ChainedHashDictionary<String, Integer>();
-        IDictionary<String, Double> tfScores = new ChainedHashDictionary<String, Double>();
+    private IObjDoubleDictionary<String> computeTfScores(IList<String> words) {
+        IObjIntDictionary<String> freq = new ProbingObjIntDictionary<String>();
         for (String word : words) {
-            if (!freq.containsKey(word)) {
-                freq.put(word, 1);
-            } else {
-                freq.put(word, freq.get(word) + 1);
-            }
-        } 
-        for (KVPair<String, Integer> pair : freq) {
-            double val = 1.0 * pair.getValue() / words.size();
-            tfScores.put(pair.getKey(), val);
+            freq.addTo(word, 1);
+        }
+        IObjDoubleDictionary<String> tfScores = new ProbingObjDoubleDictionary<String>(freq.size());
+        for (String word : freq) {
+            double val = 1.0 * freq.getInt(word) / words.size();
+            tfScores.put(word, val);
         }
         return tfScores;
     }
@@ -115,17 +123,16 @@ public class TfIdfAnalyzer {
      * See spec for more details on what this method should do.
      */
     private IDictionary<URI, IDictionary<String, Double>> computeAllDocumentTfIdfVectors(ISet<Webpage> pages) {
-        IDictionary<URI, IDictionary<String, Double>> tfIdfVectors = new ChainedHashDictionary<URI, 
+        IDictionary<URI, IDictionary<String, Double>> tfIdfVectors = new ProbingHashDictionary<URI, 
                                                                          IDictionary<String, Double>>();
         for (Webpage page : pages) {
-            IDictionary<String, Double> tfIdfScores = new ChainedHashDictionary<String, Double>();
-            IList<String> words = page.getWords();
-            IDictionary<String, Double> tfScores = computeTfScores(words);
-            for (String word : words) {
-                double score = tfScores.get(word) * this.idfScores.get(word);
+            IObjDoubleDictionary<String> tfScores = computeTfScores(page.getWords());
+            IDictionary<String, Double> tfIdfScores = new ProbingHashDictionary<String, Double>(tfScores.size());
+            for (String word : tfScores) {
+                double score = tfScores.getDouble(word) * this.idfScores.getDouble(word);
                 tfIdfScores.put(word, score);
-                tfIdfVectors.put(page.getUri(), tfIdfScores);
             }
+            tfIdfVectors.put(page.getUri(), tfIdfScores);
         }
         return tfIdfVectors;
     }
@@ -146,22 +153,19 @@ public class TfIdfAnalyzer {
         //
         // 2. See if you can combine or merge one or more loops.
         IDictionary<String, Double> documentVector = documentTfIdfVectors.get(pageUri);
-        IDictionary<String, Double> queryVector = new ChainedHashDictionary<String, Double>(); //???
+        IObjDoubleDictionary<String> queryVector = new ProbingObjDoubleDictionary<String>();
 
         double numerator = 0.0;
-        IDictionary<String, Double> tfScores = computeTfScores(query);
+        IObjDoubleDictionary<String> tfScores = computeTfScores(query);
         for (String word: query) {
-            double tf = tfScores.get(word); // how frequently word appears in query
-            double idf = idfScores.get(word);
-            queryVector.put(word, (tf * idf));
-            double docWordScore = 0.0;
-            if (documentVector.containsKey(word)) {
-                docWordScore = documentVector.get(word);
-            }
-            double queryWordScore = queryVector.get(word);
+            double tf = tfScores.getDouble(word); // how frequently word appears in query
+            double idf = idfScores.getDouble(word);
+            double queryWordScore = tf * idf;
+            queryVector.put(word, queryWordScore);
+            double docWordScore = documentVector.getOrDefault(word, 0.0);
             numerator += docWordScore * queryWordScore; 
         }
-        double denominator = this.normDocumentVectors.get(pageUri) * norm(queryVector);
+        double denominator = this.normDocumentVectors.getDouble(pageUri) * norm(queryVector);
         if (denominator != 0) {
             return numerator / denominator;
         }
@@ -176,4 +180,13 @@ public class TfIdfAnalyzer {
         }
         return Math.sqrt(output);
     }
+
+    private double norm(IObjDoubleDictionary<String> vector) {
+        double output = 0.0;
+        for (String word : vector) {
+            double score = vector.getDouble(word);
+            output += score * score;
+        }
+        return Math.sqrt(output);
+    }
 }
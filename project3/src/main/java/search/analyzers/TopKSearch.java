@@ -0,0 +1,217 @@
+package search.analyzers;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.TopKCollector;
+import search.analyzers.InvertedIndex.Hit;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Finds the best-scoring documents for one query, document at a time, from a cursor
+ * into the posting list of each of the query's terms. Every index answers queries
+ * through this class, so they all score, rank and prune in the same way: see
+ * InvertedIndex.findTopK.
+ */
+class TopKSearch {
+    // Upper bounds are raised by this fraction, so that rounding in a document's
+    // score can never push it over its bound.
+    private static final double BOUND_SLACK = 1e-9;
+
+    private final PostingCursor[] cursors;
+    private final double[] weights;
+    private final double[] upperBounds;
+    private final IntToDoubleFunction boosts;
+
+    /**
+     * Sets up a search over the given cursors, where weights[i] is the query weight of
+     * the i-th cursor's term, and maxScores[i] is the highest weight times boost in that
+     * term's postings.
+     */
+    TopKSearch(PostingCursor[] cursors, double[] weights, double[] maxScores, IntToDoubleFunction boosts) {
+        this.cursors = cursors;
+        this.weights = weights;
+        this.upperBounds = new double[cursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            this.upperBounds[i] = weights[i] * maxScores[i] * (1.0 + BOUND_SLACK);
+        }
+        this.boosts = boosts;
+    }
+
+    /**
+     * Returns the 'k' best hits, best first, filling in with documents scoring zero
+     * from among documents 0 to numDocs - 1. With 'prune', documents that cannot make
+     * the top k are skipped by WAND.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    IList<Hit> findTopK(int k, boolean prune, int numDocs) {
+        TopKCollector<Hit> best = new TopKCollector<>(k);
+        this.collect(best, 0, prune);
+        return bestFirst(best, k, numDocs);
+    }
+
+    /**
+     * Offers 'best' every document that could make it, numbered from 'docBase' on.
+     * Several searches can share one collector, one after the other, as long as each
+     * numbers its documents after the ones before it: every search then only has to
+     * beat the best hits of all of them so far.
+     */
+    void collect(TopKCollector<Hit> best, int docBase, boolean prune) {
+        if (best.isFull() && best.size() == 0) {
+            // k is zero, so nothing can make it
+            return;
+        }
+        if (prune) {
+            this.collectWithWand(best, docBase);
+        } else {
+            this.collectAll(best, docBase);
+        }
+    }
+
+    /**
+     * Empties the collector into a best-first list of 'k' hits, filling in with
+     * documents scoring zero from among documents 0 to numDocs - 1.
+     */
+    static IList<Hit> bestFirst(TopKCollector<Hit> best, int k, int numDocs) {
+        IList<Hit> reversed = new DoubleLinkedList<>();
+        for (Hit hit : best.drain()) {
+            reversed.insert(0, hit);
+        }
+        if (reversed.size() < k) {
+            fillWithZeroScores(reversed, k, numDocs);
+        }
+        return reversed;
+    }
+
+    /**
+     * Returns the score of a single document.
+     */
+    double computeScore(int docId) {
+        for (PostingCursor cursor : this.cursors) {
+            cursor.seek(docId);
+        }
+        return this.score(docId);
+    }
+
+    /**
+     * Scores every document on any term's postings, lowest document first.
+     */
+    private void collectAll(TopKCollector<Hit> best, int docBase) {
+        while (true) {
+            int docId = PostingCursor.END;
+            for (PostingCursor cursor : this.cursors) {
+                docId = Math.min(docId, cursor.doc());
+            }
+            if (docId == PostingCursor.END) {
+                return;
+            }
+            this.offer(best, docBase + docId, this.score(docId));
+        }
+    }
+
+    /**
+     * Scores only the documents that could make the top k, by WAND.
+     *
+     * The terms are kept sorted by the document their cursor is on. Adding up their
+     * upper bounds in that order, the "pivot" is the first term at which the sum
+     * reaches the k-th best score. No document before the pivot's document can reach
+     * that score, since only the terms before the pivot can contain it. So either
+     * every term before the pivot is on the pivot's document, which is then scored,
+     * or those terms are skipped ahead to it.
+     */
+    private void collectWithWand(TopKCollector<Hit> best, int docBase) {
+        int[] order = new int[this.cursors.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        while (true) {
+            this.sortByCurrentDoc(order);
+            // a document scoring exactly the threshold may still win on its number
+            double threshold = best.isFull() ? best.peekMin().getScore() : Double.NEGATIVE_INFINITY;
+            int pivot = -1;
+            double bound = 0.0;
+            for (int p = 0; p < order.length; p++) {
+                if (this.cursors[order[p]].doc() == PostingCursor.END) {
+                    break;
+                }
+                bound += this.upperBounds[order[p]];
+                if (bound >= threshold) {
+                    pivot = p;
+                    break;
+                }
+            }
+            if (pivot < 0) {
+                return;
+            }
+
+            int pivotDoc = this.cursors[order[pivot]].doc();
+            if (this.cursors[order[0]].doc() == pivotDoc) {
+                this.offer(best, docBase + pivotDoc, this.score(pivotDoc));
+            } else {
+                for (int p = 0; p < pivot; p++) {
+                    this.cursors[order[p]].seek(pivotDoc);
+                }
+            }
+        }
+    }
+
+    private void offer(TopKCollector<Hit> best, int docId, double score) {
+        if (!best.isFull() || Hit.beats(score, docId, best.peekMin())) {
+            best.add(new Hit(docId, score));
+        }
+    }
+
+    /**
+     * Insertion sorts the term indices by current document. Only a few terms move
+     * between calls, so this is close to linear.
+     */
+    private void sortByCurrentDoc(int[] order) {
+        for (int p = 1; p < order.length; p++) {
+            int i = order[p];
+            int doc = this.cursors[i].doc();
+            int q = p - 1;
+            while (q >= 0 && this.cursors[order[q]].doc() > doc) {
+                order[q + 1] = order[q];
+                q--;
+            }
+            order[q + 1] = i;
+        }
+    }
+
+    /**
+     * Returns the score of the document, moving past it every cursor that is on it.
+     * The terms are always added up in the same order, so a document's score does
+     * not depend on how it was reached.
+     */
+    private double score(int docId) {
+        double cosine = 0.0;
+        for (int i = 0; i < this.cursors.length; i++) {
+            PostingCursor cursor = this.cursors[i];
+            if (cursor.doc() == docId) {
+                cosine += this.weights[i] * cursor.weight();
+                cursor.next();
+            }
+        }
+        return cosine * this.boosts.applyAsDouble(docId);
+    }
+
+    /**
+     * Appends documents scoring zero to the best-first list of hits, in document order,
+     * until it has 'k' of them or every document is in it. Every matching document
+     * scores above zero, since weights and boosts are positive, so these go last.
+     */
+    private static void fillWithZeroScores(IList<Hit> hits, int k, int numDocs) {
+        ISet<Integer> present = new ChainedHashSet<>();
+        for (Hit hit : hits) {
+            present.add(hit.getDocId());
+        }
+        for (int docId = 0; docId < numDocs && hits.size() < k; docId++) {
+            if (!present.contains(docId)) {
+                hits.add(new Hit(docId, 0.0));
+            }
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package search.scraper;
 
-import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.ChainedHashSet;
-import datastructures.interfaces.IPriorityQueue;
+import datastructures.concrete.DoubleKeyedHeap;
+import datastructures.interfaces.IDoublePriorityQueue;
 import datastructures.interfaces.ISet;
 import search.misc.WebUtils;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -23,14 +23,15 @@ import java.util.Optional;
 
 public class Scraper {
     private Path outputPath;
-    private IPriorityQueue<PendingUri> pendingUris;
+    // URIs waiting to be fetched, prioritized by their link distance from a seed
+    private IDoublePriorityQueue<URI> pendingUris;
     private ISet<String> domainWhitelist;
     private ISet<URI> alreadyEncountered;
     private HttpRequester requester;
 
     public Scraper(Path outputPath) {
         this.outputPath = outputPath;
-        this.pendingUris = new ArrayHeap<>();
+        this.pendingUris = new DoubleKeyedHeap<>();
         this.domainWhitelist = new ChainedHashSet<>();
         this.requester = new HttpRequester();
         this.alreadyEncountered = new ChainedHashSet<>();
@@ -41,7 +42,7 @@ public class Scraper {
         if (!normalizedUri.isPresent()) {
             throw new IllegalArgumentException("URI is malformed: " + uri);
         }
-        this.pendingUris.insert(new PendingUri(0, normalizedUri.get()));
+        this.pendingUris.insert(normalizedUri.get(), 0);
         return this;
     }
 
@@ -62,8 +63,8 @@ public class Scraper {
             int limitCount = 0;
             while (limitCount < limit && !this.pendingUris.isEmpty()) {
                 // Handle page
-                PendingUri pending = this.pendingUris.removeMin();
-                URI uri = pending.uri;
+                int distance = (int) this.pendingUris.peekMinPriority();
+                URI uri = this.pendingUris.removeMin();
                 this.alreadyEncountered.add(uri);
 
                 // Skip invalid pages
@@ -72,7 +73,7 @@ public class Scraper {
                     continue;
                 }
 
-                String body = this.requester.makeRequest(pending.uri);
+                String body = this.requester.makeRequest(uri);
                 if (body == null) {
                     System.out.println(String.format("Unable to fetch content from '%s'", uri));
                     continue;
@@ -89,7 +90,7 @@ public class Scraper {
                     Optional<URI> normalizedUri = WebUtils.normalize(link);
 
                     if (normalizedUri.isPresent() && !this.alreadyEncountered.contains(link)) {
-                        this.pendingUris.insert(new PendingUri(pending.distance + 1, normalizedUri.get()));
+                        this.pendingUris.insert(normalizedUri.get(), distance + 1);
                     }
                 }
 
@@ -136,21 +137,4 @@ public class Scraper {
             }
         }
     }
-
-    private static class PendingUri implements Comparable<PendingUri> {
-        public final int distance;
-        public final URI uri;
-
-        public PendingUri(int distance, URI uri) {
-            if (uri == null) {
-                throw new IllegalArgumentException();
-            }
-            this.distance = distance;
-            this.uri = uri;
-        }
-
-        public int compareTo(PendingUri other) {
-            return Integer.compare(this.distance, other.distance);
-        }
-    }
 }
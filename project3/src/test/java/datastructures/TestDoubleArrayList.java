@@ -0,0 +1,121 @@
+package datastructures;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.DoubleArrayList;
+import datastructures.interfaces.IDoubleList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+public class TestDoubleArrayList extends BaseTest {
+    protected IDoubleList makeBasicList() {
+        IDoubleList list = new DoubleArrayList();
+
+        list.add(0.5);
+        list.add(-1.25);
+        list.add(1e300);
+
+        return list;
+    }
+
+    /**
+     * Checks the list through get, toArray and stream, which must all agree bit for
+     * bit, so that NaN and -0.0 are told apart from other values.
+     */
+    protected void assertListMatches(double[] expected, IDoubleList actual) {
+        assertEquals(expected.length, actual.size());
+        assertEquals(expected.length == 0, actual.isEmpty());
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match",
+                    Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual.get(i)));
+        }
+        assertArrayEquals(expected, actual.toArray(), 0.0);
+        assertArrayEquals(expected, actual.stream().toArray(), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddSetAndRemove() {
+        IDoubleList list = this.makeBasicList();
+        this.assertListMatches(new double[] {0.5, -1.25, 1e300}, list);
+
+        list.set(1, 0.1);
+        this.assertListMatches(new double[] {0.5, 0.1, 1e300}, list);
+
+        assertEquals(1e300, list.remove());
+        assertEquals(0.1, list.remove());
+        assertEquals(0.5, list.remove());
+        this.assertListMatches(new double[] {}, list);
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testKeepsSpecialValues() {
+        IDoubleList list = new DoubleArrayList(0);
+        double[] expected = {
+            Double.NaN, -0.0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+        };
+        for (double value : expected) {
+            list.add(value);
+        }
+        this.assertListMatches(expected, list);
+
+        list.set(0, 1.0);
+        list.set(3, 2.0);
+        list.set(4, 3.0);
+        assertEquals(6.0, list.stream().sum());
+        assertEquals(1.0, list.stream().average().getAsDouble());
+    }
+
+    @Test(timeout=SECOND)
+    public void testGrowsAndEnsuresCapacity() {
+        DoubleArrayList list = new DoubleArrayList(0);
+        double[] expected = new double[1000];
+        for (int i = 0; i < 1000; i++) {
+            expected[i] = Math.sqrt(i);
+            list.add(expected[i]);
+        }
+        this.assertListMatches(expected, list);
+
+        list.ensureCapacity(5000);
+        this.assertListMatches(expected, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetAndSetOutOfBoundsThrowsException() {
+        IDoubleList list = new DoubleArrayList(100);
+        list.add(5.0);
+        for (int index : new int[] {-1, 1, 99}) {
+            try {
+                list.get(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+            try {
+                list.set(index, 0.0);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+        }
+        this.assertListMatches(new double[] {5.0}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testToArrayIsACopy() {
+        IDoubleList list = this.makeBasicList();
+        double[] copy = list.toArray();
+        copy[0] = 100.0;
+        this.assertListMatches(new double[] {0.5, -1.25, 1e300}, list);
+        assertTrue(new DoubleArrayList().toArray().length == 0);
+    }
+}
@@ -0,0 +1,206 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IConcurrentDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestConcurrentChainedHashDictionary extends TestDictionary {
+    public static final int NUM_THREADS = 8;
+
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    protected <K, V> IConcurrentDictionary<K, V> newConcurrentDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutIfAbsent() {
+        IConcurrentDictionary<String, Integer> dict = this.newConcurrentDictionary();
+        assertTrue(dict.putIfAbsent("a", 1));
+        assertFalse(dict.putIfAbsent("a", 2));
+        assertEquals(1, dict.get("a"));
+        assertEquals(1, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testComputeAndMerge() {
+        IConcurrentDictionary<String, Integer> dict = this.newConcurrentDictionary();
+        assertEquals(1, dict.compute("a", (key, old) -> old == null ? 1 : old + 1));
+        assertEquals(2, dict.compute("a", (key, old) -> old == null ? 1 : old + 1));
+        assertEquals(5, dict.merge("b", 5, Integer::sum));
+        assertEquals(8, dict.merge("b", 3, Integer::sum));
+
+        // Returning null removes the key
+        assertNull(dict.compute("a", (key, old) -> null));
+        assertFalse(dict.containsKey("a"));
+        assertNull(dict.merge("b", 0, (old, value) -> null));
+        assertFalse(dict.containsKey("b"));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentDisjointPuts() throws InterruptedException {
+        int perThread = 50000;
+        IConcurrentDictionary<Integer, Integer> dict = this.newConcurrentDictionary();
+
+        runConcurrently(threadId -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = threadId * perThread + i;
+                dict.put(key, -key);
+            }
+        });
+
+        assertEquals(NUM_THREADS * perThread, dict.size());
+        for (int key = 0; key < NUM_THREADS * perThread; key++) {
+            assertEquals(-key, dict.get(key));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentMergeCountsEveryIncrement() throws InterruptedException {
+        int numKeys = 100;
+        int perThread = 20000;
+        IConcurrentDictionary<Integer, Integer> dict = this.newConcurrentDictionary();
+
+        runConcurrently(threadId -> {
+            for (int i = 0; i < perThread; i++) {
+                dict.merge(i % numKeys, 1, Integer::sum);
+            }
+        });
+
+        assertEquals(numKeys, dict.size());
+        for (int key = 0; key < numKeys; key++) {
+            assertEquals(NUM_THREADS * perThread / numKeys, dict.get(key));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentPutIfAbsentHasOneWinner() throws InterruptedException {
+        int numKeys = 10000;
+        IConcurrentDictionary<Integer, Integer> dict = this.newConcurrentDictionary();
+        AtomicInteger wins = new AtomicInteger(0);
+
+        runConcurrently(threadId -> {
+            for (int key = 0; key < numKeys; key++) {
+                if (dict.putIfAbsent(key, threadId)) {
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(numKeys, wins.get());
+        assertEquals(numKeys, dict.size());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testReadersDuringWritesAndRemoves() throws InterruptedException {
+        int numKeys = 20000;
+        IConcurrentDictionary<Integer, Integer> dict = this.newConcurrentDictionary();
+        for (int key = 0; key < numKeys; key += 2) {
+            dict.put(key, key);
+        }
+
+        // Half the threads keep adding and removing odd keys, which forces resizes;
+        // the other half check that the even keys never disappear or change.
+        runConcurrently(threadId -> {
+            for (int round = 0; round < 5; round++) {
+                for (int key = 1; key < numKeys; key += 2) {
+                    if (threadId % 2 == 0) {
+                        dict.put(key, key);
+                        dict.compute(key, (k, old) -> null);
+                    } else if (dict.get(key - 1) != key - 1) {
+                        throw new AssertionError("Lost or corrupted key " + (key - 1));
+                    }
+                }
+            }
+        });
+
+        assertEquals(numKeys / 2, dict.size());
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(0, pair.getKey() % 2);
+            count++;
+        }
+        assertEquals(numKeys / 2, count);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testIteratorIsWeaklyConsistent() throws InterruptedException {
+        int numKeys = 10000;
+        IConcurrentDictionary<Integer, Integer> dict = this.newConcurrentDictionary();
+        for (int key = 0; key < numKeys; key++) {
+            dict.put(key, key);
+        }
+
+        // Keys below numKeys are never removed, so every iteration must see all of them,
+        // no matter what the other threads are doing.
+        runConcurrently(threadId -> {
+            if (threadId == 0) {
+                for (int key = numKeys; key < 10 * numKeys; key++) {
+                    dict.put(key, key);
+                }
+            } else {
+                boolean[] seen = new boolean[numKeys];
+                int count = 0;
+                for (KVPair<Integer, Integer> pair : dict) {
+                    int key = pair.getKey();
+                    if (key < numKeys && !seen[key]) {
+                        seen[key] = true;
+                        count++;
+                    }
+                }
+                if (count != numKeys) {
+                    throw new AssertionError("Iterator only saw " + count + " stable keys");
+                }
+            }
+        });
+    }
+
+    private interface ThreadBody {
+        void run(int threadId);
+    }
+
+    /**
+     * Runs the given body on NUM_THREADS threads at once and rethrows the first
+     * error any of them raised.
+     */
+    private static void runConcurrently(ThreadBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>(null);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            int threadId = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(threadId);
+                } catch (Throwable ex) {
+                    error.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (error.get() != null) {
+            throw new AssertionError("A worker thread failed", error.get());
+        }
+    }
+}
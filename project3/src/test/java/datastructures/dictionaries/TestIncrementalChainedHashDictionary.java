@@ -0,0 +1,57 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Re-runs all of the ChainedHashDictionary tests with incremental resizing enabled.
+ */
+public class TestIncrementalChainedHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(true);
+    }
+
+    @Test(timeout=SECOND)
+    public void testOperationsDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i, i);
+
+            // Remove and overwrite keys that may still be sitting in the old table
+            if (i % 3 == 0) {
+                dict.remove(i / 2);
+                dict.put(i / 2, -i);
+            }
+        }
+
+        assertEquals(1000, dict.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(dict.containsKey(i));
+        }
+        assertFalse(dict.containsKey(1000));
+        assertEquals(-999, dict.get(499));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 21; i++) {
+            dict.put(i, i);
+        }
+
+        int count = 0;
+        int sum = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            count++;
+            sum += pair.getValue();
+        }
+        assertEquals(21, count);
+        assertEquals(210, sum);
+    }
+}
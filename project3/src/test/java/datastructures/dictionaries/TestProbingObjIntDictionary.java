@@ -0,0 +1,134 @@
+package datastructures.dictionaries;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IObjIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+public class TestProbingObjIntDictionary extends BaseTest {
+    protected <K> IObjIntDictionary<K> newDictionary() {
+        return new ProbingObjIntDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAndGetBasic() {
+        IObjIntDictionary<String> dict = this.newDictionary();
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put("a", 3);
+
+        assertEquals(2, dict.size());
+        assertEquals(3, dict.getInt("a"));
+        assertEquals(2, dict.getInt("b"));
+        assertTrue(dict.containsKey("a"));
+        assertFalse(dict.containsKey("c"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetErrorHandling() {
+        IObjIntDictionary<String> dict = this.newDictionary();
+        try {
+            dict.getInt("foo");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // This is ok: do nothing
+        }
+
+        try {
+            dict.remove("foo");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // This is ok: do nothing
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetOrDefault() {
+        IObjIntDictionary<String> dict = this.newDictionary();
+        dict.put("a", 5);
+
+        assertEquals(5, dict.getOrDefault("a", -1));
+        assertEquals(-1, dict.getOrDefault("b", -1));
+        assertFalse(dict.containsKey("b"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddTo() {
+        IObjIntDictionary<String> dict = this.newDictionary();
+        assertEquals(1, dict.addTo("a", 1));
+        assertEquals(2, dict.addTo("a", 1));
+        assertEquals(-3, dict.addTo("b", -3));
+        assertEquals(7, dict.addTo("a", 5));
+
+        assertEquals(2, dict.size());
+        assertEquals(7, dict.getInt("a"));
+        assertEquals(-3, dict.getInt("b"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKey() {
+        IObjIntDictionary<String> dict = this.newDictionary();
+        dict.put(null, 4);
+        dict.addTo(null, 1);
+
+        assertTrue(dict.containsKey(null));
+        assertEquals(5, dict.remove(null));
+        assertFalse(dict.containsKey(null));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorVisitsEveryKey() {
+        IObjIntDictionary<Integer> dict = this.newDictionary();
+        for (int i = 0; i < 100; i++) {
+            dict.put(i, i * 2);
+        }
+        dict.remove(50);
+
+        int count = 0;
+        int sum = 0;
+        for (int key : dict) {
+            count++;
+            sum += dict.getInt(key);
+        }
+        assertEquals(99, count);
+        assertEquals(99 * 100 - 100, sum);
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        IObjIntDictionary<Wrapper<String>> dict = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put(new Wrapper<>("" + i, 0), i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            dict.remove(new Wrapper<>("" + i, 0));
+        }
+
+        assertEquals(500, dict.size());
+        for (int i = 1; i < 1000; i += 2) {
+            assertEquals(i, dict.getInt(new Wrapper<>("" + i, 0)));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void stressTest() {
+        int limit = 1000000;
+        IObjIntDictionary<Integer> dict = this.newDictionary();
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+            assertEquals(-i, dict.getInt(i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
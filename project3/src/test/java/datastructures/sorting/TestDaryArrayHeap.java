@@ -0,0 +1,87 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Re-runs the ArrayHeap tests on a binary heap, and checks every arity we might
+ * reasonably pick against a sorted reference.
+ */
+public class TestDaryArrayHeap extends TestArrayHeapFunctionality {
+    @Override
+    protected <T extends Comparable<T>> IPriorityQueue<T> makeInstance() {
+        return new ArrayHeap<>(2);
+    }
+
+    @Test(timeout=SECOND)
+    public void testEveryAritySortsCorrectly() {
+        Random rand = new Random(7);
+        int[] values = new int[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rand.nextInt(500);
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (int arity = 2; arity <= 16; arity++) {
+            IPriorityQueue<Integer> heap = new ArrayHeap<>(arity);
+            for (int value : values) {
+                heap.insert(value);
+            }
+            for (int expected : sorted) {
+                assertEquals("Wrong order with arity " + arity, expected, heap.removeMin());
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testArityMustBeAtLeastTwo() {
+        try {
+            new ArrayHeap<Integer>(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBulkConstructorForEveryArity() {
+        IList<Integer> items = this.makeRange(0, 1000, 13);
+        for (int arity = 2; arity <= 16; arity++) {
+            IPriorityQueue<Integer> heap = new ArrayHeap<>(items, arity);
+            assertEquals(1000, heap.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("Wrong order with arity " + arity, i, heap.removeMin());
+            }
+        }
+        // The input list must not be modified.
+        assertEquals(1000, items.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBulkConstructorEdgeCases() {
+        IPriorityQueue<Integer> heap = new ArrayHeap<>(new DoubleLinkedList<Integer>());
+        assertTrue(heap.isEmpty());
+        heap.insert(2);
+        assertEquals(2, heap.removeMin());
+
+        IList<Integer> withNull = new DoubleLinkedList<>();
+        withNull.add(1);
+        withNull.add(null);
+        try {
+            new ArrayHeap<>(withNull);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.IndexSegment;
+import search.analyzers.InvertedIndex;
+import search.analyzers.SegmentWriter;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+import search.models.WebpageSummary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestIndexSegment extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private Webpage makePage(int id, IList<String> words) {
+        return new Webpage(
+                URI.create("http://example.com/page-" + id + ".html"),
+                new DoubleLinkedList<>(),
+                words,
+                "Title " + id,
+                "Blurb " + id);
+    }
+
+    private ISet<Webpage> makeRandomPages(Random rand, int numPages, int maxLength, int vocabulary) {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int id = 0; id < numPages; id++) {
+            IList<String> words = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(maxLength);
+            for (int i = 0; i < length; i++) {
+                // skewed, so some words are common and some rare
+                words.add("w" + (int) Math.sqrt(rand.nextInt(vocabulary * vocabulary)));
+            }
+            pages.add(makePage(id, words));
+        }
+        return pages;
+    }
+
+    private IndexSegment writeAndOpen(ISet<Webpage> pages, Random rand) throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        for (Webpage page : pages) {
+            writer.addDocument(page.getSummary(), page.getWords(), boostOf(page.getUri(), rand));
+        }
+        Path path = Files.createTempFile("segment", ".seg");
+        path.toFile().deleteOnExit();
+        writer.write(path);
+        return IndexSegment.open(path);
+    }
+
+    /**
+     * A boost that is the same every time for the same page.
+     */
+    private static double boostOf(URI uri, Random rand) {
+        return rand == null ? 1.0 : 0.1 + new Random(uri.hashCode()).nextDouble();
+    }
+
+    @Test(timeout=SECOND)
+    public void testDocumentsRoundTrip() throws IOException {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(makePage(0, strToIList("the mouse played with the cat")));
+        pages.add(new Webpage(
+                URI.create("http://example.com/caf%C3%A9.html"),
+                new DoubleLinkedList<>(),
+                strToIList("caf\u00e9 cr\u00e8me the"),
+                "Caf\u00e9 \u2615",
+                ""));
+        IndexSegment segment = this.writeAndOpen(pages, null);
+
+        assertEquals(2, segment.numDocuments());
+        assertEquals(7, segment.numTerms());
+        assertEquals(2, segment.documentFrequency("the"));
+        assertEquals(1, segment.documentFrequency("caf\u00e9"));
+        assertEquals(0, segment.documentFrequency("dog"));
+        for (Webpage page : pages) {
+            int docId = segment.getDocId(page.getUri());
+            assertEquals(page.getUri(), segment.getUri(docId));
+            assertEquals(page.getSummary(), segment.getSummary(docId));
+        }
+        assertEquals(-1, segment.getDocId(URI.create("http://example.com/missing.html")));
+        try {
+            segment.getSummary(2);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testScoresMatchTfIdfAnalyzer() throws IOException {
+        Random rand = new Random(23);
+        ISet<Webpage> pages = this.makeRandomPages(rand, 300, 400, 50);
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(pages);
+        IndexSegment segment = this.writeAndOpen(pages, rand);
+
+        for (int trial = 0; trial < 30; trial++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                query.add("w" + rand.nextInt(50));
+            }
+            int k = 1 + rand.nextInt(20);
+            IList<InvertedIndex.Hit> hits = segment.findTopK(query, k);
+            assertEquals(k, hits.size());
+            double previous = Double.POSITIVE_INFINITY;
+            ISet<Integer> seen = new ChainedHashSet<>();
+            for (InvertedIndex.Hit hit : hits) {
+                URI uri = segment.getUri(hit.getDocId());
+                double expected = analyzer.computeRelevance(query, uri) * boostOf(uri, rand);
+                assertEquals(expected, hit.getScore(), DELTA);
+                assertEquals(hit.getScore(), segment.computeScore(query, hit.getDocId()), DELTA);
+                assertTrue(hit.getScore() <= previous);
+                seen.add(hit.getDocId());
+                previous = hit.getScore();
+            }
+            // Nothing left out scores better than the worst hit kept.
+            for (Webpage page : pages) {
+                if (!seen.contains(segment.getDocId(page.getUri()))) {
+                    double score = analyzer.computeRelevance(query, page.getUri()) * boostOf(page.getUri(), rand);
+                    assertTrue(score <= previous + DELTA);
+                }
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testPruningReturnsExactlyTheExhaustiveTopK() throws IOException {
+        // Long posting lists, so cursors skip over whole blocks.
+        Random rand = new Random(24);
+        ISet<Webpage> pages = this.makeRandomPages(rand, 3000, 60, 100);
+        IndexSegment segment = this.writeAndOpen(pages, rand);
+
+        for (int trial = 0; trial < 200; trial++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                query.add("w" + (int) Math.sqrt(rand.nextInt(10000)));
+            }
+            int k = 1 + rand.nextInt(15);
+            IList<InvertedIndex.Hit> expected = segment.findTopKExhaustively(query, k);
+            IList<InvertedIndex.Hit> actual = segment.findTopK(query, k);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getDocId(), actual.get(i).getDocId());
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrorHandling() throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        try {
+            writer.addDocument(new WebpageSummary(URI.create("http://example.com/"), "", ""),
+                    strToIList("a b"), 0.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(0, writer.numDocuments());
+
+        Path notASegment = Files.createTempFile("segment", ".seg");
+        notASegment.toFile().deleteOnExit();
+        Files.write(notASegment, new byte[] {1, 2, 3});
+        try {
+            IndexSegment.open(notASegment);
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            // All ok -- expected result
+        }
+
+        IndexSegment segment = this.writeAndOpen(new ChainedHashSet<>(), null);
+        assertEquals(0, segment.numDocuments());
+        assertEquals(0, segment.findTopK(strToIList("a"), 3).size());
+        try {
+            segment.findTopK(strToIList("a"), -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
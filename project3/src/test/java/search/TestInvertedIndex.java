@@ -0,0 +1,196 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ProbingObjDoubleDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjDoubleDictionary;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.InvertedIndex;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestInvertedIndex extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private Webpage makePage(int id, IList<String> words) {
+        return new Webpage(
+                URI.create("http://example.com/page-" + id + ".html"),
+                new DoubleLinkedList<>(),
+                words,
+                "Title " + id,
+                "Blurb " + id);
+    }
+
+    private ISet<Webpage> makeExamplePages() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(makePage(0, strToIList("the mouse played with the cat")));
+        pages.add(makePage(1, strToIList("the quick brown fox jumped over the lazy dog")));
+        pages.add(makePage(2, strToIList("dog 1 and dog 2 ate the hot dog")));
+        pages.add(makePage(3, strToIList("the the the")));
+        return pages;
+    }
+
+    /**
+     * Checks the index's top k against scoring every page with computeRelevance.
+     */
+    private void checkAgainstExhaustive(ISet<Webpage> pages, IObjDoubleDictionary<URI> boosts,
+                                        IList<String> query, int k) {
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(pages);
+        InvertedIndex index = analyzer.buildInvertedIndex(boosts::getDouble);
+        IList<InvertedIndex.Hit> hits = index.findTopK(query, k);
+
+        assertEquals(Math.min(k, pages.size()), hits.size());
+        double previous = Double.POSITIVE_INFINITY;
+        ISet<Integer> seen = new ChainedHashSet<>();
+        for (InvertedIndex.Hit hit : hits) {
+            URI uri = index.getUri(hit.getDocId());
+            double expected = analyzer.computeRelevance(query, uri) * boosts.getDouble(uri);
+            assertEquals(expected, hit.getScore(), DELTA);
+            assertTrue(hit.getScore() <= previous);
+            assertTrue(!seen.contains(hit.getDocId()));
+            seen.add(hit.getDocId());
+            previous = hit.getScore();
+        }
+        // Nothing left out scores better than the worst hit kept.
+        for (Webpage page : pages) {
+            if (!seen.contains(index.getDocId(page.getUri()))) {
+                double score = analyzer.computeRelevance(query, page.getUri()) * boosts.getDouble(page.getUri());
+                assertTrue(score <= previous + DELTA);
+            }
+        }
+    }
+
+    private IObjDoubleDictionary<URI> makeBoosts(ISet<Webpage> pages, Random rand) {
+        IObjDoubleDictionary<URI> boosts = new ProbingObjDoubleDictionary<>();
+        for (Webpage page : pages) {
+            boosts.put(page.getUri(), rand == null ? 1.0 : 0.1 + rand.nextDouble());
+        }
+        return boosts;
+    }
+
+    @Test(timeout=SECOND)
+    public void testExampleQueries() {
+        ISet<Webpage> pages = this.makeExamplePages();
+        IObjDoubleDictionary<URI> boosts = this.makeBoosts(pages, null);
+        checkAgainstExhaustive(pages, boosts, strToIList("dog"), 2);
+        checkAgainstExhaustive(pages, boosts, strToIList("the cat and the dog"), 3);
+        // Repeated words count every time, as in computeRelevance.
+        checkAgainstExhaustive(pages, boosts, strToIList("dog dog mouse"), 4);
+    }
+
+    @Test(timeout=SECOND)
+    public void testPagesSharingNoWordScoreZero() {
+        ISet<Webpage> pages = this.makeExamplePages();
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(pages);
+        InvertedIndex index = analyzer.buildInvertedIndex(uri -> 1.0);
+
+        IList<InvertedIndex.Hit> hits = index.findTopK(strToIList("mouse"), 10);
+        assertEquals(4, hits.size());
+        assertEquals(URI.create("http://example.com/page-0.html"), index.getUri(hits.get(0).getDocId()));
+        for (int i = 1; i < hits.size(); i++) {
+            assertEquals(0.0, hits.get(i).getScore(), 0.0);
+        }
+
+        // Unknown words have no postings, and "the" is in every page, so its IDF is zero.
+        hits = index.findTopK(strToIList("unknown the"), 2);
+        assertEquals(2, hits.size());
+        assertEquals(0.0, hits.get(0).getScore(), 0.0);
+        assertEquals(0, index.findTopK(strToIList("dog"), 0).size());
+        assertEquals(-1, index.getDocId(URI.create("http://example.com/missing.html")));
+
+        try {
+            index.findTopK(strToIList("dog"), -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            analyzer.buildInvertedIndex(uri -> 0.0);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomCorpusAgainstExhaustive() {
+        Random rand = new Random(21);
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int id = 0; id < 300; id++) {
+            IList<String> words = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                // skewed, so some words are common and some rare
+                words.add("w" + (int) Math.sqrt(rand.nextInt(2500)));
+            }
+            pages.add(makePage(id, words));
+        }
+        IObjDoubleDictionary<URI> boosts = this.makeBoosts(pages, rand);
+
+        for (int trial = 0; trial < 30; trial++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                query.add("w" + rand.nextInt(50));
+            }
+            checkAgainstExhaustive(pages, boosts, query, 1 + rand.nextInt(20));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testPruningReturnsExactlyTheExhaustiveTopK() {
+        Random rand = new Random(22);
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int id = 0; id < 2000; id++) {
+            IList<String> words = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                words.add("w" + (int) Math.sqrt(rand.nextInt(10000)));
+            }
+            pages.add(makePage(id, words));
+        }
+        IObjDoubleDictionary<URI> boosts = this.makeBoosts(pages, rand);
+        // Some pages share a boost and a vector, so their scores tie exactly.
+        for (int id = 2000; id < 2020; id++) {
+            pages.add(makePage(id, strToIList("w90 w95 w99")));
+            boosts.put(URI.create("http://example.com/page-" + id + ".html"), 1.0);
+        }
+        InvertedIndex index = new TfIdfAnalyzer(pages).buildInvertedIndex(boosts::getDouble);
+
+        for (int trial = 0; trial < 200; trial++) {
+            IList<String> query = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                query.add("w" + (int) Math.sqrt(rand.nextInt(10000)));
+            }
+            if (trial % 10 == 0) {
+                query = strToIList("w90 w95 w99");
+            }
+            int k = 1 + rand.nextInt(15);
+            IList<InvertedIndex.Hit> expected = index.findTopKExhaustively(query, k);
+            IList<InvertedIndex.Hit> actual = index.findTopK(query, k);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getDocId(), actual.get(i).getDocId());
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+            }
+        }
+    }
+}
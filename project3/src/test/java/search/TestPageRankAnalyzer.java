@@ -10,6 +10,8 @@ import search.analyzers.PageRankAnalyzer;
 import search.models.Webpage;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Random;
 
 public class TestPageRankAnalyzer extends BaseTest {
     // We say two floating point numbers are equal if they're within
@@ -92,4 +94,53 @@ public class TestPageRankAnalyzer extends BaseTest {
         assertEquals(0.05244, analyzer.computePageRank(pageEUri), DELTA);
     }
 
+    @Test(timeout=5 * SECOND)
+    public void testLargeGraphReachesFixedPoint() {
+        int numPages = 20000;
+        Random rand = new Random(25);
+        URI[] uris = new URI[numPages];
+        for (int i = 0; i < numPages; i++) {
+            uris[i] = URI.create("http://example.com/page-" + i + ".html");
+        }
+        // Every tenth page links nowhere, and some links leave the set of pages.
+        int[][] links = new int[numPages][];
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int i = 0; i < numPages; i++) {
+            links[i] = new int[i % 10 == 0 ? 0 : 1 + rand.nextInt(8)];
+            URI[] linksTo = new URI[links[i].length + 1];
+            for (int j = 0; j < links[i].length; j++) {
+                links[i][j] = rand.nextInt(numPages);
+                linksTo[j] = uris[links[i][j]];
+            }
+            linksTo[links[i].length] = URI.create("http://elsewhere.com/page-" + i + ".html");
+            pages.add(this.buildPage(uris[i], linksTo));
+        }
+
+        double decay = 0.85;
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, decay, 0.0000001, 200);
+        double[] ranks = new double[numPages];
+        double total = 0.0;
+        double danglingRank = 0.0;
+        for (int i = 0; i < numPages; i++) {
+            ranks[i] = analyzer.computePageRank(uris[i]);
+            total += ranks[i];
+            if (links[i].length == 0) {
+                danglingRank += ranks[i];
+            }
+        }
+        assertEquals(1.0, total, DELTA);
+
+        // One more step of the update, done the slow way, leaves the ranks where they are.
+        double[] expected = new double[numPages];
+        Arrays.fill(expected, (1 - decay) / numPages + decay * danglingRank / numPages);
+        for (int i = 0; i < numPages; i++) {
+            int[] distinct = Arrays.stream(links[i]).distinct().toArray();
+            for (int target : distinct) {
+                expected[target] += decay * ranks[i] / distinct.length;
+            }
+        }
+        for (int i = 0; i < numPages; i++) {
+            assertEquals(expected[i], ranks[i], 0.0000001);
+        }
+    }
 }
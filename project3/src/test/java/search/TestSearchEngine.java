@@ -0,0 +1,152 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import search.models.Result;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestSearchEngine extends BaseTest {
+    private Path folder;
+    private Path dataFolder;
+    private Path indexFolder;
+
+    @Before
+    public void makeFolders() throws IOException {
+        this.folder = Files.createTempDirectory("engine");
+        this.dataFolder = Files.createDirectory(this.folder.resolve("data"));
+        this.indexFolder = this.folder.resolve("index");
+    }
+
+    @After
+    public void deleteFolders() {
+        deleteRecursively(this.folder.toFile());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private static URI uriOf(String name) {
+        return URI.create("http://example.com/" + name + ".html");
+    }
+
+    /**
+     * Saves a page to the data folder. Webpage.load reads a page's cached form
+     * whenever there is one, so the page is written in that form, and the HTML
+     * file beside it is only there to be found.
+     */
+    private void savePage(String fileName, String name, String words, String... links) throws IOException {
+        StringBuilder cache = new StringBuilder();
+        cache.append(uriOf(name)).append('\n');
+        cache.append("Title ").append(name).append('\n');
+        cache.append("Blurb ").append(name).append('\n');
+        cache.append(words).append('\n');
+        for (String link : links) {
+            cache.append(uriOf(link)).append('\n');
+        }
+        Files.write(this.dataFolder.resolve(fileName + ".cache"), cache.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(this.dataFolder.resolve(fileName + ".html"), new byte[0]);
+    }
+
+    private void saveFirstPages() throws IOException {
+        this.savePage("a", "a", "apple banana cherry", "b", "c");
+        this.savePage("b", "b", "banana cherry", "a");
+        this.savePage("c", "c", "cherry date", "a", "b");
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRefreshAddsNewPages() throws Exception {
+        this.saveFirstPages();
+        try (SearchEngine engine = new SearchEngine(this.dataFolder, this.indexFolder)) {
+            IList<Result> results = engine.getTopKResults(strToIList("apple"), 1);
+            assertEquals(uriOf("a"), results.get(0).getUri());
+            assertEquals(engine.computeScore(strToIList("apple"), uriOf("a")), results.get(0).getScore(), 1e-9);
+            assertEquals(0, engine.refresh());
+
+            this.savePage("d", "d", "elderberry fig elderberry", "a");
+            assertEquals(1, engine.refresh());
+            results = engine.getTopKResults(strToIList("elderberry"), 1);
+            assertEquals(uriOf("d"), results.get(0).getUri());
+            assertTrue(results.get(0).getScore() > 0.0);
+            // Scored from the index, now that the analyzers no longer cover every page.
+            assertEquals(results.get(0).getScore(), engine.computeScore(strToIList("elderberry"), uriOf("d")), 1e-9);
+            assertEquals(0, engine.refresh());
+
+            // A page already indexed, saved again under another name, is skipped.
+            this.savePage("a-copy", "a", "apple banana cherry", "b", "c");
+            assertEquals(0, engine.refresh());
+            IList<Result> apples = engine.getTopKResults(strToIList("apple"), 2);
+            assertTrue(apples.get(0).getScore() > 0.0);
+            assertEquals(0.0, apples.get(1).getScore(), 1e-9);
+            assertEquals(0, engine.refresh());
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testNewPagesBoostedByAverageRank() throws Exception {
+        this.saveFirstPages();
+        try (SearchEngine engine = new SearchEngine(this.dataFolder, this.indexFolder)) {
+            // Two pages with the same words, so only their boosts tell them apart.
+            this.savePage("d", "d", "grape");
+            this.savePage("e", "e", "grape");
+            assertEquals(2, engine.refresh());
+            IList<Result> results = engine.getTopKResults(strToIList("grape"), 2);
+            assertEquals(results.get(0).getScore(), results.get(1).getScore(), 1e-9);
+
+            // cosine similarity of 1, times the square root of the average rank
+            assertEquals(Math.sqrt(1.0 / 5), results.get(0).getScore(), 1e-9);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testReopenedIndexSkipsIndexedFiles() throws Exception {
+        this.saveFirstPages();
+        IList<Result> before;
+        try (SearchEngine engine = new SearchEngine(this.dataFolder, this.indexFolder)) {
+            this.savePage("d", "d", "elderberry fig", "a");
+            assertEquals(1, engine.refresh());
+            before = engine.getTopKResults(strToIList("cherry elderberry"), 4);
+        }
+        assertTrue(Files.exists(this.indexFolder.resolve("sources")));
+
+        try (SearchEngine engine = new SearchEngine(this.dataFolder, this.indexFolder)) {
+            assertEquals(0, engine.refresh());
+            IList<Result> after = engine.getTopKResults(strToIList("cherry elderberry"), 4);
+            assertEquals(before.size(), after.size());
+            for (int i = 0; i < before.size(); i++) {
+                assertEquals(before.get(i).getUri(), after.get(i).getUri());
+                assertEquals(before.get(i).getScore(), after.get(i).getScore(), 1e-9);
+            }
+
+            this.savePage("e", "e", "grape", "d");
+            assertEquals(1, engine.refresh());
+            assertEquals(uriOf("e"), engine.getTopKResults(strToIList("grape"), 1).get(0).getUri());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import search.analyzers.InvertedIndex;
+import search.analyzers.SegmentWriter;
+import search.analyzers.SegmentedIndex;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestSegmentedIndex extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private Path folder;
+
+    @Before
+    public void makeFolder() throws IOException {
+        this.folder = Files.createTempDirectory("index");
+    }
+
+    @After
+    public void deleteFolder() {
+        File[] files = this.folder.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.folder.toFile().delete();
+    }
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private IList<Webpage> makeRandomPages(Random rand, int firstId, int numPages) {
+        IList<Webpage> pages = new DoubleLinkedList<>();
+        for (int id = firstId; id < firstId + numPages; id++) {
+            IList<String> words = new DoubleLinkedList<>();
+            int length = 1 + rand.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                // skewed, so some words are common and some rare
+                words.add("w" + (int) Math.sqrt(rand.nextInt(2500)));
+            }
+            pages.add(new Webpage(
+                    URI.create("http://example.com/page-" + id + ".html"),
+                    new DoubleLinkedList<>(), words, "Title " + id, "Blurb " + id));
+        }
+        return pages;
+    }
+
+    private void addBatch(SegmentedIndex index, IList<Webpage> pages) throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        for (Webpage page : pages) {
+            writer.addDocument(page.getSummary(), page.getWords(), boostOf(page.getUri()));
+        }
+        index.addDocuments(writer);
+    }
+
+    /**
+     * A boost that is the same every time for the same page.
+     */
+    private static double boostOf(URI uri) {
+        return 0.1 + new Random(uri.hashCode()).nextDouble();
+    }
+
+    private IList<String> makeQuery(Random rand) {
+        IList<String> query = new DoubleLinkedList<>();
+        int length = 1 + rand.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            query.add("w" + rand.nextInt(50));
+        }
+        return query;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMergedSegmentsScoreLikeTfIdfAnalyzer() throws Exception {
+        Random rand = new Random(24);
+        ISet<Webpage> allPages = new ChainedHashSet<>();
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            // Four segments in the same tier, so they are merged into one.
+            for (int batch = 0; batch < SegmentedIndex.MERGE_FACTOR; batch++) {
+                IList<Webpage> pages = this.makeRandomPages(rand, 100 * batch, 100);
+                this.addBatch(index, pages);
+                for (Webpage page : pages) {
+                    allPages.add(page);
+                }
+            }
+            index.awaitMerges();
+            SegmentedIndex.Snapshot snapshot = index.snapshot();
+            assertEquals(1, snapshot.numSegments());
+            assertEquals(400, snapshot.numDocuments());
+
+            TfIdfAnalyzer analyzer = new TfIdfAnalyzer(allPages);
+            for (int trial = 0; trial < 30; trial++) {
+                IList<String> query = this.makeQuery(rand);
+                for (InvertedIndex.Hit hit : snapshot.findTopK(query, 10)) {
+                    URI uri = snapshot.getUri(hit.getDocId());
+                    double expected = analyzer.computeRelevance(query, uri) * boostOf(uri);
+                    assertEquals(expected, hit.getScore(), DELTA);
+                }
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testManySegmentsKeepIdfAndPruningExact() throws Exception {
+        Random rand = new Random(25);
+        IList<Webpage> allPages = new DoubleLinkedList<>();
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            for (int batch = 0; batch < 15; batch++) {
+                IList<Webpage> pages = this.makeRandomPages(rand, allPages.size(), 1 + rand.nextInt(60));
+                this.addBatch(index, pages);
+                for (Webpage page : pages) {
+                    allPages.add(page);
+                }
+            }
+            SegmentedIndex.Snapshot snapshot = index.snapshot();
+            assertEquals(allPages.size(), snapshot.numDocuments());
+
+            // Document frequencies add up across segments, merged or not.
+            for (int word = 0; word < 50; word++) {
+                int expected = 0;
+                for (Webpage page : allPages) {
+                    if (page.getWords().contains("w" + word)) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, snapshot.documentFrequency("w" + word));
+            }
+            for (Webpage page : allPages) {
+                int docId = snapshot.getDocId(page.getUri());
+                assertEquals(page.getSummary(), snapshot.getSummary(docId));
+            }
+
+            for (int trial = 0; trial < 100; trial++) {
+                IList<String> query = this.makeQuery(rand);
+                int k = 1 + rand.nextInt(15);
+                IList<InvertedIndex.Hit> expected = snapshot.findTopKExhaustively(query, k);
+                IList<InvertedIndex.Hit> actual = snapshot.findTopK(query, k);
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getDocId(), actual.get(i).getDocId());
+                    assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+                    assertEquals(actual.get(i).getScore(),
+                            snapshot.computeScore(query, actual.get(i).getDocId()), DELTA);
+                }
+            }
+            index.awaitMerges();
+            assertTrue(index.snapshot().numSegments() < 15);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testSnapshotsAndReopening() throws Exception {
+        Random rand = new Random(26);
+        IList<String> query = strToIList("w3 w20 w31");
+        IList<InvertedIndex.Hit> before;
+        int numSegments;
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            this.addBatch(index, this.makeRandomPages(rand, 0, 50));
+            SegmentedIndex.Snapshot old = index.snapshot();
+            this.addBatch(index, this.makeRandomPages(rand, 50, 20));
+            // A snapshot never changes, whatever is added after it.
+            assertEquals(50, old.numDocuments());
+            assertEquals(-1, old.getDocId(URI.create("http://example.com/page-60.html")));
+            assertEquals(70, index.snapshot().numDocuments());
+
+            index.awaitMerges();
+            before = index.snapshot().findTopK(query, 5);
+            numSegments = index.snapshot().numSegments();
+        }
+
+        // Left over from a merge that never finished.
+        Files.write(this.folder.resolve("segment-99.seg.tmp"), new byte[] {1});
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            assertFalse(Files.exists(this.folder.resolve("segment-99.seg.tmp")));
+            assertEquals(70, index.snapshot().numDocuments());
+            assertEquals(numSegments, index.snapshot().numSegments());
+            IList<InvertedIndex.Hit> after = index.snapshot().findTopK(query, 5);
+            for (int i = 0; i < before.size(); i++) {
+                assertEquals(before.get(i).getDocId(), after.get(i).getDocId());
+                assertEquals(before.get(i).getScore(), after.get(i).getScore());
+            }
+
+            // New segments are numbered after every file ever seen.
+            this.addBatch(index, this.makeRandomPages(rand, 70, 1));
+            assertTrue(Files.exists(this.folder.resolve("segment-100.seg")));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testStrayFilesAreIgnored() throws Exception {
+        String[] strays = {"segment-old.seg", "segment-1a.seg", "segment-", "segment-2", "segment-3.seg.bak"};
+        for (String stray : strays) {
+            Files.write(this.folder.resolve(stray), new byte[] {1});
+        }
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            this.addBatch(index, this.makeRandomPages(new Random(27), 0, 10));
+            assertEquals(10, index.snapshot().numDocuments());
+            assertTrue(Files.exists(this.folder.resolve("segment-0.seg")));
+        }
+        for (String stray : strays) {
+            assertTrue(Files.exists(this.folder.resolve(stray)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyIndex() throws Exception {
+        try (SegmentedIndex index = new SegmentedIndex(this.folder)) {
+            index.addDocuments(new SegmentWriter());
+            SegmentedIndex.Snapshot snapshot = index.snapshot();
+            assertEquals(0, snapshot.numSegments());
+            assertEquals(0, snapshot.findTopK(strToIList("a"), 3).size());
+            assertEquals(0, snapshot.documentFrequency("a"));
+            try {
+                snapshot.getSummary(0);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+}
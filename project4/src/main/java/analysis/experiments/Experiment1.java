@@ -0,0 +1,109 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.AtomicIntDisjointSet;
+import datastructures.concrete.IntDisjointSet;
+import datastructures.interfaces.ILongList;
+
+import java.util.Random;
+
+/**
+ * Measures the throughput of AtomicIntDisjointSet as the number of threads grows,
+ * against an IntDisjointSet guarded by one global lock.
+ *
+ * The workload is connected-component labelling of a random graph: the edges are
+ * split evenly between the threads, and each thread unions the endpoints of its
+ * edges. Each test returns the number of edges processed per millisecond.
+ */
+public class Experiment1 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_THREADS = 8;
+    public static final int NUM_VERTICES = 1000000;
+    public static final int NUM_EDGES = 2000000;
+
+    // Generated once, so every test sees the same graph and none of the random
+    // number generation is timed.
+    private static final int[] FROM = makeEndpoints(1);
+    private static final int[] TO = makeEndpoints(2);
+
+    public static void main(String[] args) {
+        ILongList threadCounts = AnalysisUtils.makeLongList(1L, MAX_THREADS + 1, 1L);
+
+        System.out.println("Starting experiment 1");
+        ILongList test1Results = AnalysisUtils.runTrials(threadCounts, Experiment1::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(threadCounts, Experiment1::test2, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumThreads", threadCounts);
+        writer.addColumn("GlobalLockEdgesPerMs", test1Results);
+        writer.addColumn("LockFreeEdgesPerMs", test2Results);
+        writer.writeToFile("experimentdata/experiment1.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numThreads) {
+        IntDisjointSet forest = new IntDisjointSet(NUM_VERTICES);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            forest.makeSet();
+        }
+        return runWorkload((int) numThreads, (from, to) -> {
+            synchronized (forest) {
+                int root1 = forest.findSet(from);
+                int root2 = forest.findSet(to);
+                if (root1 != root2) {
+                    forest.union(root1, root2);
+                }
+            }
+        });
+    }
+
+    public static long test2(long numThreads) {
+        AtomicIntDisjointSet forest = new AtomicIntDisjointSet(NUM_VERTICES);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            forest.makeSet();
+        }
+        return runWorkload((int) numThreads, forest::tryUnion);
+    }
+
+    private interface EdgeConsumer {
+        void accept(int from, int to);
+    }
+
+    private static long runWorkload(int numThreads, EdgeConsumer unionEdge) {
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int first = t;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < NUM_EDGES; i += numThreads) {
+                    unionEdge.accept(FROM[i], TO[i]);
+                }
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        return NUM_EDGES / elapsed;
+    }
+
+    private static int[] makeEndpoints(long seed) {
+        Random rand = new Random(seed);
+        int[] endpoints = new int[NUM_EDGES];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = rand.nextInt(NUM_VERTICES);
+        }
+        return endpoints;
+    }
+}
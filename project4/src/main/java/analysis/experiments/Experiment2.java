@@ -0,0 +1,113 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ArrayList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import misc.graphs.Edge;
+import misc.graphs.Graph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the parallel Boruvka MST scales with the number of threads in its
+ * fork-join pool, against the sequential Kruskal MST.
+ *
+ * The graph is a maze-like grid of GRID_WIDTH by GRID_WIDTH rooms, where every
+ * room is joined to its right and lower neighbours by a randomly weighted wall.
+ * It is built once: only the MST computations are timed. Each test returns the
+ * time taken in milliseconds.
+ */
+public class Experiment2 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_THREADS = 8;
+    public static final int GRID_WIDTH = 300;
+
+    private static final Graph<Integer, GridEdge> GRAPH = makeGrid();
+
+    public static void main(String[] args) {
+        ILongList threadCounts = AnalysisUtils.makeLongList(1L, MAX_THREADS + 1, 1L);
+
+        System.out.println("Starting experiment 2");
+        ILongList test1Results = AnalysisUtils.runTrials(threadCounts, Experiment2::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(threadCounts, Experiment2::test2, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumThreads", threadCounts);
+        writer.addColumn("KruskalMillis", test1Results);
+        writer.addColumn("ParallelBoruvkaMillis", test2Results);
+        writer.writeToFile("experimentdata/experiment2.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numThreads) {
+        // Kruskal is sequential: numThreads is ignored, so this is the baseline.
+        long start = System.currentTimeMillis();
+        GRAPH.findMinimumSpanningTree(Graph.MstAlgorithm.KRUSKAL);
+        return System.currentTimeMillis() - start;
+    }
+
+    public static long test2(long numThreads) {
+        ForkJoinPool pool = new ForkJoinPool((int) numThreads);
+        try {
+            long start = System.currentTimeMillis();
+            GRAPH.findMinimumSpanningTree(Graph.MstAlgorithm.PARALLEL_BORUVKA, pool);
+            return System.currentTimeMillis() - start;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Graph<Integer, GridEdge> makeGrid() {
+        Random rand = new Random(0);
+        int numVertices = GRID_WIDTH * GRID_WIDTH;
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<GridEdge> edges = new ArrayList<>(2 * numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v % GRID_WIDTH != GRID_WIDTH - 1) {
+                edges.add(new GridEdge(v, v + 1, rand.nextDouble()));
+            }
+            if (v + GRID_WIDTH < numVertices) {
+                edges.add(new GridEdge(v, v + GRID_WIDTH, rand.nextDouble()));
+            }
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private static class GridEdge implements Edge<Integer>, Comparable<GridEdge> {
+        private final int vertex1;
+        private final int vertex2;
+        private final double weight;
+
+        public GridEdge(int vertex1, int vertex2, double weight) {
+            this.vertex1 = vertex1;
+            this.vertex2 = vertex2;
+            this.weight = weight;
+        }
+
+        @Override
+        public Integer getVertex1() {
+            return this.vertex1;
+        }
+
+        @Override
+        public Integer getVertex2() {
+            return this.vertex2;
+        }
+
+        @Override
+        public double getWeight() {
+            return this.weight;
+        }
+
+        @Override
+        public int compareTo(GridEdge other) {
+            return Double.compare(this.weight, other.weight);
+        }
+    }
+}
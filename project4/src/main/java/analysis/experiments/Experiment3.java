@@ -0,0 +1,130 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ArrayList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import misc.exceptions.NoPathExistsException;
+import misc.graphs.Edge;
+import misc.graphs.Graph;
+
+import java.util.Random;
+
+/**
+ * Measures how long point-to-point shortest path queries take with each of the
+ * three path algorithms, as the maze-like graph grows.
+ *
+ * The graph is a grid of width by width rooms a unit apart, where every room is
+ * joined to its right and lower neighbours; a random fifth of those walls are
+ * left out, as in a carved maze. Each test answers NUM_QUERIES random queries
+ * on a graph whose path cache is turned off, and returns the time taken in
+ * milliseconds. Building the graph is not timed.
+ */
+public class Experiment3 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_WIDTH = 500;
+    public static final long STEP = 100;
+    public static final int NUM_QUERIES = 20;
+
+    public static void main(String[] args) {
+        ILongList widths = AnalysisUtils.makeLongList(STEP, MAX_WIDTH + 1, STEP);
+
+        System.out.println("Starting experiment 3");
+        ILongList test1Results = AnalysisUtils.runTrials(widths, Experiment3::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(widths, Experiment3::test2, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(widths, Experiment3::test3, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("GridWidth", widths);
+        writer.addColumn("DijkstraMillis", test1Results);
+        writer.addColumn("BidirectionalDijkstraMillis", test2Results);
+        writer.addColumn("AStarMillis", test3Results);
+        writer.writeToFile("experimentdata/experiment3.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long width) {
+        return runQueries((int) width, Graph.PathAlgorithm.DIJKSTRA);
+    }
+
+    public static long test2(long width) {
+        return runQueries((int) width, Graph.PathAlgorithm.BIDIRECTIONAL_DIJKSTRA);
+    }
+
+    public static long test3(long width) {
+        return runQueries((int) width, Graph.PathAlgorithm.A_STAR);
+    }
+
+    private static long runQueries(int width, Graph.PathAlgorithm algorithm) {
+        Graph<Integer, GridEdge> graph = makeGrid(width);
+        graph.setPathCacheCapacity(0);
+        // the straight-line distance between grid positions
+        Graph.Heuristic<Integer> heuristic = (from, to) ->
+                Math.hypot(from % width - to % width, from / width - to / width);
+        // every test asks the same queries
+        Random rand = new Random(1);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            int from = rand.nextInt(width * width);
+            int to = rand.nextInt(width * width);
+            try {
+                graph.findShortestPathBetween(from, to, algorithm, heuristic);
+            } catch (NoPathExistsException ex) {
+                // Unreachable rooms cost a full search either way: nothing to record.
+            }
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static Graph<Integer, GridEdge> makeGrid(int width) {
+        Random rand = new Random(0);
+        int numVertices = width * width;
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<GridEdge> edges = new ArrayList<>(2 * numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v % width != width - 1 && rand.nextInt(5) != 0) {
+                edges.add(new GridEdge(v, v + 1));
+            }
+            if (v + width < numVertices && rand.nextInt(5) != 0) {
+                edges.add(new GridEdge(v, v + width));
+            }
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private static class GridEdge implements Edge<Integer>, Comparable<GridEdge> {
+        private final int vertex1;
+        private final int vertex2;
+
+        public GridEdge(int vertex1, int vertex2) {
+            this.vertex1 = vertex1;
+            this.vertex2 = vertex2;
+        }
+
+        @Override
+        public Integer getVertex1() {
+            return this.vertex1;
+        }
+
+        @Override
+        public Integer getVertex2() {
+            return this.vertex2;
+        }
+
+        @Override
+        public double getWeight() {
+            // neighbouring rooms are a unit apart
+            return 1.0;
+        }
+
+        @Override
+        public int compareTo(GridEdge other) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.ArrayList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ILongList;
+import misc.graphs.Edge;
+import misc.graphs.Graph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how parallel delta-stepping scales with the number of threads in its
+ * fork-join pool, against sequential Dijkstra, on two sizes of graph.
+ *
+ * Each graph is a grid of width by width rooms, where every room is joined to its
+ * right and lower neighbours by a randomly weighted wall. The graphs are built
+ * once, and their path caches are turned off: only the single-source shortest
+ * path computations from room 0 are timed. Each test returns the time taken in
+ * milliseconds.
+ */
+public class Experiment4 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_THREADS = 8;
+    public static final int SMALL_WIDTH = 300;
+    public static final int LARGE_WIDTH = 600;
+
+    private static final Graph<Integer, GridEdge> SMALL_GRAPH = makeGrid(SMALL_WIDTH);
+    private static final Graph<Integer, GridEdge> LARGE_GRAPH = makeGrid(LARGE_WIDTH);
+
+    public static void main(String[] args) {
+        ILongList threadCounts = AnalysisUtils.makeLongList(1L, MAX_THREADS + 1, 1L);
+
+        System.out.println("Starting experiment 4");
+        ILongList test1Results = AnalysisUtils.runTrials(threadCounts, Experiment4::test1, NUM_TRIALS);
+        ILongList test2Results = AnalysisUtils.runTrials(threadCounts, Experiment4::test2, NUM_TRIALS);
+        ILongList test3Results = AnalysisUtils.runTrials(threadCounts, Experiment4::test3, NUM_TRIALS);
+        ILongList test4Results = AnalysisUtils.runTrials(threadCounts, Experiment4::test4, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("NumThreads", threadCounts);
+        writer.addColumn("SmallDijkstraMillis", test1Results);
+        writer.addColumn("SmallDeltaSteppingMillis", test2Results);
+        writer.addColumn("LargeDijkstraMillis", test3Results);
+        writer.addColumn("LargeDeltaSteppingMillis", test4Results);
+        writer.writeToFile("experimentdata/experiment4.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long numThreads) {
+        return runDijkstra(SMALL_GRAPH);
+    }
+
+    public static long test2(long numThreads) {
+        return runDeltaStepping(SMALL_GRAPH, (int) numThreads);
+    }
+
+    public static long test3(long numThreads) {
+        return runDijkstra(LARGE_GRAPH);
+    }
+
+    public static long test4(long numThreads) {
+        return runDeltaStepping(LARGE_GRAPH, (int) numThreads);
+    }
+
+    private static long runDijkstra(Graph<Integer, GridEdge> graph) {
+        // Dijkstra is sequential: numThreads is ignored, so this is the baseline.
+        long start = System.currentTimeMillis();
+        graph.shortestPathTree(0);
+        return System.currentTimeMillis() - start;
+    }
+
+    private static long runDeltaStepping(Graph<Integer, GridEdge> graph, int numThreads) {
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            long start = System.currentTimeMillis();
+            // weights are below 1 and the average degree is about 4
+            graph.parallelShortestPathTree(0, 0.25, pool);
+            return System.currentTimeMillis() - start;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Graph<Integer, GridEdge> makeGrid(int width) {
+        Random rand = new Random(0);
+        int numVertices = width * width;
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<GridEdge> edges = new ArrayList<>(2 * numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v % width != width - 1) {
+                edges.add(new GridEdge(v, v + 1, rand.nextDouble()));
+            }
+            if (v + width < numVertices) {
+                edges.add(new GridEdge(v, v + width, rand.nextDouble()));
+            }
+        }
+        Graph<Integer, GridEdge> graph = new Graph<>(vertices, edges);
+        graph.setPathCacheCapacity(0);
+        return graph;
+    }
+
+    private static class GridEdge implements Edge<Integer>, Comparable<GridEdge> {
+        private final int vertex1;
+        private final int vertex2;
+        private final double weight;
+
+        public GridEdge(int vertex1, int vertex2, double weight) {
+            this.vertex1 = vertex1;
+            this.vertex2 = vertex2;
+            this.weight = weight;
+        }
+
+        @Override
+        public Integer getVertex1() {
+            return this.vertex1;
+        }
+
+        @Override
+        public Integer getVertex2() {
+            return this.vertex2;
+        }
+
+        @Override
+        public double getWeight() {
+            return this.weight;
+        }
+
+        @Override
+        public int compareTo(GridEdge other) {
+            return Double.compare(this.weight, other.weight);
+        }
+    }
+}
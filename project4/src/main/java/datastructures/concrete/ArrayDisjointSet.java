@@ -1,12 +1,15 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
 import datastructures.interfaces.IDisjointSet;
-import datastructures.interfaces.ISet;
-import java.util.Random;
+import datastructures.interfaces.IObjIntDictionary;
 
 /**
+ * A disjoint set over arbitrary items, stored as a forest in an int array.
+ *
+ * Each item is mapped to an index once, in makeSet; after that, findSet and union
+ * use the same allocation-free path halving and union by rank as IntDisjointSet.
+ *
  * See IDisjointSet for more details.
  */
 public class ArrayDisjointSet<T> implements IDisjointSet<T> {
@@ -14,9 +17,8 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     // directly within our private tests.
     private int[] pointers;
     private int currentIndex;
-    private IDictionary<T, Integer> objects;
+    private IObjIntDictionary<T> objects;
     public static final int CAPACITY = 5;
-    private Random rand;
 
 
     // However, feel free to add more methods and private helper methods.
@@ -26,8 +28,7 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     public ArrayDisjointSet() {
         this.currentIndex = 0;
         this.pointers = new int[CAPACITY];
-        this.objects = new ChainedHashDictionary<>();
-        this.rand = new Random();
+        this.objects = new ProbingObjIntDictionary<>();
     }
 
     @Override
@@ -43,21 +44,11 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
 
     @Override
     public int findSet(T item) {
-        if (!this.objects.containsKey(item)) {
+        int index = this.objects.getOrDefault(item, -1);
+        if (index < 0) {
             throw new IllegalArgumentException();
         }
-        int index = this.objects.get(item);
-        int nextIndex = this.pointers[index];
-        ISet<Integer> traversedNodes = new ChainedHashSet<>();
-        while (nextIndex >= 0) {
-            traversedNodes.add(index);
-            index = nextIndex;
-            nextIndex = this.pointers[index];
-        }
-        for (int traversed : traversedNodes) {
-            this.pointers[traversed] = index;
-        }
-        return index;
+        return IntDisjointSet.findRoot(this.pointers, index);
     }
 
     @Override
@@ -67,26 +58,9 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
         if (index1 == index2) {
             throw new IllegalArgumentException();
         }
-        int rank1 = this.pointers[index1];
-        int rank2 = this.pointers[index2];
-        int root = -1;
-        if (rank1 == rank2) {
-            root = rand.nextInt(2);
-        }
-        if (root == 0 || rank1 < rank2) { // since all neg, if rank 1 < rank 2 -> rank 1 > rank 2
-            this.pointers[index2] = index1; // point 2 to 1
-            if (root != -1) {
-                this.pointers[index1]--; // decrease rank by 1
-            }
-        } else {
-            this.pointers[index1] = index2;
-            if (root != -1) {
-                this.pointers[index2]--;
-            }
-        }
-        
+        IntDisjointSet.link(this.pointers, index1, index2);
     }
-    
+
     private void checkCapacity() {
         if (this.currentIndex == this.pointers.length) {
             int[] newPointer = new int[(this.pointers.length * 2)];
@@ -0,0 +1,167 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IIntDisjointSet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint set over integer handles that may be shared between threads.
+ *
+ * The forest lives in one AtomicIntegerArray, where a root points at itself:
+ *
+ * - findSet uses path splitting: each node on the way up is CASed to point at its
+ *   grandparent. A failed CAS just means another thread already shortened the path.
+ * - union finds both roots and CASes one to point at the other; if that root stopped
+ *   being a root in the meantime, it starts over (Anderson and Woll's scheme).
+ *
+ * Instead of ranks, roots are linked by a fixed pseudo-random priority derived from
+ * their handle, so the link needs only one CAS and trees stay shallow in expectation.
+ *
+ * Because other threads may be merging sets at the same time, the id returned by
+ * findSet can be out of date as soon as it is returned. Use connected or tryUnion
+ * when the answer has to be exact.
+ *
+ * The capacity is fixed when the set is created. See IIntDisjointSet for more details.
+ */
+public class AtomicIntDisjointSet implements IIntDisjointSet {
+    private final AtomicIntegerArray parents;
+    private final AtomicInteger size;
+
+    /**
+     * Creates an empty disjoint set that can hold up to 'capacity' handles.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public AtomicIntDisjointSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parents = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.parents.set(i, i);
+        }
+        this.size = new AtomicInteger(0);
+    }
+
+    /**
+     * @throws IllegalStateException  if the set is already at capacity
+     */
+    @Override
+    public int makeSet() {
+        while (true) {
+            int handle = this.size.get();
+            if (handle == this.parents.length()) {
+                throw new IllegalStateException("disjoint set is full");
+            }
+            if (this.size.compareAndSet(handle, handle + 1)) {
+                return handle;
+            }
+        }
+    }
+
+    @Override
+    public int findSet(int handle) {
+        this.checkHandle(handle);
+        return this.findRoot(handle);
+    }
+
+    @Override
+    public void union(int handle1, int handle2) {
+        if (!this.tryUnion(handle1, handle2)) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Combines the sets containing the two given handles, and returns 'true', or
+     * returns 'false' if they are already part of the same set.
+     *
+     * When several threads race to join the same two sets, exactly one of them
+     * gets 'true'.
+     *
+     * @throws IllegalArgumentException  if either handle was not returned by makeSet
+     */
+    public boolean tryUnion(int handle1, int handle2) {
+        this.checkHandle(handle1);
+        this.checkHandle(handle2);
+        while (true) {
+            int root1 = this.findRoot(handle1);
+            int root2 = this.findRoot(handle2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (priority(root1) > priority(root2)) {
+                int temp = root1;
+                root1 = root2;
+                root2 = temp;
+            }
+            // Only succeeds if root1 is still a root.
+            if (this.parents.compareAndSet(root1, root1, root2)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns 'true' if the two handles are currently part of the same set.
+     *
+     * @throws IllegalArgumentException  if either handle was not returned by makeSet
+     */
+    public boolean connected(int handle1, int handle2) {
+        this.checkHandle(handle1);
+        this.checkHandle(handle2);
+        while (true) {
+            int root1 = this.findRoot(handle1);
+            int root2 = this.findRoot(handle2);
+            if (root1 == root2) {
+                return true;
+            }
+            // If root1 is still a root, the two were in different sets at the
+            // moment we found root2. Otherwise a union got in between: retry.
+            if (this.parents.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Returns the maximum number of handles this set can hold.
+     */
+    public int capacity() {
+        return this.parents.length();
+    }
+
+    private int findRoot(int index) {
+        while (true) {
+            int parent = this.parents.get(index);
+            if (parent == index) {
+                return index;
+            }
+            int grandparent = this.parents.get(parent);
+            if (grandparent != parent) {
+                this.parents.compareAndSet(index, parent, grandparent);
+            }
+            index = parent;
+        }
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= this.size.get()) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Multiplying by an odd constant is a bijection on ints, so no two handles
+     * share a priority.
+     */
+    private static int priority(int handle) {
+        return handle * 0x9E3779B9;
+    }
+}
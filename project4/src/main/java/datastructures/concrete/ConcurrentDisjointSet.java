@@ -0,0 +1,93 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.interfaces.IConcurrentDictionary;
+import datastructures.interfaces.IDisjointSet;
+
+/**
+ * A disjoint set over arbitrary items that may be shared between threads.
+ *
+ * Each item is given a handle in an AtomicIntDisjointSet when it is added; findSet and
+ * union then just look the handles up and forward to it, so they never block. See
+ * AtomicIntDisjointSet for what "concurrent" means for each operation.
+ *
+ * The capacity is fixed when the set is created. See IDisjointSet for more details.
+ */
+public class ConcurrentDisjointSet<T> implements IDisjointSet<T> {
+    // Stands in for the handle of an item while the thread adding it gets one.
+    private static final Integer PENDING = -1;
+
+    private final AtomicIntDisjointSet sets;
+    private final IConcurrentDictionary<T, Integer> handles;
+
+    /**
+     * Creates an empty disjoint set that can hold up to 'capacity' items.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public ConcurrentDisjointSet(int capacity) {
+        this.sets = new AtomicIntDisjointSet(capacity);
+        this.handles = new ConcurrentChainedHashDictionary<>();
+    }
+
+    /**
+     * @throws IllegalStateException  if the set is already at capacity
+     */
+    @Override
+    public void makeSet(T item) {
+        if (this.handles.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        // The item is claimed before it gets a handle, so a thread that loses the race
+        // to add it never uses up any capacity.
+        if (!this.handles.putIfAbsent(item, PENDING)) {
+            throw new IllegalArgumentException();
+        }
+        int handle;
+        try {
+            handle = this.sets.makeSet();
+        } catch (IllegalStateException ex) {
+            this.handles.compute(item, (key, value) -> null);
+            throw ex;
+        }
+        this.handles.put(item, handle);
+    }
+
+    @Override
+    public int findSet(T item) {
+        return this.sets.findSet(this.handleOf(item));
+    }
+
+    @Override
+    public void union(T item1, T item2) {
+        this.sets.union(this.handleOf(item1), this.handleOf(item2));
+    }
+
+    /**
+     * Combines the sets containing the two given items, and returns 'true', or
+     * returns 'false' if they are already part of the same set.
+     *
+     * @throws IllegalArgumentException  if either item is not contained inside this disjoint set
+     */
+    public boolean tryUnion(T item1, T item2) {
+        return this.sets.tryUnion(this.handleOf(item1), this.handleOf(item2));
+    }
+
+    /**
+     * Returns 'true' if the two items are currently part of the same set.
+     *
+     * @throws IllegalArgumentException  if either item is not contained inside this disjoint set
+     */
+    public boolean connected(T item1, T item2) {
+        return this.sets.connected(this.handleOf(item1), this.handleOf(item2));
+    }
+
+    private int handleOf(T item) {
+        Integer handle = this.handles.getOrDefault(item, null);
+        // an item still being added is not contained yet
+        if (handle == null || handle.equals(PENDING)) {
+            throw new IllegalArgumentException();
+        }
+        return handle;
+    }
+}
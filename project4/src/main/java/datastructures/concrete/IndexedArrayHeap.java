@@ -0,0 +1,224 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IObjIntDictionary;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A d-ary array heap (4-ary by default) that also records the array index of every element, so that
+ * elements can be looked up, removed, or re-positioned in O(log n) time.
+ *
+ * See IIndexedPriorityQueue for details on what each method must do.
+ */
+public class IndexedArrayHeap<T extends Comparable<T>> implements IIndexedPriorityQueue<T> {
+    public static final int DEFAULT_NUM_CHILDREN = 4;
+    public static final int CAPACITY = 10;
+
+    // Invariant: for every i < heapSize, positions.getInt(heap[i]) == i, and
+    // positions contains nothing else.
+    private T[] heap;
+    private int heapSize;
+    private IObjIntDictionary<T> positions;
+    private final int numChildren;
+
+    public IndexedArrayHeap() {
+        this(DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates an empty heap in which every node has up to 'numChildren' children.
+     *
+     * @throws IllegalArgumentException  if numChildren is less than 2
+     */
+    public IndexedArrayHeap(int numChildren) {
+        if (numChildren < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.numChildren = numChildren;
+        this.heap = makeArrayOfT(CAPACITY);
+        this.heapSize = 0;
+        this.positions = new ProbingObjIntDictionary<>();
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Comparable[size]);
+    }
+
+    @Override
+    public T removeMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        T min = this.heap[0];
+        this.removeAt(0);
+        return min;
+    }
+
+    @Override
+    public T peekMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.heap[0];
+    }
+
+    @Override
+    public void insert(T item) {
+        if (item == null || this.positions.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        this.ensureCapacity(this.heapSize + 1);
+        this.heapSize++;
+        this.place(item, this.heapSize - 1);
+        this.percolateUp(this.heapSize - 1);
+    }
+
+    /**
+     * Inserts every item in the given list, growing the array at most once.
+     *
+     * If the list is at least as big as the heap, the items are appended and the
+     * heap is rebuilt bottom-up in O(n) time; otherwise they are inserted one by one.
+     *
+     * @throws IllegalArgumentException  if any of the items is null or already in the
+     *                                   heap; in the O(n) case the heap is left unchanged
+     */
+    @Override
+    public void insertAll(IList<T> items) {
+        this.ensureCapacity(this.heapSize + items.size());
+        if (items.size() < this.heapSize) {
+            for (T item : items) {
+                this.insert(item);
+            }
+            return;
+        }
+        int oldSize = this.heapSize;
+        for (T item : items) {
+            if (item == null || this.positions.containsKey(item)) {
+                while (this.heapSize > oldSize) {
+                    this.heapSize--;
+                    this.positions.remove(this.heap[this.heapSize]);
+                    this.heap[this.heapSize] = null;
+                }
+                throw new IllegalArgumentException();
+            }
+            this.place(item, this.heapSize);
+            this.heapSize++;
+        }
+        if (this.heapSize > 1) {
+            for (int i = (this.heapSize - 2) / this.numChildren; i >= 0; i--) {
+                this.percolateDown(i);
+            }
+        }
+    }
+
+    @Override
+    public void remove(T item) {
+        this.removeAt(this.indexOf(item));
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && this.positions.containsKey(item);
+    }
+
+    @Override
+    public void decreaseKey(T item) {
+        this.percolateUp(this.indexOf(item));
+    }
+
+    @Override
+    public void increaseKey(T item) {
+        this.percolateDown(this.indexOf(item));
+    }
+
+    @Override
+    public int size() {
+        return this.heapSize;
+    }
+
+    private int indexOf(T item) {
+        int index = item == null ? -1 : this.positions.getOrDefault(item, -1);
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return index;
+    }
+
+    /**
+     * Removes the element at the given index by moving the last element into its
+     * place, then restoring the heap property in whichever direction is needed.
+     */
+    private void removeAt(int index) {
+        this.positions.remove(this.heap[index]);
+        this.heapSize--;
+        T last = this.heap[this.heapSize];
+        this.heap[this.heapSize] = null;
+        if (index < this.heapSize) {
+            this.place(last, index);
+            this.percolateDown(index);
+            this.percolateUp(index);
+        }
+    }
+
+    private void percolateUp(int index) {
+        T item = this.heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) / this.numChildren;
+            T parent = this.heap[parentIndex];
+            if (parent.compareTo(item) <= 0) {
+                break;
+            }
+            this.place(parent, index);
+            index = parentIndex;
+        }
+        this.place(item, index);
+    }
+
+    private void percolateDown(int index) {
+        T item = this.heap[index];
+        while (true) {
+            int firstChild = this.numChildren * index + 1;
+            if (firstChild >= this.heapSize) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + this.numChildren, this.heapSize);
+            int smallestChild = firstChild;
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (this.heap[i].compareTo(this.heap[smallestChild]) < 0) {
+                    smallestChild = i;
+                }
+            }
+            if (this.heap[smallestChild].compareTo(item) >= 0) {
+                break;
+            }
+            this.place(this.heap[smallestChild], index);
+            index = smallestChild;
+        }
+        this.place(item, index);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.heap.length) {
+            T[] newArray = makeArrayOfT(Math.max(minCapacity, 2 * this.heap.length));
+            System.arraycopy(this.heap, 0, newArray, 0, this.heapSize);
+            this.heap = newArray;
+        }
+    }
+
+    /**
+     * Stores the item at the given index and records its new position.
+     */
+    private void place(T item, int index) {
+        this.heap[index] = item;
+        this.positions.put(item, index);
+    }
+}
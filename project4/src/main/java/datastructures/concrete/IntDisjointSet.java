@@ -0,0 +1,111 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IIntDisjointSet;
+
+/**
+ * An array-backed disjoint set over integer handles.
+ *
+ * Every operation works directly on one int array and allocates nothing (apart from
+ * occasionally growing the array in makeSet):
+ *
+ * - findSet uses iterative path halving: every node visited is re-pointed at its
+ *   grandparent, which flattens the tree as well as full path compression does
+ *   without needing to remember the path.
+ * - union is by rank, and always keeps the first set's root when the ranks tie, so
+ *   the resulting ids are deterministic.
+ *
+ * See IIntDisjointSet for more details.
+ */
+public class IntDisjointSet implements IIntDisjointSet {
+    public static final int CAPACITY = 16;
+
+    // pointers[i] is i's parent, or, if i is a root, -(rank + 1).
+    private int[] pointers;
+    private int size;
+
+    public IntDisjointSet() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an empty disjoint set with room for 'initialCapacity' handles before it
+     * needs to grow.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public IntDisjointSet(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.pointers = new int[initialCapacity];
+        this.size = 0;
+    }
+
+    @Override
+    public int makeSet() {
+        if (this.size == this.pointers.length) {
+            int[] newPointers = new int[Math.max(CAPACITY, 2 * this.pointers.length)];
+            System.arraycopy(this.pointers, 0, newPointers, 0, this.size);
+            this.pointers = newPointers;
+        }
+        this.pointers[this.size] = -1;
+        this.size++;
+        return this.size - 1;
+    }
+
+    @Override
+    public int findSet(int handle) {
+        if (handle < 0 || handle >= this.size) {
+            throw new IllegalArgumentException();
+        }
+        return findRoot(this.pointers, handle);
+    }
+
+    @Override
+    public void union(int handle1, int handle2) {
+        int root1 = this.findSet(handle1);
+        int root2 = this.findSet(handle2);
+        if (root1 == root2) {
+            throw new IllegalArgumentException();
+        }
+        link(this.pointers, root1, root2);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the root of the tree containing 'index', halving the path on the way.
+     *
+     * Shared with ArrayDisjointSet, which stores its forest in the same format.
+     */
+    static int findRoot(int[] pointers, int index) {
+        while (pointers[index] >= 0) {
+            int parent = pointers[index];
+            int grandparent = pointers[parent];
+            if (grandparent < 0) {
+                return parent;
+            }
+            pointers[index] = grandparent;
+            index = grandparent;
+        }
+        return index;
+    }
+
+    /**
+     * Joins two distinct roots by rank. On a tie, root1 stays the root.
+     */
+    static void link(int[] pointers, int root1, int root2) {
+        // Ranks are stored negated, so the more negative value is the taller tree.
+        if (pointers[root1] > pointers[root2]) {
+            pointers[root1] = root2;
+        } else {
+            if (pointers[root1] == pointers[root2]) {
+                pointers[root1]--;
+            }
+            pointers[root2] = root1;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IIntDoublePriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A d-ary array heap (4-ary by default) of int ids with double priorities, which
+ * records the array index of every id so its priority can be lowered in O(log n).
+ *
+ * Everything is stored in three primitive arrays, sized once at construction, so
+ * no operation allocates.
+ *
+ * See IIntDoublePriorityQueue for details on what each method must do.
+ */
+public class IntDoubleHeap implements IIntDoublePriorityQueue {
+    public static final int DEFAULT_NUM_CHILDREN = 4;
+
+    // Invariant: for every i < heapSize, positions[ids[i]] == i, and priorities[i]
+    // is the priority of ids[i]. positions[id] is -1 for every id not in the heap.
+    private final int[] ids;
+    private final double[] priorities;
+    private final int[] positions;
+    private int heapSize;
+    private final int numChildren;
+
+    /**
+     * Creates an empty heap that accepts ids in [0, capacity).
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public IntDoubleHeap(int capacity) {
+        this(capacity, DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates an empty heap that accepts ids in [0, capacity), in which every node
+     * has up to 'numChildren' children.
+     *
+     * @throws IllegalArgumentException  if capacity is negative or numChildren is less than 2
+     */
+    public IntDoubleHeap(int capacity, int numChildren) {
+        if (capacity < 0 || numChildren < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.numChildren = numChildren;
+        this.ids = new int[capacity];
+        this.priorities = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+        this.heapSize = 0;
+    }
+
+    @Override
+    public int removeMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        int min = this.ids[0];
+        this.positions[min] = -1;
+        this.heapSize--;
+        if (this.heapSize > 0) {
+            this.percolateDown(0, this.ids[this.heapSize], this.priorities[this.heapSize]);
+        }
+        return min;
+    }
+
+    @Override
+    public int peekMin() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.ids[0];
+    }
+
+    @Override
+    public double peekMinPriority() {
+        if (this.isEmpty()) {
+            throw new EmptyContainerException();
+        }
+        return this.priorities[0];
+    }
+
+    @Override
+    public void insert(int id, double priority) {
+        if (id < 0 || id >= this.positions.length || this.positions[id] >= 0 || Double.isNaN(priority)) {
+            throw new IllegalArgumentException();
+        }
+        this.heapSize++;
+        this.percolateUp(this.heapSize - 1, id, priority);
+    }
+
+    /**
+     * Appends the ids after the ones already in the heap, then restores the heap
+     * bottom-up (Floyd's method): each parent, from the last one back to the root,
+     * is percolated down. Most nodes are near the bottom and move only a level or
+     * two, so this takes O(n) time, where inserting one at a time takes O(n log n).
+     */
+    @Override
+    public void insertAll(int[] ids, double[] priorities) {
+        if (ids.length != priorities.length || ids.length > this.positions.length - this.heapSize) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id < 0 || id >= this.positions.length || this.positions[id] >= 0
+                    || Double.isNaN(priorities[i])) {
+                // undo the ids placed so far, so the heap is left as it was
+                for (int j = 0; j < i; j++) {
+                    this.positions[ids[j]] = -1;
+                }
+                throw new IllegalArgumentException();
+            }
+            this.place(this.heapSize + i, id, priorities[i]);
+        }
+        this.heapSize += ids.length;
+        if (this.heapSize > 1) {
+            int lastParent = (this.heapSize - 2) / this.numChildren;
+            for (int index = lastParent; index >= 0; index--) {
+                this.percolateDown(index, this.ids[index], this.priorities[index]);
+            }
+        }
+    }
+
+    @Override
+    public void decreasePriority(int id, double priority) {
+        if (!this.contains(id)) {
+            throw new NoSuchElementException();
+        }
+        int index = this.positions[id];
+        if (Double.isNaN(priority) || priority > this.priorities[index]) {
+            throw new IllegalArgumentException();
+        }
+        this.percolateUp(index, id, priority);
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return id >= 0 && id < this.positions.length && this.positions[id] >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.heapSize;
+    }
+
+    /**
+     * Moves the hole at 'index' up until 'id' can be placed in it.
+     */
+    private void percolateUp(int index, int id, double priority) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / this.numChildren;
+            if (this.priorities[parentIndex] <= priority) {
+                break;
+            }
+            this.place(index, this.ids[parentIndex], this.priorities[parentIndex]);
+            index = parentIndex;
+        }
+        this.place(index, id, priority);
+    }
+
+    /**
+     * Moves the hole at 'index' down until 'id' can be placed in it.
+     */
+    private void percolateDown(int index, int id, double priority) {
+        while (true) {
+            int firstChild = this.numChildren * index + 1;
+            if (firstChild >= this.heapSize) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + this.numChildren, this.heapSize);
+            int smallestChild = firstChild;
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (this.priorities[i] < this.priorities[smallestChild]) {
+                    smallestChild = i;
+                }
+            }
+            if (this.priorities[smallestChild] >= priority) {
+                break;
+            }
+            this.place(index, this.ids[smallestChild], this.priorities[smallestChild]);
+            index = smallestChild;
+        }
+        this.place(index, id, priority);
+    }
+
+    private void place(int index, int id, double priority) {
+        this.ids[index] = id;
+        this.priorities[index] = priority;
+        this.positions[id] = index;
+    }
+}
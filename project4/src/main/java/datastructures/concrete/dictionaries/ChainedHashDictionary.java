@@ -3,11 +3,13 @@ package datastructures.concrete.dictionaries;
 import datastructures.concrete.KVPair;
 //import datastructures.concrete.dictionaries.ArrayDictionary.Pair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 //import misc.exceptions.NotYetImplementedException;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * See the spec and IDictionary for more details on what each method should do
@@ -20,11 +22,36 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     // You're encouraged to add extra fields (and helper methods) though!
     private int size;
     public static final int CAPACITY = 5;
-    
-    
+
+    // The maximum number of old buckets moved into the new table per operation
+    // while an incremental resize is in progress.
+    public static final int MIGRATION_STEP = 4;
+
+    // Incremental resizing state. When 'incrementalResize' is set, growing the table
+    // does not rehash everything at once. Instead, the old table is kept around in
+    // 'oldChains' and each subsequent operation moves a few of its buckets into
+    // 'chains'. Every bucket of 'oldChains' below 'migrateIndex' is null (already
+    // moved). While 'oldChains' is non-null, a key may live in either table, but
+    // never in both.
+    private boolean incrementalResize;
+    private IDictionary<K, V>[] oldChains;
+    private int migrateIndex;
+
     public ChainedHashDictionary() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new dictionary. If 'incrementalResize' is true, the cost of growing
+     * the table is spread across later operations instead of being paid all at once
+     * by the put that triggers it, which bounds the worst-case latency of put.
+     */
+    public ChainedHashDictionary(boolean incrementalResize) {
         this.chains = makeArrayOfChains(CAPACITY);
         this.size = 0;
+        this.incrementalResize = incrementalResize;
+        this.oldChains = null;
+        this.migrateIndex = 0;
     }
 
     /**
@@ -43,44 +70,45 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
     @Override
     public V get(K key) {
-        if (!this.containsKey(key)) {
+        this.migrateSome();
+        IDictionary<K, V> chain = this.findChain(key);
+        if (chain == null) {
             throw new NoSuchKeyException();
         }
-        int code = this.getCode(key);
-        return this.chains[code].get(key);       
+        return chain.get(key);
     }
     
     @Override
     public void put(K key, V value) {
         checkSize();
-        int code = this.getCode(key);
-        if (this.chains[code] == null) {
-            this.chains[code] = new ArrayDictionary<K, V>();
-        } 
-        if (!this.containsKey(key)) {
+        this.migrateSome();
+        IDictionary<K, V> chain = this.findChain(key);
+        if (chain == null) {
+            int code = this.getCode(key);
+            if (this.chains[code] == null) {
+                this.chains[code] = new ArrayDictionary<K, V>();
+            }
+            chain = this.chains[code];
             this.size++;
         }
-        this.chains[code].put(key, value);
+        chain.put(key, value);
     }
 
     @Override
     public V remove(K key) {
-        if (!this.containsKey(key)) {
+        this.migrateSome();
+        IDictionary<K, V> chain = this.findChain(key);
+        if (chain == null) {
             throw new NoSuchKeyException();
         }
-        int code = this.getCode(key);
         this.size--;
-        return this.chains[code].remove(key);
+        return chain.remove(key);
     }
 
     @Override
     public boolean containsKey(K key) { 
-        int code = this.getCode(key);
-        if (this.chains[code] == null) {
-            return false;
-        }
-        
-        return this.chains[code].containsKey(key);
+        this.migrateSome();
+        return this.findChain(key) != null;
     }
 
     @Override
@@ -90,12 +118,40 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
     @Override
     public Iterator<KVPair<K, V>> iterator() {
-        // Note: you do not need to change this method
+        // Iterating visits every bucket anyway, so finishing a pending resize
+        // first does not change the cost of a full iteration.
+        this.finishMigration();
         return new ChainedIterator<>(this.chains, this.size);
     }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        this.finishMigration();
+        for (IDictionary<K, V> chain : this.chains) {
+            if (chain != null) {
+                chain.forEach(action);
+            }
+        }
+    }
+
+    @Override
+    public IDictionaryCursor<K, V> cursor() {
+        this.finishMigration();
+        return new ChainedCursor<>(this.chains);
+    }
     
     private void checkSize() { // checks if load factor is greater than 1
-        if (1.0 * this.size / this.chains.length > 1) {
+        if (1.0 * this.size / this.chains.length <= 1) {
+            return;
+        }
+        if (this.incrementalResize) {
+            // A new resize can only start once the previous one has finished.
+            // MIGRATION_STEP is large enough that this is normally already the case.
+            this.finishMigration();
+            this.oldChains = this.chains;
+            this.chains = makeArrayOfChains(2 * this.size);
+            this.migrateIndex = 0;
+        } else {
             IDictionary<K, V>[] newChain = makeArrayOfChains(2 * this.size);
             Iterator<KVPair<K, V>> iter = this.iterator();
             while (iter.hasNext()) {
@@ -114,12 +170,76 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
             this.chains = newChain;
         }
     }
+
+    /**
+     * Moves up to MIGRATION_STEP buckets from the old table into the new one, if an
+     * incremental resize is in progress.
+     */
+    private void migrateSome() {
+        if (this.oldChains == null) {
+            return;
+        }
+        int end = Math.min(this.migrateIndex + MIGRATION_STEP, this.oldChains.length);
+        for (; this.migrateIndex < end; this.migrateIndex++) {
+            this.migrateBucket(this.migrateIndex);
+        }
+        if (this.migrateIndex == this.oldChains.length) {
+            this.oldChains = null;
+        }
+    }
+
+    private void finishMigration() {
+        if (this.oldChains == null) {
+            return;
+        }
+        for (; this.migrateIndex < this.oldChains.length; this.migrateIndex++) {
+            this.migrateBucket(this.migrateIndex);
+        }
+        this.oldChains = null;
+    }
+
+    private void migrateBucket(int index) {
+        IDictionary<K, V> oldChain = this.oldChains[index];
+        if (oldChain == null) {
+            return;
+        }
+        for (KVPair<K, V> pair : oldChain) {
+            int code = this.getCode(pair.getKey());
+            if (this.chains[code] == null) {
+                this.chains[code] = new ArrayDictionary<K, V>();
+            }
+            this.chains[code].put(pair.getKey(), pair.getValue());
+        }
+        this.oldChains[index] = null;
+    }
+
+    /**
+     * Returns the chain currently holding the given key, or null if the key is not
+     * in the dictionary.
+     */
+    private IDictionary<K, V> findChain(K key) {
+        IDictionary<K, V> chain = this.chains[this.getCode(key)];
+        if (chain != null && chain.containsKey(key)) {
+            return chain;
+        }
+        if (this.oldChains != null) {
+            chain = this.oldChains[getCode(key, this.oldChains.length)];
+            if (chain != null && chain.containsKey(key)) {
+                return chain;
+            }
+        }
+        return null;
+    }
     
     private int getCode(K key) {
+        return getCode(key, this.chains.length);
+    }
+
+    private static int getCode(Object key, int length) {
         if (key == null) {
             return 0;
         }
-        return Math.abs(key.hashCode() % this.chains.length);
+        return Math.abs(key.hashCode() % length);
     }
 
     /**
@@ -168,6 +288,66 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      * 2. You **MAY** call the `.iterator()` method on each IDictionary
      *    instance inside your 'chains' array, however.
      */
+    private static class ChainedCursor<K, V> implements IDictionaryCursor<K, V> {
+        private IDictionary<K, V>[] chains;
+        private int chainIndex;
+        // One bucket cursor, reset as we move from bucket to bucket. This relies on
+        // every chain being an ArrayDictionary, which is all this class ever creates.
+        private ArrayDictionary.Cursor<K, V> inner;
+        private boolean positioned;
+
+        public ChainedCursor(IDictionary<K, V>[] chains) {
+            this.chains = chains;
+            this.chainIndex = -1;
+            this.inner = new ArrayDictionary.Cursor<>();
+            this.positioned = false;
+        }
+
+        @Override
+        public boolean advance() {
+            if (this.positioned && this.inner.advance()) {
+                return true;
+            }
+            this.positioned = false;
+            while (this.chainIndex + 1 < this.chains.length) {
+                this.chainIndex++;
+                IDictionary<K, V> chain = this.chains[this.chainIndex];
+                if (chain != null) {
+                    this.inner.reset((ArrayDictionary<K, V>) chain);
+                    if (this.inner.advance()) {
+                        this.positioned = true;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public K key() {
+            this.checkPositioned();
+            return this.inner.key();
+        }
+
+        @Override
+        public V value() {
+            this.checkPositioned();
+            return this.inner.value();
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.checkPositioned();
+            this.inner.setValue(value);
+        }
+
+        private void checkPositioned() {
+            if (!this.positioned) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
     private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
         private IDictionary<K, V>[] chains;
         private int chainIndex;
@@ -0,0 +1,48 @@
+package datastructures.interfaces;
+
+import java.util.function.BiFunction;
+
+/**
+ * Represents an IDictionary that may be safely shared between multiple threads.
+ *
+ * Every individual method call is atomic. In addition to the regular IDictionary
+ * operations, this interface provides a few compound operations that read and
+ * update a key in a single atomic step, since calling containsKey/get/put one after
+ * the other is racy when other threads are modifying the dictionary.
+ *
+ * Iterators are weakly consistent: they never throw because of concurrent
+ * modification, and they reflect every key-value pair that was present when the
+ * iterator was created and not removed since. They may or may not reflect changes
+ * made after that point.
+ */
+public interface IConcurrentDictionary<K, V> extends IDictionary<K, V> {
+    /**
+     * Adds the key-value pair to the dictionary if the key is not already present.
+     *
+     * Returns 'true' if the pair was added, and 'false' if the key already existed
+     * (in which case the dictionary is not modified).
+     */
+    public boolean putIfAbsent(K key, V value);
+
+    /**
+     * Atomically replaces the value corresponding to the given key with
+     * remapping.apply(key, oldValue), where oldValue is null if the key is absent.
+     *
+     * If the function returns null, the key is removed from the dictionary (or stays
+     * absent). Returns the new value.
+     *
+     * The function must be short and must not modify this dictionary.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping);
+
+    /**
+     * If the key is absent, adds it with the given value. Otherwise, atomically
+     * replaces the current value with remapping.apply(oldValue, value).
+     *
+     * If the function returns null, the key is removed from the dictionary. Returns
+     * the new value.
+     *
+     * The function must be short and must not modify this dictionary.
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping);
+}
@@ -0,0 +1,56 @@
+package datastructures.interfaces;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a priority queue that keeps track of where each of its elements is,
+ * so that an element already in the queue can be found, removed, or moved after
+ * its priority changes, all in O(log n) time.
+ *
+ * The elements themselves act as handles: an element is located using its equals
+ * and hashCode methods. This means every element in the queue must be distinct, and
+ * an element's equals and hashCode must not depend on its priority (using the
+ * default, identity-based versions is fine).
+ *
+ * To change an element's priority, mutate the element and then immediately call
+ * decreaseKey or increaseKey so the queue can restore its ordering.
+ */
+public interface IIndexedPriorityQueue<T extends Comparable<T>> extends IPriorityQueue<T> {
+    /**
+     * Inserts the given item into the queue.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     * @throws IllegalArgumentException  if the item is already in the queue
+     */
+    @Override
+    void insert(T item);
+
+    /**
+     * Removes the given item from the queue.
+     *
+     * @throws NoSuchElementException  if the given item is not in the queue
+     */
+    @Override
+    void remove(T item);
+
+    /**
+     * Returns 'true' if the given item is currently in the queue, and 'false' otherwise.
+     */
+    boolean contains(T item);
+
+    /**
+     * Moves the given item towards the front of the queue. Call this after making
+     * the item compare as *smaller* than it did before.
+     *
+     * @throws NoSuchElementException  if the given item is not in the queue
+     */
+    void decreaseKey(T item);
+
+    /**
+     * Moves the given item towards the back of the queue. Call this after making
+     * the item compare as *larger* than it did before.
+     *
+     * @throws NoSuchElementException  if the given item is not in the queue
+     */
+    void increaseKey(T item);
+}
@@ -0,0 +1,34 @@
+package datastructures.interfaces;
+
+/**
+ * A disjoint set over integer handles rather than arbitrary items.
+ *
+ * Each call to makeSet hands out the next unused handle (0, 1, 2, ...), so clients
+ * that already number their items can skip hashing them on every lookup.
+ */
+public interface IIntDisjointSet {
+    /**
+     * Creates a new set containing just a fresh element, and returns that element's handle.
+     */
+    public int makeSet();
+
+    /**
+     * Returns the integer id (the 'representative') of the set containing the given handle.
+     *
+     * @throws IllegalArgumentException  if the handle was not returned by makeSet
+     */
+    public int findSet(int handle);
+
+    /**
+     * Combines the sets containing the two given handles.
+     *
+     * @throws IllegalArgumentException  if either handle was not returned by makeSet
+     * @throws IllegalArgumentException  if the two handles are already part of the same set
+     */
+    public void union(int handle1, int handle2);
+
+    /**
+     * Returns the number of handles created so far.
+     */
+    public int size();
+}
@@ -0,0 +1,84 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a queue of integer ids, each paired with a priority of type double,
+ * where the front id is always the one with the *smallest* priority.
+ *
+ * The ids must lie in a fixed range [0, capacity), and each id may be in the queue at
+ * most once. In exchange, ids are never boxed or hashed, and the priority of an id
+ * already in the queue can be lowered in place.
+ */
+public interface IIntDoublePriorityQueue {
+    /**
+     * Removes and returns the id with the smallest priority.
+     *
+     * If several ids share the smallest priority, this method may break the tie
+     * arbitrarily and return any one of them.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int removeMin();
+
+    /**
+     * Returns, but does not remove, the id with the smallest priority.
+     *
+     * This method must break ties in the same way the removeMin method breaks ties.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    int peekMin();
+
+    /**
+     * Returns the priority of the id peekMin would return.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    double peekMinPriority();
+
+    /**
+     * Inserts the given id with the given priority.
+     *
+     * @throws IllegalArgumentException  if the id is out of range or already in the queue
+     * @throws IllegalArgumentException  if the priority is NaN
+     */
+    void insert(int id, double priority);
+
+    /**
+     * Inserts every ids[i] with priority priorities[i]. Either all of them are
+     * inserted, or, if any one cannot be, none are.
+     *
+     * @throws IllegalArgumentException  if the two arrays differ in length
+     * @throws IllegalArgumentException  if any id is out of range, already in the queue, or given twice
+     * @throws IllegalArgumentException  if any priority is NaN
+     */
+    void insertAll(int[] ids, double[] priorities);
+
+    /**
+     * Lowers the priority of an id that is already in the queue.
+     *
+     * @throws NoSuchElementException  if the id is not in the queue
+     * @throws IllegalArgumentException  if the new priority is NaN or bigger than the current one
+     */
+    void decreasePriority(int id, double priority);
+
+    /**
+     * Returns 'true' if the given id is currently in the queue.
+     */
+    boolean contains(int id);
+
+    /**
+     * Returns the number of ids contained within this queue.
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this queue is empty, and false otherwise.
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
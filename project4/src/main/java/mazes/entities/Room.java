@@ -1,8 +1,18 @@
 package mazes.entities;
 
+import misc.graphs.Graph;
+
 import java.awt.*;
 
 public class Room {
+    /**
+     * Estimates the length of a path between two rooms as the straight-line distance
+     * between their centers. Walls are weighted by that same distance (see Wall),
+     * so this never overestimates, and can guide an A* search.
+     */
+    public static final Graph.Heuristic<Room> STRAIGHT_LINE_DISTANCE =
+            (from, to) -> from.center.distance(to.center);
+
     private Point center;
     private Polygon polygon;
 
@@ -1,6 +1,5 @@
 package mazes.gui;
 
-import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
@@ -28,6 +27,8 @@ public class OptionsPanel extends JPanel {
 
     private Maze originalMaze;
     private Maze currentMaze;
+    // Built on the first solve of each maze, then reused by later solves.
+    private Graph<Room, Wall> currentGraph;
 
     private Room start;
     private Room end;
@@ -110,6 +111,7 @@ public class OptionsPanel extends JPanel {
         Rectangle bound = drawer.getBoundingBox();
         this.originalMaze = generator.generateBaseMaze(bound);
         this.currentMaze = carver.generateMaze(this.originalMaze);
+        this.currentGraph = null;
 
         this.start = this.currentMaze.getRoom(new Point(bound.x + 5, bound.y + 5));
         this.end = this.currentMaze.getRoom(new Point(bound.x + bound.width - 5, bound.y + bound.height - 5));
@@ -120,11 +122,24 @@ public class OptionsPanel extends JPanel {
     }
 
     private void drawShortestPath(ActionEvent event) {
-        Graph<Room, Wall> graph = new Graph<>(
-                this.originalMaze.getRooms(),
-                this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()));
+        if (this.currentGraph == null) {
+            // The walls carved out of the original maze are the open passages.
+            ISet<Room> rooms = this.originalMaze.getRooms();
+            ISet<Wall> walls = this.originalMaze.getWalls();
+            ISet<Wall> remainingWalls = this.currentMaze.getWalls();
+            Graph.Builder<Room, Wall> builder = new Graph.Builder<Room, Wall>(
+                    rooms.size(), Math.max(0, walls.size() - remainingWalls.size()))
+                    .addVertices(rooms.iterator());
+            for (Wall wall : walls) {
+                if (!remainingWalls.contains(wall)) {
+                    builder.addEdge(wall);
+                }
+            }
+            this.currentGraph = builder.build();
+        }
         try {
-            IList<Wall> path = graph.findShortestPathBetween(this.start, this.end);
+            IList<Wall> path = this.currentGraph.findShortestPathBetween(
+                    this.start, this.end, Graph.PathAlgorithm.A_STAR, Room.STRAIGHT_LINE_DISTANCE);
             this.drawer.drawPath(path);
         } catch (NoPathExistsException ex) {
             JOptionPane.showMessageDialog(
@@ -133,16 +148,6 @@ public class OptionsPanel extends JPanel {
         }
     }
 
-    private <T> ISet<T> subtract(ISet<T> bigger, ISet<T> smaller) {
-        ISet<T> output = new ChainedHashSet<>();
-        for (T item : bigger) {
-            if (!smaller.contains(item)) {
-                output.add(item);
-            }
-        }
-        return output;
-    }
-
     private void add(JComponent component, int x, int y, int anchor, int fill, double weightX) {
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(5, 5, 5, 5);
@@ -0,0 +1,102 @@
+package misc;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * Keeps the 'k' biggest elements seen so far out of a stream of elements of any length.
+ *
+ * The collector stores at most 'k' elements in a min-heap whose root is the smallest
+ * element currently kept, so every new element only has to beat that one to get in.
+ * Processing 'n' elements takes O(n log k) time and O(k) memory, and most elements
+ * are rejected by a single comparison once the collector is full.
+ *
+ * Collectors that saw different parts of the same input can be merged, which lets
+ * each partition be processed on its own thread.
+ */
+public class TopKCollector<T extends Comparable<T>> {
+    private final int k;
+    private final IPriorityQueue<T> heap;
+
+    /**
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public TopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.k = k;
+        this.heap = new ArrayHeap<>();
+    }
+
+    /**
+     * Offers the given item to the collector, and returns 'true' if it is now one of
+     * the 'k' biggest items seen so far.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     */
+    public boolean add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (this.heap.size() < this.k) {
+            this.heap.insert(item);
+            return true;
+        }
+        if (this.k == 0 || item.compareTo(this.heap.peekMin()) <= 0) {
+            return false;
+        }
+        this.heap.replaceMin(item);
+        return true;
+    }
+
+    /**
+     * Adds every item the other collector has kept to this one, emptying the other
+     * collector. Returns this collector.
+     */
+    public TopKCollector<T> merge(TopKCollector<T> other) {
+        while (!other.heap.isEmpty()) {
+            this.add(other.heap.removeMin());
+        }
+        return this;
+    }
+
+    /**
+     * Returns 'true' if the collector already holds 'k' items, so that any new item
+     * must beat the one returned by peekMin to be kept.
+     */
+    public boolean isFull() {
+        return this.heap.size() >= this.k;
+    }
+
+    /**
+     * Returns the smallest item currently kept.
+     *
+     * @throws EmptyContainerException  if the collector holds no items
+     */
+    public T peekMin() {
+        return this.heap.peekMin();
+    }
+
+    /**
+     * Returns the number of items currently kept (never more than 'k').
+     */
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Removes every item kept and returns them in ascending order, leaving the
+     * collector empty.
+     */
+    public IList<T> drain() {
+        IList<T> output = new DoubleLinkedList<>();
+        while (!this.heap.isEmpty()) {
+            output.add(this.heap.removeMin());
+        }
+        return output;
+    }
+}
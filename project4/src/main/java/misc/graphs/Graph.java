@@ -1,18 +1,25 @@
 package misc.graphs;
 
-import datastructures.concrete.ArrayDisjointSet;
-import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.ArrayList;
+import datastructures.concrete.AtomicIntDisjointSet;
 import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.DoubleLinkedList;
-import datastructures.concrete.KVPair;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IDisjointSet;
+import datastructures.concrete.IntDisjointSet;
+import datastructures.concrete.IntDoubleHeap;
+import datastructures.concrete.dictionaries.ProbingObjIntDictionary;
+import datastructures.interfaces.IIntDisjointSet;
+import datastructures.interfaces.IIntDoublePriorityQueue;
 import datastructures.interfaces.IList;
-import datastructures.interfaces.IPriorityQueue;
+import datastructures.interfaces.IObjIntDictionary;
 import datastructures.interfaces.ISet;
 import misc.exceptions.NoPathExistsException;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  * Represents an undirected, weighted graph, possibly containing self-loops, parallel edges,
  * and unconnected components.
@@ -59,45 +66,137 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
     // Working with generics is really not the focus of this class, so if you
     // get stuck, let us know we'll try and help you get unstuck as best as we can.
 
+    // The number of vertices the graph was given, counting any duplicates.
+    private int vertexCount;
+
+    // The graph is stored in compressed sparse row (CSR) form over dense ids: vertex
+    // ids are 0 to numIds - 1 in order of first appearance in 'vertices', and edge
+    // ids are indices into 'edges'. The neighbours of vertex v sit in slots
+    // offsets[v] to offsets[v + 1] - 1 of the three slot arrays: the id of the
+    // neighbour, the id of the edge leading to it, and that edge's weight.
+    private IObjIntDictionary<V> vertexIds;
+    private Object[] vertexById;
+    private Object[] edgeById;
+    private int[] edgeEndpoint1;
+    private int[] edgeEndpoint2;
+    private double[] edgeWeights;
+    private int[] offsets;
+    private int[] targets;
+    private int[] slotEdges;
+    private double[] slotWeights;
+
+    // Shortest path trees are keyed by the id of their start vertex.
+    public static final int DEFAULT_PATH_CACHE_CAPACITY = 4;
+    private TreeCache<ShortestPathTree<V, E>> pathCache = new TreeCache<>(DEFAULT_PATH_CACHE_CAPACITY);
+
+    // Limits for when findDistanceMatrix picks Floyd-Warshall (see MatrixAlgorithm.AUTO).
+    public static final int FLOYD_WARSHALL_MAX_VERTICES = 1000;
+    public static final int FLOYD_WARSHALL_SPEEDUP = 4;
+
     /**
      * Constructs a new graph based on the given vertices and edges.
      *
+     * This takes O(V + E) time: vertices are looked up by hash, not by scanning the list.
+     *
      * @throws IllegalArgumentException  if any of the edges have a negative weight
      * @throws IllegalArgumentException  if one of the edges connects to a vertex not
      *                                   present in the 'vertices' list
      */
-        private IList<V> vertices;
-        private IList<E> edges;
-        private IDictionary<V, ISet<E>> theList;
-        
     public Graph(IList<V> vertices, IList<E> edges) {
-        this.vertices = vertices;
-        this.edges = edges;
-        this.theList = new ChainedHashDictionary<>(); // or should it be ChainedHashDictionary?
+        this.vertexCount = vertices.size();
+
+        this.vertexIds = new ProbingObjIntDictionary<>(vertices.size());
+        for (V vertex : vertices) {
+            if (!this.vertexIds.containsKey(vertex)) {
+                this.vertexIds.put(vertex, this.vertexIds.size());
+            }
+        }
+        int numIds = this.vertexIds.size();
+        this.vertexById = new Object[numIds];
+        for (V vertex : this.vertexIds) {
+            this.vertexById[this.vertexIds.getInt(vertex)] = vertex;
+        }
+
+        int numEdges = edges.size();
+        this.edgeById = new Object[numEdges];
+        this.edgeEndpoint1 = new int[numEdges];
+        this.edgeEndpoint2 = new int[numEdges];
+        this.edgeWeights = new double[numEdges];
+        // Count each vertex's degree into offsets[v + 1]...
+        this.offsets = new int[numIds + 1];
+        int edgeId = 0;
         for (E edge : edges) {
-            if (edge.getWeight() < 0 || !vertices.contains(edge.getVertex1()) || 
-                                        !vertices.contains(edge.getVertex2())) {
+            int id1 = this.vertexIds.getOrDefault(edge.getVertex1(), -1);
+            int id2 = this.vertexIds.getOrDefault(edge.getVertex2(), -1);
+            if (edge.getWeight() < 0 || id1 < 0 || id2 < 0) {
                 throw new IllegalArgumentException();
             }
-            if (!theList.containsKey(edge.getVertex1())) {
-                ISet<E> theSet = new ChainedHashSet<>();
-                theSet.add(edge);
-                theList.put(edge.getVertex1(), theSet);
-            } else {
-                ISet<E> addSet = theList.get(edge.getVertex1());
-                addSet.add(edge);
-                theList.put(edge.getVertex1(), addSet);
-            }
-            if (!theList.containsKey(edge.getVertex2())) { 
-                ISet<E> theSet = new ChainedHashSet<>();
-                theSet.add(edge);
-                theList.put(edge.getVertex2(), theSet);
-            } else {
-                ISet<E> addSet = theList.get(edge.getVertex2());
-                addSet.add(edge);
-                theList.put(edge.getVertex2(), addSet);
-            }
+            this.edgeById[edgeId] = edge;
+            this.edgeEndpoint1[edgeId] = id1;
+            this.edgeEndpoint2[edgeId] = id2;
+            this.edgeWeights[edgeId] = edge.getWeight();
+            this.offsets[id1 + 1]++;
+            this.offsets[id2 + 1]++;
+            edgeId++;
         }
+        this.buildAdjacency();
+    }
+
+    /**
+     * Freezes the builder's vertices and edges into a graph, taking over its arrays.
+     */
+    private Graph(Builder<V, E> builder) {
+        int numIds = builder.vertexIds.size();
+        int numEdges = builder.numEdges;
+        this.vertexCount = numIds;
+        this.vertexIds = builder.vertexIds;
+        // arrays are only copied if the size hints were too big
+        this.vertexById = trim(builder.vertexById, numIds);
+        this.edgeById = trim(builder.edgeById, numEdges);
+        this.edgeEndpoint1 = builder.edgeEndpoint1.length == numEdges
+                ? builder.edgeEndpoint1 : Arrays.copyOf(builder.edgeEndpoint1, numEdges);
+        this.edgeEndpoint2 = builder.edgeEndpoint2.length == numEdges
+                ? builder.edgeEndpoint2 : Arrays.copyOf(builder.edgeEndpoint2, numEdges);
+        this.edgeWeights = builder.edgeWeights.length == numEdges
+                ? builder.edgeWeights : Arrays.copyOf(builder.edgeWeights, numEdges);
+        this.offsets = builder.degrees.length == numIds + 1
+                ? builder.degrees : Arrays.copyOf(builder.degrees, numIds + 1);
+        this.buildAdjacency();
+    }
+
+    private static Object[] trim(Object[] array, int size) {
+        return array.length == size ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Fills in the adjacency arrays, given the edge arrays, and each vertex's degree
+     * in offsets[v + 1].
+     */
+    private void buildAdjacency() {
+        int numIds = this.vertexById.length;
+        int numEdges = this.edgeById.length;
+        // Turn the degrees into starting slots...
+        for (int v = 0; v < numIds; v++) {
+            this.offsets[v + 1] += this.offsets[v];
+        }
+
+        // ...then fill in the slots.
+        this.targets = new int[2 * numEdges];
+        this.slotEdges = new int[2 * numEdges];
+        this.slotWeights = new double[2 * numEdges];
+        int[] nextSlot = Arrays.copyOf(this.offsets, numIds);
+        for (int e = 0; e < numEdges; e++) {
+            this.addSlot(nextSlot, this.edgeEndpoint1[e], this.edgeEndpoint2[e], e);
+            this.addSlot(nextSlot, this.edgeEndpoint2[e], this.edgeEndpoint1[e], e);
+        }
+    }
+
+    private void addSlot(int[] nextSlot, int from, int to, int edgeId) {
+        int slot = nextSlot[from];
+        this.targets[slot] = to;
+        this.slotEdges[slot] = edgeId;
+        this.slotWeights[slot] = this.edgeWeights[edgeId];
+        nextSlot[from]++;
     }
 
     /**
@@ -106,32 +205,24 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * convenient.
      */
     public Graph(ISet<V> vertices, ISet<E> edges) {
-        // You do not need to modify this method.
-        this(setToList(vertices), setToList(edges));
-    }
-
-    // You shouldn't need to call this helper method -- it only needs to be used
-    // in the constructor above.
-    private static <T> IList<T> setToList(ISet<T> set) {
-        IList<T> output = new DoubleLinkedList<>();
-        for (T item : set) {
-            output.add(item);
-        }
-        return output;
+        // The sets are streamed straight into a builder, without copying them to lists.
+        this(new Builder<V, E>(vertices.size(), edges.size())
+                .addVertices(vertices.iterator())
+                .addEdges(edges.iterator()));
     }
 
     /**
      * Returns the number of vertices contained within this graph.
      */
     public int numVertices() {
-        return this.vertices.size();
+        return this.vertexCount;
     }
 
     /**
      * Returns the number of edges contained within this graph.
      */
     public int numEdges() {
-        return this.edges.size();
+        return this.edgeById.length;
     }
 
     /**
@@ -143,29 +234,84 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * Precondition: the graph does not contain any unconnected components.
      */
     public ISet<E> findMinimumSpanningTree() {
-        ISet<E> mst = new ChainedHashSet<>();
-        IDisjointSet<V> setOfVertices = new ArrayDisjointSet<>();
-        IPriorityQueue<E> heap = new ArrayHeap<>();
-        IList<E> sortedEdges = new DoubleLinkedList<>();
-        for (V vertex : this.vertices) {
-           setOfVertices.makeSet(vertex);
+        return this.findMinimumSpanningTree(MstAlgorithm.KRUSKAL);
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, computed with the given algorithm.
+     *
+     * Parallel algorithms run on the common fork-join pool.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTree(MstAlgorithm algorithm) {
+        return this.findMinimumSpanningTree(algorithm, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, computed with the given algorithm. Parallel algorithms run
+     * their work on the given pool.
+     *
+     * Every algorithm returns a tree of the same total weight, though they may
+     * pick different edges when several edges have equal weights.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTree(MstAlgorithm algorithm, ForkJoinPool pool) {
+        if (algorithm == MstAlgorithm.PARALLEL_BORUVKA) {
+            return new BoruvkaMst<>(this, pool).run();
         }
-        // sort edges
-        for (E edge : edges) {
-            heap.insert(edge);
+        return this.findKruskalMinimumSpanningTree();
+    }
+
+    /**
+     * The algorithms findMinimumSpanningTree can use.
+     */
+    public enum MstAlgorithm {
+        /**
+         * Sorts every edge by weight, then adds them in order with a disjoint set.
+         * Sequential.
+         */
+        KRUSKAL,
+
+        /**
+         * Runs Boruvka's algorithm: in every round, each component picks its cheapest
+         * outgoing edge, and all of those edges are added at once. The edges are
+         * split between the threads of a fork-join pool, and components are merged
+         * with a lock-free disjoint set. Needs O(log V) rounds.
+         */
+        PARALLEL_BORUVKA
+    }
+
+    private ISet<E> findKruskalMinimumSpanningTree() {
+        ISet<E> mst = new ChainedHashSet<>();
+        int numIds = this.vertexIds.size();
+        IIntDisjointSet setOfVertices = new IntDisjointSet(numIds);
+        for (int v = 0; v < numIds; v++) {
+            setOfVertices.makeSet();
         }
-        for (int i = 0; i < edges.size(); i++) {
-            sortedEdges.add(heap.removeMin());
+        // sort edges: a heap of edge ids keyed by weight, so nothing is hashed or boxed,
+        // built bottom-up in O(E), so only the edges actually taken cost O(log E)
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(this.edgeById.length);
+        int[] edgeIds = new int[this.edgeById.length];
+        for (int e = 0; e < edgeIds.length; e++) {
+            edgeIds[e] = e;
         }
-        for (E edge : sortedEdges) {
-            if (setOfVertices.findSet(edge.getVertex1()) != setOfVertices.findSet(edge.getVertex2())) {
-                setOfVertices.union(edge.getVertex1(), edge.getVertex2());
-                mst.add(edge);
+        heap.insertAll(edgeIds, this.edgeWeights);
+        while (!heap.isEmpty() && mst.size() < numIds - 1) {
+            int e = heap.removeMin();
+            int root1 = setOfVertices.findSet(this.edgeEndpoint1[e]);
+            int root2 = setOfVertices.findSet(this.edgeEndpoint2[e]);
+            if (root1 != root2) {
+                setOfVertices.union(root1, root2);
+                mst.add(this.edgeAt(e));
             }
         }
         return mst;
     }
-    
+
     /**
      * def kruskal():
            mst = new SomeSet<Edge>()
@@ -215,135 +361,1318 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
         
      */
     public IList<E> findShortestPathBetween(V start, V end) {
-        // throw exceptions (taken care of by adjacency list
-        if (!theList.containsKey(start) || !theList.containsKey(end)) {
+        if (!this.vertexIds.containsKey(start) || !this.vertexIds.containsKey(end)) {
             throw new NoPathExistsException();
         }
-        // double linked list output
-        IList<E> shortestPath = new DoubleLinkedList<>();
-        // stores vertex to the subclass object as hash dictionary
-        IDictionary<V, MyCoolSubclass<V>> allVertices = new ChainedHashDictionary<>();
-        
-        // puts costs of all vertices to positive infinity
-        for (V vertex : this.vertices) {
-            allVertices.put(vertex, new MyCoolSubclass<>(vertex, Double.POSITIVE_INFINITY));
-        }
-        // creates new min heap 
-        ArrayHeap<MyCoolSubclass<V>> minHeap = new ArrayHeap<>();
-        // redeclares the start vertex cost of object to 0.0
-        allVertices.put(start, new MyCoolSubclass<>(start, 0.0));
-        // puts everything in the dictionary (all vertices as subclass) in arrayheap
-        for (KVPair<V, Graph<V, E>.MyCoolSubclass<V>> vertex : allVertices) {
-            minHeap.insert(vertex.getValue()); 
-        }
-        // sets starting index / vertex
-        V currentVertex = start;
-        // declares visited set
-        ISet<V> visited = new ChainedHashSet<>();
-        
-        // while loop condition: if current vertex is not at the end (aka didnt find the vertex yet)
-        while (!currentVertex.equals(end)) {
-            // add current vertex to visited (visit the vertex)
-            visited.add(currentVertex);
-            // get all of its neighbors (all E's that current vertex is connected to)
-            ISet<E> neighbors = theList.get(currentVertex);
-            // get current cost of current index
-            double currentCost = allVertices.get(currentVertex).getCost();
-            // for all edges that current vertex is leading to 
-            for (E edge : neighbors) {
-                // get the vertex the current vertex is leading to (one of them)
-                V neighbor = edge.getOtherVertex(currentVertex);
-                // determine the cost of the neighboring vertex (current cost)
-                double costNeighbor = allVertices.get(neighbor).getCost();
-                // compare new cost with the current cost of the vertex
-                if (currentCost + edge.getWeight() < costNeighbor && !visited.contains(neighbor)) {
-                    // update the cost to a lower cost if applicable
-                    allVertices.get(neighbor).setCost(currentCost + edge.getWeight());
-                    // decrease priority with percolate up and (cost is already resetted previously)
-                    minHeap.remove(allVertices.get(neighbor));
-                    // set the previous vertex for the neighbor vertex to the current vertex
-                    allVertices.get(neighbor).setPreVertex(currentVertex);
-                }   
-            } 
-            // call removemin on the array heap
-            MyCoolSubclass<V> min = minHeap.removeMin();
-            // checks if returned vertex has already been visited (continues to call removemin if so)
-            while (visited.contains(min.getVertex()) && min.getCost() < Double.POSITIVE_INFINITY) {
-                min = minHeap.removeMin();
-            }
-            if (min.getCost() == Double.POSITIVE_INFINITY) {
+        return this.shortestPathTree(start).pathTo(end);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * found with the given algorithm. A_STAR uses a heuristic of zero, which makes
+     * it explore exactly like DIJKSTRA; pass a real heuristic with the overload below.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, PathAlgorithm algorithm) {
+        return this.findShortestPathBetween(start, end, algorithm, (from, to) -> 0.0);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * found with the given algorithm. The heuristic is only used by A_STAR.
+     *
+     * Every algorithm returns a path of the same total weight, though they may pick
+     * different paths when several are equally short. If a shortest path tree from
+     * the start is already cached, it is used whatever the algorithm.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     */
+    public IList<E> findShortestPathBetween(V start, V end, PathAlgorithm algorithm,
+                                            Heuristic<? super V> heuristic) {
+        int startId = this.vertexIds.getOrDefault(start, -1);
+        int endId = this.vertexIds.getOrDefault(end, -1);
+        if (startId < 0 || endId < 0) {
+            throw new NoPathExistsException();
+        }
+        ShortestPathTree<V, E> cached = this.pathCache.get(startId);
+        if (cached != null) {
+            return cached.pathTo(end);
+        }
+        if (algorithm == PathAlgorithm.A_STAR) {
+            return this.findAStarPath(startId, endId, heuristic);
+        } else if (algorithm == PathAlgorithm.BIDIRECTIONAL_DIJKSTRA) {
+            return this.findBidirectionalPath(startId, endId);
+        }
+        return this.shortestPathTree(start).pathTo(end);
+    }
+
+    /**
+     * The algorithms findShortestPathBetween can use.
+     */
+    public enum PathAlgorithm {
+        /**
+         * Runs Dijkstra's algorithm over the whole graph, and caches the resulting
+         * shortest path tree for later queries from the same start.
+         */
+        DIJKSTRA,
+
+        /**
+         * Runs Dijkstra's algorithm from both ends at once, stopping once the two
+         * searches meet on a shortest path. Each side only has to explore about
+         * half the distance to the other end.
+         */
+        BIDIRECTIONAL_DIJKSTRA,
+
+        /**
+         * Runs A*: Dijkstra's algorithm, but visiting vertices in order of their cost
+         * plus a heuristic estimate of the remaining distance to the end, so the
+         * search heads towards the end instead of spreading out in every direction.
+         */
+        A_STAR
+    }
+
+    /**
+     * Estimates the total weight of the shortest path between two vertices, to
+     * guide an A* search.
+     *
+     * The estimate must be admissible: never negative, and never more than the true
+     * weight of the shortest path. Otherwise, the path found may not be a shortest one.
+     * On graphs whose vertices have positions, and whose edges are weighted by the
+     * distance between their endpoints, the straight-line distance is such an estimate.
+     */
+    public interface Heuristic<V> {
+        double estimate(V from, V to);
+    }
+
+    /**
+     * Returns the shortest paths from the start to every vertex in the graph, as a
+     * tree that can answer any number of path and cost queries.
+     *
+     * The most recently used trees are cached (see setPathCacheCapacity), so asking
+     * again for the same start, directly or through findShortestPathBetween, does not
+     * rerun Dijkstra's algorithm.
+     *
+     * @throws IllegalArgumentException  if the start is not a vertex of this graph
+     */
+    public ShortestPathTree<V, E> shortestPathTree(V start) {
+        int startId = this.vertexIds.getOrDefault(start, -1);
+        if (startId < 0) {
+            throw new IllegalArgumentException();
+        }
+        ShortestPathTree<V, E> tree = this.pathCache.get(startId);
+        if (tree == null) {
+            tree = this.computeShortestPathTree(start, startId);
+            this.pathCache.put(startId, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Sets how many shortest path trees are kept, evicting the least recently used
+     * ones first. Each tree takes about 12 bytes per vertex. A capacity of 0 turns the
+     * cache off.
+     *
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public void setPathCacheCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.pathCache = new TreeCache<>(capacity);
+    }
+
+    /**
+     * Returns the shortest paths from the start to every vertex in the graph, computed
+     * in parallel on the common fork-join pool by delta-stepping with a default
+     * bucket width (see the overload below).
+     *
+     * @throws IllegalArgumentException  if the start is not a vertex of this graph
+     */
+    public ShortestPathTree<V, E> parallelShortestPathTree(V start) {
+        return this.parallelShortestPathTree(start, this.defaultDelta(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the shortest paths from the start to every vertex in the graph, computed
+     * in parallel on the given pool by delta-stepping.
+     *
+     * Delta-stepping settles vertices in buckets of width 'delta' by distance. All the
+     * vertices in a bucket are relaxed at once, in parallel, so a larger delta means
+     * fewer, bigger parallel steps, at the price of relaxing some edges more than once.
+     * A delta of about the heaviest edge weight over the average degree is a good start;
+     * as delta shrinks towards zero, this does the same work as Dijkstra's algorithm.
+     *
+     * The costs are the same as shortestPathTree's, though the paths may differ when
+     * several are equally short. The result is not cached.
+     *
+     * @throws IllegalArgumentException  if the start is not a vertex of this graph
+     * @throws IllegalArgumentException  if delta is not positive, or is so small that
+     *                                   the heaviest edge spans more than 2^24 buckets
+     */
+    public ShortestPathTree<V, E> parallelShortestPathTree(V start, double delta, ForkJoinPool pool) {
+        int startId = this.vertexIds.getOrDefault(start, -1);
+        if (startId < 0 || !(delta > 0.0)) {
+            throw new IllegalArgumentException();
+        }
+        return new DeltaStepping<>(this, delta, pool).run(start, startId);
+    }
+
+    private double defaultDelta() {
+        double maxWeight = 0.0;
+        for (double weight : this.edgeWeights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        if (maxWeight == 0.0) {
+            return 1.0;
+        }
+        double averageDegree = Math.max(1.0, 2.0 * this.edgeWeights.length / this.vertexIds.size());
+        return maxWeight / averageDegree;
+    }
+
+    /**
+     * Returns the table of shortest path costs from every source to every target:
+     * entry [i][j] is the cost from sources.get(i) to targets.get(j), or positive
+     * infinity if there is no path. The algorithm is chosen by the sizes involved
+     * (see MatrixAlgorithm.AUTO), and runs on the common fork-join pool.
+     *
+     * @throws IllegalArgumentException  if any source or target is not a vertex of this graph
+     */
+    public double[][] findDistanceMatrix(IList<V> sources, IList<V> targets) {
+        return this.findDistanceMatrix(sources, targets, MatrixAlgorithm.AUTO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the table of shortest path costs from every source to every target,
+     * as above, computed with the given algorithm on the given pool.
+     *
+     * @throws IllegalArgumentException  if any source or target is not a vertex of this graph
+     */
+    public double[][] findDistanceMatrix(IList<V> sources, IList<V> targets,
+                                         MatrixAlgorithm algorithm, ForkJoinPool pool) {
+        int[] sourceIds = this.idsOf(sources);
+        int[] targetIds = this.idsOf(targets);
+        if (algorithm == MatrixAlgorithm.AUTO) {
+            algorithm = this.prefersFloydWarshall(sourceIds.length)
+                    ? MatrixAlgorithm.FLOYD_WARSHALL : MatrixAlgorithm.DIJKSTRA_PER_SOURCE;
+        }
+        double[][] matrix = new double[sourceIds.length][];
+        ParallelLoops loops = new ParallelLoops(pool);
+        if (algorithm == MatrixAlgorithm.FLOYD_WARSHALL) {
+            double[][] all = this.findAllPairsCosts(loops);
+            for (int i = 0; i < sourceIds.length; i++) {
+                matrix[i] = new double[targetIds.length];
+                for (int j = 0; j < targetIds.length; j++) {
+                    matrix[i][j] = all[sourceIds[i]][targetIds[j]];
+                }
+            }
+        } else {
+            // every source is a whole search, so each one is worth a chunk of its own
+            int numChunks = loops.numChunks(sourceIds.length, 1);
+            loops.forEachChunk(sourceIds.length, numChunks, (chunk, start, end) -> {
+                for (int i = start; i < end; i++) {
+                    matrix[i] = this.findCostsTo(sourceIds[i], targetIds);
+                }
+            });
+        }
+        return matrix;
+    }
+
+    /**
+     * The algorithms findDistanceMatrix can use.
+     */
+    public enum MatrixAlgorithm {
+        /**
+         * Runs a Dijkstra search from every source, in parallel, each of which stops
+         * once it has reached every target. Best when there are few sources, or the
+         * graph is large or sparse.
+         */
+        DIJKSTRA_PER_SOURCE,
+
+        /**
+         * Runs Floyd-Warshall over the whole graph, in parallel, then reads off the
+         * entries asked for. Takes O(V^3) time and O(V^2) memory however few sources
+         * there are, but its inner loop is tight, so it wins on small, dense graphs
+         * when many of the vertices are sources.
+         */
+        FLOYD_WARSHALL,
+
+        /**
+         * Picks FLOYD_WARSHALL if the graph has at most FLOYD_WARSHALL_MAX_VERTICES
+         * vertices and V^3 is less than the rough cost of the Dijkstra searches,
+         * sources * (E + V) * log2(V), times FLOYD_WARSHALL_SPEEDUP; otherwise
+         * DIJKSTRA_PER_SOURCE.
+         */
+        AUTO
+    }
+
+    private boolean prefersFloydWarshall(int numSources) {
+        long numIds = this.vertexIds.size();
+        if (numIds > FLOYD_WARSHALL_MAX_VERTICES) {
+            return false;
+        }
+        double log = Math.max(1.0, Math.log(numIds) / Math.log(2));
+        double dijkstraCost = numSources * (double) (this.edgeWeights.length + numIds) * log;
+        return numIds * numIds * numIds < FLOYD_WARSHALL_SPEEDUP * dijkstraCost;
+    }
+
+    private int[] idsOf(IList<V> vertices) {
+        int[] ids = new int[vertices.size()];
+        int i = 0;
+        for (V vertex : vertices) {
+            ids[i] = this.vertexIds.getOrDefault(vertex, -1);
+            if (ids[i] < 0) {
+                throw new IllegalArgumentException();
+            }
+            i++;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the costs from the start to each of the targets, running Dijkstra's
+     * algorithm only until every target has been visited.
+     */
+    private double[] findCostsTo(int startId, int[] targetIds) {
+        int numIds = this.vertexIds.size();
+        double[] costs = new double[numIds];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        // how many distinct targets are still to be visited
+        boolean[] isTarget = new boolean[numIds];
+        int targetsLeft = 0;
+        for (int target : targetIds) {
+            if (!isTarget[target]) {
+                isTarget[target] = true;
+                targetsLeft++;
+            }
+        }
+
+        IIntDoublePriorityQueue minHeap = new IntDoubleHeap(numIds);
+        costs[startId] = 0.0;
+        minHeap.insert(startId, 0.0);
+        while (!minHeap.isEmpty() && targetsLeft > 0) {
+            int current = minHeap.removeMin();
+            if (isTarget[current]) {
+                targetsLeft--;
+            }
+            double currentCost = costs[current];
+            for (int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int neighbor = this.targets[slot];
+                double newCost = currentCost + this.slotWeights[slot];
+                if (newCost < costs[neighbor]) {
+                    costs[neighbor] = newCost;
+                    if (minHeap.contains(neighbor)) {
+                        minHeap.decreasePriority(neighbor, newCost);
+                    } else {
+                        minHeap.insert(neighbor, newCost);
+                    }
+                }
+            }
+        }
+
+        double[] row = new double[targetIds.length];
+        for (int j = 0; j < targetIds.length; j++) {
+            row[j] = costs[targetIds[j]];
+        }
+        return row;
+    }
+
+    /**
+     * Returns the cost of the shortest path between every pair of vertex ids, by
+     * Floyd-Warshall. For each intermediate vertex, the rows are updated in parallel:
+     * row 'via' itself never changes in that step, so the rows are independent.
+     */
+    private double[][] findAllPairsCosts(ParallelLoops loops) {
+        int numIds = this.vertexIds.size();
+        double[][] costs = new double[numIds][numIds];
+        for (int v = 0; v < numIds; v++) {
+            Arrays.fill(costs[v], Double.POSITIVE_INFINITY);
+            costs[v][v] = 0.0;
+        }
+        for (int e = 0; e < this.edgeWeights.length; e++) {
+            int id1 = this.edgeEndpoint1[e];
+            int id2 = this.edgeEndpoint2[e];
+            double weight = Math.min(costs[id1][id2], this.edgeWeights[e]);
+            costs[id1][id2] = weight;
+            costs[id2][id1] = weight;
+        }
+        for (int k = 0; k < numIds; k++) {
+            int via = k;
+            double[] viaRow = costs[via];
+            loops.forEachChunk(numIds, loops.numChunks(numIds, 16), (chunk, start, end) -> {
+                for (int i = start; i < end; i++) {
+                    double[] row = costs[i];
+                    double toVia = row[via];
+                    if (toVia == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    for (int j = 0; j < numIds; j++) {
+                        double throughVia = toVia + viaRow[j];
+                        if (throughVia < row[j]) {
+                            row[j] = throughVia;
+                        }
+                    }
+                }
+            });
+        }
+        return costs;
+    }
+
+    private ShortestPathTree<V, E> computeShortestPathTree(V start, int startId) {
+        int numIds = this.vertexIds.size();
+        // cost of the best path found so far to each vertex, and the edge it arrives by
+        double[] costs = new double[numIds];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        int[] previousEdges = new int[numIds];
+        Arrays.fill(previousEdges, -1);
+
+        // only vertices that have been reached are in the heap; a vertex is visited
+        // once it has been removed, and its cost is final from then on
+        IIntDoublePriorityQueue minHeap = new IntDoubleHeap(numIds);
+        costs[startId] = 0.0;
+        minHeap.insert(startId, 0.0);
+        while (!minHeap.isEmpty()) {
+            int current = minHeap.removeMin();
+            double currentCost = costs[current];
+            for (int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int neighbor = this.targets[slot];
+                double newCost = currentCost + this.slotWeights[slot];
+                // visited vertices can never pass this test, since weights are non-negative
+                if (newCost < costs[neighbor]) {
+                    costs[neighbor] = newCost;
+                    previousEdges[neighbor] = this.slotEdges[slot];
+                    if (minHeap.contains(neighbor)) {
+                        minHeap.decreasePriority(neighbor, newCost);
+                    } else {
+                        minHeap.insert(neighbor, newCost);
+                    }
+                }
+            }
+        }
+        return new ShortestPathTree<>(this, start, startId, costs, previousEdges);
+    }
+
+    private IList<E> findAStarPath(int startId, int endId, Heuristic<? super V> heuristic) {
+        int numIds = this.vertexIds.size();
+        @SuppressWarnings("unchecked")
+        V end = (V) this.vertexById[endId];
+        double[] costs = new double[numIds];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        int[] previousEdges = new int[numIds];
+        Arrays.fill(previousEdges, -1);
+        // the heuristic may be expensive, so each vertex's estimate is computed once
+        double[] estimates = new double[numIds];
+        Arrays.fill(estimates, Double.NaN);
+
+        // vertices are keyed by cost plus estimate; unlike in Dijkstra's algorithm, a
+        // removed vertex may be reached more cheaply later if the heuristic is not
+        // consistent, in which case it simply goes back in the heap
+        IIntDoublePriorityQueue minHeap = new IntDoubleHeap(numIds);
+        costs[startId] = 0.0;
+        minHeap.insert(startId, 0.0);
+        while (!minHeap.isEmpty()) {
+            int current = minHeap.removeMin();
+            if (current == endId) {
+                return this.tracePath(previousEdges, startId, endId);
+            }
+            double currentCost = costs[current];
+            for (int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int neighbor = this.targets[slot];
+                double newCost = currentCost + this.slotWeights[slot];
+                if (newCost < costs[neighbor]) {
+                    costs[neighbor] = newCost;
+                    previousEdges[neighbor] = this.slotEdges[slot];
+                    if (Double.isNaN(estimates[neighbor])) {
+                        @SuppressWarnings("unchecked")
+                        V vertex = (V) this.vertexById[neighbor];
+                        estimates[neighbor] = heuristic.estimate(vertex, end);
+                    }
+                    double priority = newCost + estimates[neighbor];
+                    if (minHeap.contains(neighbor)) {
+                        minHeap.decreasePriority(neighbor, priority);
+                    } else {
+                        minHeap.insert(neighbor, priority);
+                    }
+                }
+            }
+        }
+        throw new NoPathExistsException();
+    }
+
+    private IList<E> findBidirectionalPath(int startId, int endId) {
+        int numIds = this.vertexIds.size();
+        // index 0 is the search from the start, index 1 the search from the end
+        double[][] costs = new double[2][numIds];
+        int[][] previousEdges = new int[2][numIds];
+        IIntDoublePriorityQueue[] minHeaps = new IIntDoublePriorityQueue[2];
+        int[] roots = {startId, endId};
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(costs[side], Double.POSITIVE_INFINITY);
+            Arrays.fill(previousEdges[side], -1);
+            minHeaps[side] = new IntDoubleHeap(numIds);
+            costs[side][roots[side]] = 0.0;
+            minHeaps[side].insert(roots[side], 0.0);
+        }
+
+        // the cheapest path seen so far that joins the two searches, and the vertex
+        // where they join
+        double bestCost = startId == endId ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = startId == endId ? startId : -1;
+        while (!minHeaps[0].isEmpty() && !minHeaps[1].isEmpty()) {
+            // any path not seen yet must cost at least this much
+            if (minHeaps[0].peekMinPriority() + minHeaps[1].peekMinPriority() >= bestCost) {
+                break;
+            }
+            int side = minHeaps[0].peekMinPriority() <= minHeaps[1].peekMinPriority() ? 0 : 1;
+            double[] sideCosts = costs[side];
+            double[] otherCosts = costs[1 - side];
+            int current = minHeaps[side].removeMin();
+            double currentCost = sideCosts[current];
+            for (int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int neighbor = this.targets[slot];
+                double newCost = currentCost + this.slotWeights[slot];
+                if (newCost < sideCosts[neighbor]) {
+                    sideCosts[neighbor] = newCost;
+                    previousEdges[side][neighbor] = this.slotEdges[slot];
+                    if (minHeaps[side].contains(neighbor)) {
+                        minHeaps[side].decreasePriority(neighbor, newCost);
+                    } else {
+                        minHeaps[side].insert(neighbor, newCost);
+                    }
+                    if (newCost + otherCosts[neighbor] < bestCost) {
+                        bestCost = newCost + otherCosts[neighbor];
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+        if (meeting < 0) {
+            throw new NoPathExistsException();
+        }
+
+        IList<E> toMeeting = this.tracePath(previousEdges[0], startId, meeting);
+        IList<E> fromMeeting = this.tracePath(previousEdges[1], endId, meeting);
+        IList<E> path = new ArrayList<>(toMeeting.size() + fromMeeting.size());
+        for (E edge : toMeeting) {
+            path.add(edge);
+        }
+        for (int i = fromMeeting.size() - 1; i >= 0; i--) {
+            path.add(fromMeeting.get(i));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the edges on the path from the root to the vertex in a tree of
+     * predecessor edges, in order from the root, in time proportional to its length.
+     */
+    private IList<E> tracePath(int[] previousEdges, int rootId, int vertexId) {
+        int pathLength = 0;
+        for (int v = vertexId; v != rootId; v = this.otherEndpoint(previousEdges[v], v)) {
+            pathLength++;
+        }
+        // walk back from the vertex, filling the path in from its last edge
+        int[] pathEdges = new int[pathLength];
+        int v = vertexId;
+        for (int i = pathLength - 1; i >= 0; i--) {
+            pathEdges[i] = previousEdges[v];
+            v = this.otherEndpoint(pathEdges[i], v);
+        }
+        IList<E> path = new ArrayList<>(pathLength);
+        for (int edgeId : pathEdges) {
+            path.add(this.edgeAt(edgeId));
+        }
+        return path;
+    }
+
+    private int otherEndpoint(int edgeId, int vertexId) {
+        int endpoint1 = this.edgeEndpoint1[edgeId];
+        return endpoint1 == vertexId ? this.edgeEndpoint2[edgeId] : endpoint1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E edgeAt(int edgeId) {
+        return (E) this.edgeById[edgeId];
+    }
+
+    /**
+     * Builds a graph one vertex and one edge at a time, for when the vertices and
+     * edges are produced as a stream (from a generator, an iterator, or a file)
+     * rather than stored in lists.
+     *
+     * Every edge is checked as it is added, in O(1) time, and packed straight into
+     * the arrays the graph is made of: build() hands those arrays over, so the
+     * builder never holds a second copy of the graph.
+     */
+    public static class Builder<V, E extends Edge<V> & Comparable<E>> {
+        private IObjIntDictionary<V> vertexIds;
+        private Object[] vertexById;
+        // The degree of vertex v is in degrees[v + 1], as the graph's offsets expect.
+        private int[] degrees;
+        private Object[] edgeById;
+        private int[] edgeEndpoint1;
+        private int[] edgeEndpoint2;
+        private double[] edgeWeights;
+        private int numEdges;
+        private boolean built;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder() {
+            this(16, 16);
+        }
+
+        /**
+         * Creates an empty builder, sized to hold the expected number of vertices and
+         * edges without resizing. These are only hints: more may be added.
+         *
+         * @throws IllegalArgumentException  if either hint is negative
+         */
+        public Builder(int expectedVertices, int expectedEdges) {
+            if (expectedVertices < 0 || expectedEdges < 0) {
+                throw new IllegalArgumentException();
+            }
+            this.vertexIds = new ProbingObjIntDictionary<>(expectedVertices);
+            this.vertexById = new Object[expectedVertices];
+            this.degrees = new int[expectedVertices + 1];
+            this.edgeById = new Object[expectedEdges];
+            this.edgeEndpoint1 = new int[expectedEdges];
+            this.edgeEndpoint2 = new int[expectedEdges];
+            this.edgeWeights = new double[expectedEdges];
+            this.numEdges = 0;
+            this.built = false;
+        }
+
+        /**
+         * Adds the vertex to the graph, unless it has already been added.
+         *
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public Builder<V, E> addVertex(V vertex) {
+            this.checkNotBuilt();
+            if (!this.vertexIds.containsKey(vertex)) {
+                int id = this.vertexIds.size();
+                if (id == this.vertexById.length) {
+                    int newCapacity = Math.max(16, 2 * id);
+                    this.vertexById = Arrays.copyOf(this.vertexById, newCapacity);
+                    this.degrees = Arrays.copyOf(this.degrees, newCapacity + 1);
+                }
+                this.vertexIds.put(vertex, id);
+                this.vertexById[id] = vertex;
+            }
+            return this;
+        }
+
+        /**
+         * Adds every remaining vertex of the iterator, as addVertex does.
+         *
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public Builder<V, E> addVertices(Iterator<? extends V> vertices) {
+            while (vertices.hasNext()) {
+                this.addVertex(vertices.next());
+            }
+            return this;
+        }
+
+        /**
+         * Adds the edge to the graph. Both of its vertices must have been added already.
+         *
+         * @throws IllegalArgumentException  if the edge has a negative weight
+         * @throws IllegalArgumentException  if the edge connects to a vertex not yet added
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public Builder<V, E> addEdge(E edge) {
+            this.checkNotBuilt();
+            int id1 = this.vertexIds.getOrDefault(edge.getVertex1(), -1);
+            int id2 = this.vertexIds.getOrDefault(edge.getVertex2(), -1);
+            if (edge.getWeight() < 0 || id1 < 0 || id2 < 0) {
+                throw new IllegalArgumentException();
+            }
+            int edgeId = this.numEdges;
+            if (edgeId == this.edgeById.length) {
+                int newCapacity = Math.max(16, 2 * edgeId);
+                this.edgeById = Arrays.copyOf(this.edgeById, newCapacity);
+                this.edgeEndpoint1 = Arrays.copyOf(this.edgeEndpoint1, newCapacity);
+                this.edgeEndpoint2 = Arrays.copyOf(this.edgeEndpoint2, newCapacity);
+                this.edgeWeights = Arrays.copyOf(this.edgeWeights, newCapacity);
+            }
+            this.edgeById[edgeId] = edge;
+            this.edgeEndpoint1[edgeId] = id1;
+            this.edgeEndpoint2[edgeId] = id2;
+            this.edgeWeights[edgeId] = edge.getWeight();
+            this.degrees[id1 + 1]++;
+            this.degrees[id2 + 1]++;
+            this.numEdges++;
+            return this;
+        }
+
+        /**
+         * Adds every remaining edge of the iterator, as addEdge does.
+         *
+         * @throws IllegalArgumentException  if any edge is invalid; the edges before it are kept
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public Builder<V, E> addEdges(Iterator<? extends E> edges) {
+            while (edges.hasNext()) {
+                this.addEdge(edges.next());
+            }
+            return this;
+        }
+
+        /**
+         * Returns the graph made of every vertex and edge added so far. The builder
+         * hands its storage over to the graph, so it cannot be used afterwards.
+         *
+         * @throws IllegalStateException  if build() has already been called
+         */
+        public Graph<V, E> build() {
+            this.checkNotBuilt();
+            this.built = true;
+            return new Graph<>(this);
+        }
+
+        private void checkNotBuilt() {
+            if (this.built) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * The result of running Dijkstra's algorithm to completion from one start vertex:
+     * the cheapest cost of reaching every vertex, and the edge each cheapest path
+     * arrives by. It never changes once built, so it can be kept and shared.
+     */
+    public static class ShortestPathTree<V, E extends Edge<V> & Comparable<E>> {
+        private final Graph<V, E> graph;
+        private final V start;
+        private final int startId;
+        private final double[] costs;
+        private final int[] previousEdges;
+
+        private ShortestPathTree(Graph<V, E> graph, V start, int startId, double[] costs, int[] previousEdges) {
+            this.graph = graph;
+            this.start = start;
+            this.startId = startId;
+            this.costs = costs;
+            this.previousEdges = previousEdges;
+        }
+
+        /**
+         * Returns the vertex every path in this tree starts from.
+         */
+        public V getStart() {
+            return this.start;
+        }
+
+        /**
+         * Returns the total weight of the shortest path from the start to the end, or
+         * positive infinity if there is no such path.
+         *
+         * @throws IllegalArgumentException  if the end is not a vertex of the graph
+         */
+        public double costTo(V end) {
+            return this.costs[this.idOf(end)];
+        }
+
+        /**
+         * Returns 'true' if there is a path from the start to the end.
+         *
+         * @throws IllegalArgumentException  if the end is not a vertex of the graph
+         */
+        public boolean hasPathTo(V end) {
+            return this.costTo(end) != Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Returns the edges that make up the shortest path from the start to the end,
+         * in order, in time proportional to the length of the path. Among parallel
+         * edges, the cheapest one is used.
+         *
+         * @throws IllegalArgumentException  if the end is not a vertex of the graph
+         * @throws NoPathExistsException  if there does not exist a path from the start to the end
+         */
+        public IList<E> pathTo(V end) {
+            int endId = this.idOf(end);
+            if (this.costs[endId] == Double.POSITIVE_INFINITY) {
                 throw new NoPathExistsException();
             }
-            // gets the vertex of the min returned by array heap
-            currentVertex = min.getVertex();
-        } // reaches end of previous while loop (completes dijkstras
-        // starts from the target vertex (end)
-        V current = end;
-        // while the current in the while loop is not at the start yet
-        while (!current.equals(start)) {
-            // finds the previous target vertex found by dijkstra's
-            V prev = allVertices.get(current).getPreVertex();   
-            // get the set of all edges that the current vertex links to (with adjacency list)
-            ISet<E> allEdges = theList.get(current);
-            // for all edges that it links to 
-            IPriorityQueue<E> parallelCheck = new ArrayHeap<>();
-            for (E edge : allEdges) {
-                // check if it leads to the target previous edge
-                if (edge.getOtherVertex(current).equals(prev)) {
-                    // adds the edge to the shortest path (if found
-                    parallelCheck.insert(edge); // 
+            return this.graph.tracePath(this.previousEdges, this.startId, endId);
+        }
+
+        private int idOf(V vertex) {
+            int id = this.graph.vertexIds.getOrDefault(vertex, -1);
+            if (id < 0) {
+                throw new IllegalArgumentException();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * A small least-recently-used cache keyed by int. Entries are kept in an array
+     * ordered from most to least recently used; with only a handful of entries, a
+     * linear scan is cheaper than any hashing.
+     *
+     * Methods are synchronized, so a Graph can be searched from several threads.
+     */
+    private static class TreeCache<T> {
+        private final int[] keys;
+        private final Object[] values;
+        private int size;
+
+        public TreeCache(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.size = 0;
+        }
+
+        /**
+         * Returns the value for the key, or null if it is not cached. A hit makes the
+         * entry the most recently used one.
+         */
+        @SuppressWarnings("unchecked")
+        public synchronized T get(int key) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.keys[i] == key) {
+                    T value = (T) this.values[i];
+                    this.moveToFront(i, key, value);
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Caches the value as the most recently used entry, evicting the least
+         * recently used one if the cache is full.
+         */
+        public synchronized void put(int key, T value) {
+            if (this.keys.length == 0) {
+                return;
+            }
+            for (int i = 0; i < this.size; i++) {
+                if (this.keys[i] == key) {
+                    this.moveToFront(i, key, value);
+                    return;
                 }
             }
-            shortestPath.add(parallelCheck.removeMin());
-            // sets the current to the target previous node and START AGAIN
-            current = prev; 
+            if (this.size < this.keys.length) {
+                this.size++;
+            }
+            this.moveToFront(this.size - 1, key, value);
         }
-        IList<E> rightShortestPath = new DoubleLinkedList<>();
-        int size = shortestPath.size();
-        for (int i = size - 1; i >= 0; i--) {
-            rightShortestPath.add(shortestPath.get(i));
+
+        private void moveToFront(int index, int key, T value) {
+            System.arraycopy(this.keys, 0, this.keys, 1, index);
+            System.arraycopy(this.values, 0, this.values, 1, index);
+            this.keys[0] = key;
+            this.values[0] = value;
         }
-        // return the right answer thanks
-        return rightShortestPath;
     }
-    
-    private class MyCoolSubclass<T> implements Comparable<MyCoolSubclass<T>> {
-        private T vertex;
-        private Double cost;
-        private T previousVertex;
-        
-        public MyCoolSubclass(T vertex, Double cost) {
-            this.vertex = vertex;
-            this.cost = cost;
+
+    /**
+     * Parallel Boruvka over the graph's dense ids. Ties in weight are broken by edge
+     * id, so every component's cheapest edge is unique and the chosen edges never
+     * form a cycle.
+     */
+    private static class BoruvkaMst<V, E extends Edge<V> & Comparable<E>> {
+        private final ParallelLoops loops;
+        private final Graph<V, E> graph;
+        private final int numVertices;
+        private final int numEdges;
+        private final AtomicIntDisjointSet components;
+        // For each component root, the index of its cheapest outgoing edge, or -1.
+        private final AtomicIntegerArray cheapest;
+        private final boolean[] inMst;
+
+        public BoruvkaMst(Graph<V, E> graph, ForkJoinPool pool) {
+            this.loops = new ParallelLoops(pool);
+            this.graph = graph;
+            this.numVertices = graph.vertexIds.size();
+            this.numEdges = graph.edgeById.length;
+            this.components = new AtomicIntDisjointSet(this.numVertices);
+            for (int v = 0; v < this.numVertices; v++) {
+                this.components.makeSet();
+            }
+            this.cheapest = new AtomicIntegerArray(this.numVertices);
+            for (int v = 0; v < this.numVertices; v++) {
+                this.cheapest.set(v, -1);
+            }
+            this.inMst = new boolean[this.numEdges];
         }
-        
-        public Double getCost() {
-            return this.cost;
+
+        public ISet<E> run() {
+            // The edges that still connect two different components.
+            int[] live = new int[this.numEdges];
+            for (int i = 0; i < live.length; i++) {
+                live[i] = i;
+            }
+            int numLive = live.length;
+            while (numLive > 0) {
+                int[] current = live;
+                int size = numLive;
+
+                // 1. Every component finds its cheapest outgoing edge.
+                this.loops.forEachChunk(size, (start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        int edge = current[i];
+                        int root1 = this.components.findSet(this.graph.edgeEndpoint1[edge]);
+                        int root2 = this.components.findSet(this.graph.edgeEndpoint2[edge]);
+                        if (root1 != root2) {
+                            this.offer(root1, edge);
+                            this.offer(root2, edge);
+                        }
+                    }
+                });
+
+                // 2. Add all of those edges. Two components that picked the same edge
+                //    race on it, but only one union succeeds.
+                this.loops.forEachChunk(this.numVertices, (start, end) -> {
+                    for (int root = start; root < end; root++) {
+                        int edge = this.cheapest.get(root);
+                        if (edge >= 0) {
+                            this.cheapest.set(root, -1);
+                            if (this.components.tryUnion(this.graph.edgeEndpoint1[edge], this.graph.edgeEndpoint2[edge])) {
+                                this.inMst[edge] = true;
+                            }
+                        }
+                    }
+                });
+
+                // 3. Drop the edges that are now inside a single component.
+                live = new int[size];
+                numLive = this.filterLive(current, size, live);
+            }
+
+            ISet<E> mst = new ChainedHashSet<>();
+            for (int i = 0; i < this.numEdges; i++) {
+                if (this.inMst[i]) {
+                    mst.add(this.graph.edgeAt(i));
+                }
+            }
+            return mst;
         }
-        
-        public void setPreVertex(T item) {
-            this.previousVertex = item;
+
+        /**
+         * Records 'edge' as the cheapest edge out of 'root' if it beats the current one.
+         */
+        private void offer(int root, int edge) {
+            while (true) {
+                int current = this.cheapest.get(root);
+                if (current >= 0 && !this.isCheaper(edge, current)) {
+                    return;
+                }
+                if (this.cheapest.compareAndSet(root, current, edge)) {
+                    return;
+                }
+            }
         }
-        
-        public T getPreVertex() {
-            return this.previousVertex;
+
+        private boolean isCheaper(int edge1, int edge2) {
+            double weight1 = this.graph.edgeWeights[edge1];
+            double weight2 = this.graph.edgeWeights[edge2];
+            return weight1 < weight2 || (weight1 == weight2 && edge1 < edge2);
         }
-        
-        public T getVertex() {
-            return this.vertex; 
+
+        /**
+         * Copies the edges of 'current' that still cross two components into 'output',
+         * keeping their order, and returns how many there were.
+         */
+        private int filterLive(int[] current, int size, int[] output) {
+            int numChunks = this.loops.numChunks(size);
+            int[] counts = new int[numChunks + 1];
+            boolean[] keep = new boolean[size];
+            this.loops.forEachChunk(size, numChunks, (chunk, start, end) -> {
+                int count = 0;
+                for (int i = start; i < end; i++) {
+                    int edge = current[i];
+                    if (this.components.findSet(this.graph.edgeEndpoint1[edge])
+                            != this.components.findSet(this.graph.edgeEndpoint2[edge])) {
+                        keep[i] = true;
+                        count++;
+                    }
+                }
+                counts[chunk + 1] = count;
+            });
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                counts[chunk + 1] += counts[chunk];
+            }
+            this.loops.forEachChunk(size, numChunks, (chunk, start, end) -> {
+                int next = counts[chunk];
+                for (int i = start; i < end; i++) {
+                    if (keep[i]) {
+                        output[next] = current[i];
+                        next++;
+                    }
+                }
+            });
+            return counts[numChunks];
+        }
+    }
+
+    /**
+     * Parallel delta-stepping over the graph's dense ids.
+     *
+     * Vertices wait in buckets by tentative distance: bucket i holds the vertices at
+     * distances [i * delta, (i + 1) * delta). The lowest non-empty bucket is emptied
+     * by relaxing the light edges (weight at most delta) of all its vertices in
+     * parallel, which may refill it, until it stays empty; then the heavy edges of
+     * every vertex it held are relaxed in one more parallel step. Distances are
+     * lowered with compare-and-set, so threads never lock.
+     *
+     * Every queued distance is less than one heavy edge plus one bucket past the
+     * current bucket, so the buckets form a ring that is only that long.
+     */
+    private static class DeltaStepping<V, E extends Edge<V> & Comparable<E>> {
+        private static final int MAX_BUCKETS = 1 << 24;
+        private static final int[] NO_VERTICES = new int[0];
+
+        private final Graph<V, E> graph;
+        private final ParallelLoops loops;
+        private final double delta;
+        private final int numVertices;
+        // The bits of each vertex's tentative distance. Distances are never negative,
+        // and non-negative doubles order the same way as their bits do as longs.
+        private final AtomicLongArray distances;
+
+        // The ring of buckets. A vertex may be left behind in a bucket it has since
+        // moved out of; queuedIn holds the only bucket number that counts for each
+        // vertex, or -1, so stale entries are skipped.
+        private final int[][] buckets;
+        private final int[] bucketSizes;
+        private final long[] queuedIn;
+        private int numQueued;
+
+        public DeltaStepping(Graph<V, E> graph, double delta, ForkJoinPool pool) {
+            this.graph = graph;
+            this.loops = new ParallelLoops(pool);
+            this.delta = delta;
+            this.numVertices = graph.vertexIds.size();
+            double maxWeight = 0.0;
+            for (double weight : graph.edgeWeights) {
+                maxWeight = Math.max(maxWeight, weight);
+            }
+            // one spare bucket, in case rounding puts a distance one bucket further out
+            double numBuckets = Math.floor(maxWeight / delta) + 3;
+            if (numBuckets > MAX_BUCKETS) {
+                throw new IllegalArgumentException();
+            }
+            this.buckets = new int[(int) numBuckets][];
+            this.bucketSizes = new int[this.buckets.length];
+            this.queuedIn = new long[this.numVertices];
+            Arrays.fill(this.queuedIn, -1);
+            this.distances = new AtomicLongArray(this.numVertices);
+            long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < this.numVertices; v++) {
+                this.distances.set(v, infinity);
+            }
+        }
+
+        public ShortestPathTree<V, E> run(V start, int startId) {
+            this.distances.set(startId, Double.doubleToLongBits(0.0));
+            this.enqueue(startId);
+
+            // the vertices emptied out of the current bucket, each once
+            int[] settled = new int[16];
+            long[] settledIn = new long[this.numVertices];
+            Arrays.fill(settledIn, -1);
+            long bucket = 0;
+            while (true) {
+                int numSettled = 0;
+                int[] frontier = this.takeBucket(bucket);
+                while (frontier.length > 0) {
+                    for (int v : frontier) {
+                        if (settledIn[v] != bucket) {
+                            settledIn[v] = bucket;
+                            if (numSettled == settled.length) {
+                                settled = Arrays.copyOf(settled, 2 * numSettled);
+                            }
+                            settled[numSettled] = v;
+                            numSettled++;
+                        }
+                    }
+                    this.relax(frontier, frontier.length, true);
+                    frontier = this.takeBucket(bucket);
+                }
+                if (numSettled > 0) {
+                    this.relax(settled, numSettled, false);
+                }
+                if (this.numQueued == 0) {
+                    break;
+                }
+                bucket = this.nextQueuedBucket(bucket);
+            }
+
+            double[] costs = new double[this.numVertices];
+            for (int v = 0; v < this.numVertices; v++) {
+                costs[v] = this.distance(v);
+            }
+            return new ShortestPathTree<>(this.graph, start, startId, costs, this.findPreviousEdges(startId, costs));
         }
-        public void setCost(Double newCost) {
-            this.cost = newCost;
+
+        private double distance(int vertex) {
+            return Double.longBitsToDouble(this.distances.get(vertex));
         }
-        
-        public int compareTo(MyCoolSubclass<T> other) {
-            if (this.cost > other.getCost()) {
-                return 1;
-            } else if (this.cost < other.getCost()) {
-                return -1;
+
+        /**
+         * Relaxes, in parallel, the light or the heavy edges out of the first 'size'
+         * given vertices, then queues every vertex whose distance went down.
+         */
+        private void relax(int[] vertices, int size, boolean light) {
+            int numChunks = this.loops.numChunks(size);
+            int[][] lowered = new int[numChunks][];
+            int[] numLowered = new int[numChunks];
+            this.loops.forEachChunk(size, numChunks, (chunk, start, end) -> {
+                int[] output = new int[Math.max(4, end - start)];
+                int count = 0;
+                for (int i = start; i < end; i++) {
+                    int vertex = vertices[i];
+                    double cost = this.distance(vertex);
+                    for (int slot = this.graph.offsets[vertex]; slot < this.graph.offsets[vertex + 1]; slot++) {
+                        double weight = this.graph.slotWeights[slot];
+                        if ((weight <= this.delta) == light
+                                && this.lowerDistance(this.graph.targets[slot], cost + weight)) {
+                            if (count == output.length) {
+                                output = Arrays.copyOf(output, 2 * count);
+                            }
+                            output[count] = this.graph.targets[slot];
+                            count++;
+                        }
+                    }
+                }
+                lowered[chunk] = output;
+                numLowered[chunk] = count;
+            });
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                for (int i = 0; i < numLowered[chunk]; i++) {
+                    this.enqueue(lowered[chunk][i]);
+                }
+            }
+        }
+
+        /**
+         * Sets the vertex's distance to the new one if that is lower, and returns
+         * whether it was.
+         */
+        private boolean lowerDistance(int vertex, double newDistance) {
+            long newBits = Double.doubleToLongBits(newDistance);
+            long oldBits = this.distances.get(vertex);
+            while (newBits < oldBits) {
+                if (this.distances.compareAndSet(vertex, oldBits, newBits)) {
+                    return true;
+                }
+                oldBits = this.distances.get(vertex);
+            }
+            return false;
+        }
+
+        private void enqueue(int vertex) {
+            long bucket = (long) (this.distance(vertex) / this.delta);
+            if (this.queuedIn[vertex] == bucket) {
+                return;
+            }
+            this.queuedIn[vertex] = bucket;
+            int index = (int) (bucket % this.buckets.length);
+            int size = this.bucketSizes[index];
+            if (this.buckets[index] == null) {
+                this.buckets[index] = new int[16];
+            } else if (size == this.buckets[index].length) {
+                this.buckets[index] = Arrays.copyOf(this.buckets[index], 2 * size);
+            }
+            this.buckets[index][size] = vertex;
+            this.bucketSizes[index] = size + 1;
+            this.numQueued++;
+        }
+
+        /**
+         * Returns the first bucket after the given one that has anything queued in it,
+         * skipping the empty ones. Every vertex is queued less than a ring's length
+         * ahead of the current bucket, so each place in the ring stands for exactly
+         * one bucket here.
+         */
+        private long nextQueuedBucket(long bucket) {
+            for (int step = 1; step < this.buckets.length; step++) {
+                if (this.bucketSizes[(int) ((bucket + step) % this.buckets.length)] > 0) {
+                    return bucket + step;
+                }
+            }
+            throw new IllegalStateException("Queued vertices outside the ring of buckets");
+        }
+
+        /**
+         * Empties the bucket, and returns the vertices in it that still belong there.
+         */
+        private int[] takeBucket(long bucket) {
+            int index = (int) (bucket % this.buckets.length);
+            int size = this.bucketSizes[index];
+            if (size == 0) {
+                return NO_VERTICES;
+            }
+            this.bucketSizes[index] = 0;
+            this.numQueued -= size;
+            int[] taken = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int vertex = this.buckets[index][i];
+                if (this.queuedIn[vertex] == bucket) {
+                    this.queuedIn[vertex] = -1;
+                    taken[count] = vertex;
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return NO_VERTICES;
+            }
+            return count == size ? taken : Arrays.copyOf(taken, count);
+        }
+
+        /**
+         * Picks, for every reachable vertex, an edge it is reached by on some shortest
+         * path. Any edge (u, v) with cost(u) + weight == cost(v) would do, but with
+         * zero-weight edges such choices can form cycles, so the edges are picked by a
+         * parallel breadth-first search from the start over those edges only.
+         */
+        private int[] findPreviousEdges(int startId, double[] costs) {
+            AtomicIntegerArray previousEdges = new AtomicIntegerArray(this.numVertices);
+            for (int v = 0; v < this.numVertices; v++) {
+                previousEdges.set(v, -1);
+            }
+            // the start has no previous edge, but is marked as reached with a dummy one
+            previousEdges.set(startId, Integer.MAX_VALUE);
+            int[] frontier = {startId};
+            while (frontier.length > 0) {
+                int[] current = frontier;
+                int numChunks = this.loops.numChunks(current.length);
+                int[][] reached = new int[numChunks][];
+                int[] numReached = new int[numChunks];
+                this.loops.forEachChunk(current.length, numChunks, (chunk, start, end) -> {
+                    int[] output = new int[Math.max(4, end - start)];
+                    int count = 0;
+                    for (int i = start; i < end; i++) {
+                        int vertex = current[i];
+                        for (int slot = this.graph.offsets[vertex]; slot < this.graph.offsets[vertex + 1]; slot++) {
+                            int neighbor = this.graph.targets[slot];
+                            if (costs[vertex] + this.graph.slotWeights[slot] == costs[neighbor]
+                                    && previousEdges.compareAndSet(neighbor, -1, this.graph.slotEdges[slot])) {
+                                if (count == output.length) {
+                                    output = Arrays.copyOf(output, 2 * count);
+                                }
+                                output[count] = neighbor;
+                                count++;
+                            }
+                        }
+                    }
+                    reached[chunk] = output;
+                    numReached[chunk] = count;
+                });
+                int total = 0;
+                for (int count : numReached) {
+                    total += count;
+                }
+                frontier = new int[total];
+                int next = 0;
+                for (int chunk = 0; chunk < numChunks; chunk++) {
+                    System.arraycopy(reached[chunk], 0, frontier, next, numReached[chunk]);
+                    next += numReached[chunk];
+                }
+            }
+
+            int[] result = new int[this.numVertices];
+            for (int v = 0; v < this.numVertices; v++) {
+                result[v] = previousEdges.get(v);
+            }
+            result[startId] = -1;
+            return result;
+        }
+    }
+
+    /**
+     * Runs loops over [0, size) in parallel on a fork-join pool, split into a few
+     * contiguous chunks per thread.
+     */
+    private static class ParallelLoops {
+        // How many chunks each parallel loop is split into, per thread in the pool.
+        private static final int CHUNKS_PER_THREAD = 4;
+        // Loops are not split into chunks smaller than this: a loop that small runs
+        // faster on the calling thread than it takes to hand it to the pool.
+        private static final int MIN_CHUNK_SIZE = 256;
+
+        private final ForkJoinPool pool;
+
+        public ParallelLoops(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        public int numChunks(int size) {
+            return this.numChunks(size, MIN_CHUNK_SIZE);
+        }
+
+        /**
+         * Returns how many chunks a loop of the given size should be split into, if
+         * no chunk should have fewer than 'minChunkSize' items.
+         */
+        public int numChunks(int size, int minChunkSize) {
+            return Math.max(1, Math.min(size / minChunkSize, CHUNKS_PER_THREAD * this.pool.getParallelism()));
+        }
+
+        public void forEachChunk(int size, RangeBody body) {
+            this.forEachChunk(size, this.numChunks(size), (chunk, start, end) -> body.run(start, end));
+        }
+
+        /**
+         * Splits [0, size) into numChunks contiguous ranges, and runs the body on
+         * every range in parallel on the pool. Returns once all have finished.
+         */
+        public void forEachChunk(int size, int numChunks, ChunkBody body) {
+            if (numChunks == 1) {
+                body.run(0, 0, size);
             } else {
-                return 0;
+                this.pool.invoke(new ChunkTask(size, numChunks, 0, numChunks, body));
+            }
+        }
+
+        public interface RangeBody {
+            void run(int start, int end);
+        }
+
+        public interface ChunkBody {
+            void run(int chunk, int start, int end);
+        }
+
+        private static class ChunkTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int size;
+            private final int numChunks;
+            private final int firstChunk;
+            private final int lastChunk;
+            private final ChunkBody body;
+
+            public ChunkTask(int size, int numChunks, int firstChunk, int lastChunk, ChunkBody body) {
+                this.size = size;
+                this.numChunks = numChunks;
+                this.firstChunk = firstChunk;
+                this.lastChunk = lastChunk;
+                this.body = body;
+            }
+
+            @Override
+            protected void compute() {
+                if (this.lastChunk - this.firstChunk == 1) {
+                    int chunk = this.firstChunk;
+                    int start = (int) ((long) this.size * chunk / this.numChunks);
+                    int end = (int) ((long) this.size * (chunk + 1) / this.numChunks);
+                    this.body.run(chunk, start, end);
+                } else {
+                    int middle = (this.firstChunk + this.lastChunk) >>> 1;
+                    invokeAll(
+                            new ChunkTask(this.size, this.numChunks, this.firstChunk, middle, this.body),
+                            new ChunkTask(this.size, this.numChunks, middle, this.lastChunk, this.body));
+                }
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package datastructures;
+
+import datastructures.concrete.AtomicIntDisjointSet;
+import datastructures.concrete.ConcurrentDisjointSet;
+import datastructures.concrete.IntDisjointSet;
+import datastructures.interfaces.IDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAtomicIntDisjointSet extends BaseTest {
+    private static final int NUM_THREADS = 8;
+
+    private AtomicIntDisjointSet createForest(int size) {
+        AtomicIntDisjointSet forest = new AtomicIntDisjointSet(size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, forest.makeSet());
+        }
+        return forest;
+    }
+
+    @Test(timeout=SECOND)
+    public void testSingleThreadedBasics() {
+        AtomicIntDisjointSet forest = this.createForest(5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.findSet(i));
+        }
+
+        assertTrue(forest.tryUnion(0, 1));
+        assertFalse(forest.tryUnion(1, 0));
+        forest.union(2, 3);
+        forest.union(3, 1);
+        assertTrue(forest.connected(0, 2));
+        assertFalse(forest.connected(0, 4));
+        assertEquals(forest.findSet(0), forest.findSet(3));
+
+        try {
+            forest.union(0, 2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalHandlesAndCapacity() {
+        AtomicIntDisjointSet forest = new AtomicIntDisjointSet(2);
+        forest.makeSet();
+        for (int handle : new int[] {-1, 1, 2}) {
+            try {
+                forest.findSet(handle);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+        forest.makeSet();
+        try {
+            forest.makeSet();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(2, forest.size());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentUnionsMatchSequential() throws InterruptedException {
+        int size = 200000;
+        int numEdges = 300000;
+        Random rand = new Random(5);
+        int[] from = new int[numEdges];
+        int[] to = new int[numEdges];
+        for (int i = 0; i < numEdges; i++) {
+            from[i] = rand.nextInt(size);
+            to[i] = rand.nextInt(size);
+        }
+
+        AtomicIntDisjointSet forest = this.createForest(size);
+        AtomicInteger successes = new AtomicInteger(0);
+        runOnThreads(thread -> {
+            for (int i = thread; i < numEdges; i += NUM_THREADS) {
+                if (forest.tryUnion(from[i], to[i])) {
+                    successes.incrementAndGet();
+                }
+                // Mix in reads, which compress paths concurrently with the unions.
+                forest.connected(to[i], from[(i * 31) % numEdges]);
+            }
+        });
+
+        IntDisjointSet expected = new IntDisjointSet(size);
+        for (int i = 0; i < size; i++) {
+            expected.makeSet();
+        }
+        int expectedSuccesses = 0;
+        for (int i = 0; i < numEdges; i++) {
+            if (expected.findSet(from[i]) != expected.findSet(to[i])) {
+                expected.union(from[i], to[i]);
+                expectedSuccesses++;
+            }
+        }
+
+        // Every successful union merges two sets, so the counts must agree exactly.
+        assertEquals(expectedSuccesses, successes.get());
+        for (int i = 0; i < size; i++) {
+            int other = (i * 7919) % size;
+            assertEquals(expected.findSet(i) == expected.findSet(other), forest.connected(i, other));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testRacingUnionsOfSamePairOnlyOneWins() throws InterruptedException {
+        int size = 10000;
+        AtomicIntDisjointSet forest = this.createForest(size);
+        AtomicInteger successes = new AtomicInteger(0);
+        // Every thread tries to chain the whole range together, in a different order.
+        runOnThreads(thread -> {
+            for (int i = 1; i < size; i++) {
+                int a = (thread % 2 == 0) ? i : size - i;
+                if (forest.tryUnion(a, a - 1)) {
+                    successes.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(size - 1, successes.get());
+        for (int i = 0; i < size; i++) {
+            assertTrue(forest.connected(0, i));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentDisjointSetMakeSetIsExclusive() throws InterruptedException {
+        int numItems = 2000;
+        // Exactly enough room: threads that lose the race to add an item use none.
+        ConcurrentDisjointSet<String> forest = new ConcurrentDisjointSet<>(numItems);
+        AtomicInteger added = new AtomicInteger(0);
+        runOnThreads(thread -> {
+            for (int i = 0; i < numItems; i++) {
+                try {
+                    forest.makeSet("item" + i);
+                    added.incrementAndGet();
+                } catch (IllegalArgumentException ex) {
+                    // Another thread added it first
+                }
+            }
+        });
+        assertEquals(numItems, added.get());
+
+        runOnThreads(thread -> {
+            for (int i = thread + 1; i < numItems; i += NUM_THREADS) {
+                forest.tryUnion("item0", "item" + i);
+            }
+        });
+        IDisjointSet<String> asInterface = forest;
+        int root = asInterface.findSet("item0");
+        for (int i = 0; i < numItems; i++) {
+            assertEquals(root, asInterface.findSet("item" + i));
+        }
+        try {
+            forest.findSet("missing");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            forest.makeSet("missing");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        // Not left half-added by the failed makeSet.
+        try {
+            forest.findSet("missing");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread);
+    }
+
+    /**
+     * Runs the body on NUM_THREADS threads at once, and rethrows the first error any
+     * of them hit.
+     */
+    private static void runOnThreads(ThreadBody body) throws InterruptedException {
+        Thread[] threads = new Thread[NUM_THREADS];
+        Throwable[] errors = new Throwable[NUM_THREADS];
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    body.run(thread);
+                } catch (Throwable ex) {
+                    errors[thread] = ex;
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Throwable error : errors) {
+            if (error != null) {
+                throw new AssertionError(error);
+            }
+        }
+    }
+}
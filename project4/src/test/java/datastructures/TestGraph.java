@@ -1,6 +1,8 @@
 package datastructures;
 
+import datastructures.concrete.ArrayList;
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.IntDisjointSet;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import misc.BaseTest;
@@ -11,6 +13,9 @@ import org.junit.Test;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 public class TestGraph extends BaseTest {
     public static class SimpleEdge<V> implements Edge<V>, Comparable<SimpleEdge<V>> {
         private V vertex1;
@@ -276,6 +281,74 @@ public class TestGraph extends BaseTest {
         assertTrue(mst.contains(edge("d", "f", 6)));
     }
 
+    @Test(timeout=SECOND)
+    public void testFindingMstWithBoruvka() {
+        Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
+        ISet<SimpleEdge<String>> mst = graph.findMinimumSpanningTree(Graph.MstAlgorithm.PARALLEL_BORUVKA);
+
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertTrue(mst.contains(edge("a", "d", 1)));
+        assertTrue(mst.contains(edge("a", "b", 2)));
+        assertTrue(mst.contains(edge("b", "e", 3)));
+        assertTrue(mst.contains(edge("a", "c", 5)));
+        assertTrue(mst.contains(edge("d", "f", 6)));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMstAlgorithmsAgreeOnRandomGrid() {
+        // A grid with many equal weights, plus parallel edges and self-loops.
+        int width = 40;
+        int numVertices = width * width;
+        Random rand = new Random(9);
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<SimpleEdge<Integer>> edges = new ArrayList<>();
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v % width != width - 1) {
+                edges.add(edge(v, v + 1, rand.nextInt(10)));
+            }
+            if (v + width < numVertices) {
+                edges.add(edge(v, v + width, rand.nextInt(10)));
+            }
+            if (v % 50 == 0) {
+                edges.add(edge(v, v, 0.0));
+                edges.add(edge(v, (v + 1) % numVertices, rand.nextInt(10)));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+
+        double expectedWeight = this.checkSpanningTree(numVertices, graph.findMinimumSpanningTree());
+        for (int parallelism : new int[] {1, 2, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ISet<SimpleEdge<Integer>> mst = graph.findMinimumSpanningTree(
+                        Graph.MstAlgorithm.PARALLEL_BORUVKA, pool);
+                assertEquals(expectedWeight, this.checkSpanningTree(numVertices, mst), 1e-9);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Checks that the edges form a spanning tree over vertices 0 to numVertices - 1,
+     * and returns its total weight.
+     */
+    private double checkSpanningTree(int numVertices, ISet<SimpleEdge<Integer>> mst) {
+        assertEquals(numVertices - 1, mst.size());
+        IntDisjointSet forest = new IntDisjointSet(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            forest.makeSet();
+        }
+        double total = 0.0;
+        for (SimpleEdge<Integer> mstEdge : mst) {
+            // Throws if the edge would close a cycle.
+            forest.union(mstEdge.getVertex1(), mstEdge.getVertex2());
+            total += mstEdge.getWeight();
+        }
+        return total;
+    }
+
     @Test(timeout=SECOND)
     public void testFindingShortestPathSimple() {
         Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
@@ -326,4 +399,401 @@ public class TestGraph extends BaseTest {
             // All ok -- expected result
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testIsolatedVertexHasOnlyTheEmptyPath() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("lonely");
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("a", "b", 0.5));
+        Graph<String, SimpleEdge<String>> graph = new Graph<>(vertices, edges);
+
+        assertEquals(0, graph.findShortestPathBetween("lonely", "lonely").size());
+        // The cheaper of two parallel edges is the one used.
+        checkPathMatches(graph, 0.5, new String[] {"a", "b"});
+        try {
+            graph.findShortestPathBetween("a", "lonely");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.findShortestPathBetween("a", "missing");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathTreeAnswersEveryEnd() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        Graph.ShortestPathTree<String, SimpleEdge<String>> tree = graph.shortestPathTree("a");
+
+        assertEquals("a", tree.getStart());
+        assertEquals(0.0, tree.costTo("a"), 0.0);
+        assertEquals(6.0, tree.costTo("g"), 0.0001);
+        assertEquals(5, tree.pathTo("g").size());
+        assertTrue(tree.hasPathTo("d"));
+        assertEquals(false, tree.hasPathTo("i"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.costTo("i"));
+        try {
+            tree.pathTo("i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            tree.costTo("missing");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.shortestPathTree("missing");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathTreesAreCachedBySource() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        Graph.ShortestPathTree<String, SimpleEdge<String>> tree = graph.shortestPathTree("a");
+        assertTrue(tree == graph.shortestPathTree("a"));
+        checkPathMatches(graph, 6, new String[] {"a", "b", "c", "f", "e", "g"});
+
+        // Filling the cache with other sources evicts the least recently used tree.
+        String[] others = {"b", "c", "d", "e"};
+        for (String source : others) {
+            graph.shortestPathTree(source);
+        }
+        assertTrue(tree != graph.shortestPathTree("a"));
+
+        graph.setPathCacheCapacity(0);
+        assertTrue(graph.shortestPathTree("a") != graph.shortestPathTree("a"));
+        checkPathMatches(graph, 6, new String[] {"g", "e", "f", "c", "b", "a"});
+    }
+
+    @Test(timeout=SECOND)
+    public void testPathAlgorithmsOnSmallGraphs() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        graph.setPathCacheCapacity(0);
+        for (Graph.PathAlgorithm algorithm : Graph.PathAlgorithm.values()) {
+            assertEquals(5, graph.findShortestPathBetween("a", "g", algorithm).size());
+            assertEquals(5, graph.findShortestPathBetween("g", "a", algorithm).size());
+            assertEquals(0, graph.findShortestPathBetween("i", "i", algorithm).size());
+            try {
+                graph.findShortestPathBetween("a", "i", algorithm);
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                graph.findShortestPathBetween("a", "missing", algorithm);
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testPathAlgorithmsAgreeOnRandomGeometricGraph() {
+        // Vertices are random points, joined to a few random others by edges weighted
+        // by their length, so the straight-line distance is an admissible heuristic.
+        Random rand = new Random(11);
+        int numVertices = 2000;
+        double[][] points = new double[numVertices][];
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<SimpleEdge<Integer>> edges = new ArrayList<>();
+        for (int v = 0; v < numVertices; v++) {
+            points[v] = new double[] {rand.nextDouble(), rand.nextDouble()};
+            vertices.add(v);
+        }
+        for (int v = 0; v < numVertices; v++) {
+            for (int i = 0; i < 2; i++) {
+                int other = rand.nextInt(numVertices);
+                double length = Math.hypot(points[v][0] - points[other][0], points[v][1] - points[other][1]);
+                edges.add(edge(v, other, length));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+        graph.setPathCacheCapacity(0);
+        Graph.Heuristic<Integer> straightLine = (from, to) ->
+                Math.hypot(points[from][0] - points[to][0], points[from][1] - points[to][1]);
+
+        for (int trial = 0; trial < 50; trial++) {
+            int start = rand.nextInt(numVertices);
+            int end = rand.nextInt(numVertices);
+            Graph.ShortestPathTree<Integer, SimpleEdge<Integer>> tree = graph.shortestPathTree(start);
+            if (!tree.hasPathTo(end)) {
+                continue;
+            }
+            double expected = tree.costTo(end);
+            assertEquals(expected, checkPath(start, end, graph.findShortestPathBetween(
+                    start, end, Graph.PathAlgorithm.A_STAR, straightLine)), 0.0001);
+            assertEquals(expected, checkPath(start, end, graph.findShortestPathBetween(
+                    start, end, Graph.PathAlgorithm.BIDIRECTIONAL_DIJKSTRA)), 0.0001);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testDeltaSteppingAgreesWithDijkstraOnRandomGraphs() {
+        Random rand = new Random(12);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int trial = 0; trial < 20; trial++) {
+                int numVertices = 1 + rand.nextInt(500);
+                IList<Integer> vertices = new ArrayList<>(numVertices);
+                IList<SimpleEdge<Integer>> edges = new ArrayList<>();
+                for (int v = 0; v < numVertices; v++) {
+                    vertices.add(v);
+                }
+                int numEdges = rand.nextInt(4 * numVertices);
+                for (int i = 0; i < numEdges; i++) {
+                    // a few zero-weight edges, which can tie every path through them
+                    double weight = rand.nextInt(10) == 0 ? 0.0 : rand.nextInt(100) / 10.0;
+                    edges.add(edge(rand.nextInt(numVertices), rand.nextInt(numVertices), weight));
+                }
+                Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+
+                int start = rand.nextInt(numVertices);
+                Graph.ShortestPathTree<Integer, SimpleEdge<Integer>> expected = graph.shortestPathTree(start);
+                double[] deltas = {0.05, 1.0, 3.0, 100.0};
+                Graph.ShortestPathTree<Integer, SimpleEdge<Integer>> actual = trial % 2 == 0
+                        ? graph.parallelShortestPathTree(start, deltas[trial % deltas.length], pool)
+                        : graph.parallelShortestPathTree(start);
+                for (int v = 0; v < numVertices; v++) {
+                    assertEquals(expected.costTo(v), actual.costTo(v), 0.0001);
+                    if (actual.hasPathTo(v)) {
+                        assertEquals(actual.costTo(v), checkPath(start, v, actual.pathTo(v)), 0.0001);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDeltaSteppingWithMostlyEmptyBuckets() {
+        // Heavy edges and a tiny delta, so millions of buckets between vertices stay empty.
+        int numVertices = 200;
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<SimpleEdge<Integer>> edges = new ArrayList<>();
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v > 0) {
+                edges.add(edge(v - 1, v, 500.0));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+        Graph.ShortestPathTree<Integer, SimpleEdge<Integer>> tree =
+                graph.parallelShortestPathTree(0, 0.01, ForkJoinPool.commonPool());
+        for (int v = 0; v < numVertices; v++) {
+            assertEquals(500.0 * v, tree.costTo(v), 0.0001);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDeltaSteppingErrorHandling() {
+        Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
+        double[] badDeltas = {0.0, -1.0, Double.NaN, 1e-12};
+        for (double delta : badDeltas) {
+            try {
+                graph.parallelShortestPathTree("a", delta, ForkJoinPool.commonPool());
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+        try {
+            graph.parallelShortestPathTree("missing");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(7.0, graph.parallelShortestPathTree("a").costTo("f"), 0.0001);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testDistanceMatrixAlgorithmsAgreeWithDijkstra() {
+        Random rand = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int trial = 0; trial < 10; trial++) {
+                int numVertices = 1 + rand.nextInt(200);
+                IList<Integer> vertices = new ArrayList<>(numVertices);
+                IList<SimpleEdge<Integer>> edges = new ArrayList<>();
+                for (int v = 0; v < numVertices; v++) {
+                    vertices.add(v);
+                }
+                int numEdges = rand.nextInt(3 * numVertices);
+                for (int i = 0; i < numEdges; i++) {
+                    edges.add(edge(rand.nextInt(numVertices), rand.nextInt(numVertices), rand.nextInt(100) / 10.0));
+                }
+                Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+                IList<Integer> sources = new ArrayList<>();
+                IList<Integer> targets = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    sources.add(rand.nextInt(numVertices));
+                    targets.add(rand.nextInt(numVertices));
+                }
+
+                for (Graph.MatrixAlgorithm algorithm : Graph.MatrixAlgorithm.values()) {
+                    double[][] matrix = graph.findDistanceMatrix(sources, targets, algorithm, pool);
+                    assertEquals(sources.size(), matrix.length);
+                    for (int i = 0; i < sources.size(); i++) {
+                        Graph.ShortestPathTree<Integer, SimpleEdge<Integer>> tree =
+                                graph.shortestPathTree(sources.get(i));
+                        assertEquals(targets.size(), matrix[i].length);
+                        for (int j = 0; j < targets.size(); j++) {
+                            assertEquals(tree.costTo(targets.get(j)), matrix[i][j], 0.0001);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDistanceMatrixEdgeCases() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        IList<String> sources = new ArrayList<>();
+        sources.add("a");
+        sources.add("i");
+        IList<String> targets = new ArrayList<>();
+        targets.add("g");
+        targets.add("a");
+        targets.add("k");
+
+        double[][] matrix = graph.findDistanceMatrix(sources, targets);
+        assertEquals(6.0, matrix[0][0], 0.0001);
+        assertEquals(0.0, matrix[0][1], 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, matrix[0][2]);
+        assertEquals(Double.POSITIVE_INFINITY, matrix[1][1]);
+        assertEquals(2.0, matrix[1][2], 0.0001);
+
+        assertEquals(0, graph.findDistanceMatrix(new ArrayList<>(), targets).length);
+        targets.add("missing");
+        try {
+            graph.findDistanceMatrix(sources, targets);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuilderMatchesConstructor() {
+        // No size hints, so the builder has to grow as it goes.
+        Graph.Builder<String, SimpleEdge<String>> builder = new Graph.Builder<>(0, 0);
+        String[] vertices = {"a", "b", "c", "d", "e", "f", "g", "a"};
+        for (String vertex : vertices) {
+            builder.addVertex(vertex);
+        }
+        IList<SimpleEdge<String>> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        edges.add(edge("b", "c", 1));
+        edges.add(edge("c", "f", 2));
+        edges.add(edge("f", "e", 1));
+        edges.add(edge("e", "g", 1));
+        edges.add(edge("a", "d", 9));
+        edges.add(edge("c", "d", 1));
+        Graph<String, SimpleEdge<String>> graph = builder.addEdges(edges.iterator()).build();
+
+        assertEquals(7, graph.numVertices());
+        assertEquals(7, graph.numEdges());
+        checkPathMatches(graph, 6, new String[] {"a", "b", "c", "f", "e", "g"});
+        checkPathMatches(graph, 3, new String[] {"a", "b", "c", "d"});
+        assertEquals(6, graph.findMinimumSpanningTree().size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBuilderErrorHandling() {
+        Graph.Builder<String, SimpleEdge<String>> builder = new Graph.Builder<>();
+        builder.addVertex("a").addVertex("b");
+        try {
+            builder.addEdge(edge("a", "c", 1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            builder.addEdge(edge("a", "b", -1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new Graph.Builder<String, SimpleEdge<String>>(-1, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        // The rejected edges left nothing behind.
+        Graph<String, SimpleEdge<String>> graph = builder.addEdge(edge("a", "b", 1)).build();
+        assertEquals(1, graph.numEdges());
+        try {
+            builder.addVertex("c");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        try {
+            builder.build();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    /**
+     * Checks that the edges form a walk from the start to the end, and returns its weight.
+     */
+    private double checkPath(int start, int end, IList<SimpleEdge<Integer>> path) {
+        double weight = 0.0;
+        int current = start;
+        for (SimpleEdge<Integer> edge : path) {
+            if (edge.getVertex1() == current) {
+                current = edge.getVertex2();
+            } else {
+                assertEquals(current, edge.getVertex2());
+                current = edge.getVertex1();
+            }
+            weight += edge.getWeight();
+        }
+        assertEquals(end, current);
+        return weight;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testLargeGraphIsBuiltAndSearchedQuickly() {
+        // A 500 by 500 grid: building it used to scan the vertex list for every edge.
+        int width = 500;
+        int numVertices = width * width;
+        IList<Integer> vertices = new ArrayList<>(numVertices);
+        IList<SimpleEdge<Integer>> edges = new ArrayList<>(2 * numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            vertices.add(v);
+            if (v % width != width - 1) {
+                edges.add(edge(v, v + 1, 1));
+            }
+            if (v + width < numVertices) {
+                edges.add(edge(v, v + width, 1));
+            }
+        }
+        Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+
+        assertEquals(2 * (width - 1), graph.findShortestPathBetween(0, numVertices - 1).size());
+        assertEquals(numVertices - 1, graph.findMinimumSpanningTree().size());
+    }
 }
@@ -0,0 +1,119 @@
+package datastructures;
+
+import datastructures.concrete.IntDisjointSet;
+import datastructures.interfaces.IIntDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+public class TestIntDisjointSet extends BaseTest {
+    private IIntDisjointSet createForest(int size) {
+        IIntDisjointSet forest = new IntDisjointSet(0);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, forest.makeSet());
+        }
+        return forest;
+    }
+
+    @Test(timeout=SECOND)
+    public void testMakeSetAndFindSetSimple() {
+        IIntDisjointSet forest = this.createForest(5);
+        assertEquals(5, forest.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.findSet(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnionIsDeterministic() {
+        IIntDisjointSet forest = this.createForest(6);
+
+        // Equal ranks: the first set's root wins.
+        forest.union(0, 1);
+        assertEquals(0, forest.findSet(1));
+        forest.union(3, 2);
+        assertEquals(3, forest.findSet(2));
+
+        // Equal ranks again, so the root of 2's set (3) wins.
+        forest.union(2, 1);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(3, forest.findSet(i));
+        }
+
+        // A shorter tree always joins the taller one, whatever the order.
+        forest.union(4, 0);
+        assertEquals(3, forest.findSet(4));
+        assertEquals(5, forest.findSet(5));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIllegalArguments() {
+        IIntDisjointSet forest = this.createForest(3);
+        forest.union(0, 1);
+
+        int[][] badUnions = {{0, 1}, {1, 0}, {0, 3}, {-1, 2}};
+        for (int[] pair : badUnions) {
+            try {
+                forest.union(pair[0], pair[1]);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+        for (int handle : new int[] {-1, 3, 100}) {
+            try {
+                forest.findSet(handle);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesNaiveLabelling() {
+        int size = 2000;
+        IIntDisjointSet forest = this.createForest(size);
+        int[] labels = new int[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = i;
+        }
+
+        Random rand = new Random(3);
+        for (int step = 0; step < 1500; step++) {
+            int a = rand.nextInt(size);
+            int b = rand.nextInt(size);
+            if (labels[a] == labels[b]) {
+                continue;
+            }
+            forest.union(a, b);
+            int from = labels[b];
+            for (int i = 0; i < size; i++) {
+                if (labels[i] == from) {
+                    labels[i] = labels[a];
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i += 7) {
+            for (int j = 0; j < size; j += 13) {
+                assertEquals(labels[i] == labels[j], forest.findSet(i) == forest.findSet(j));
+            }
+        }
+    }
+
+    @Test(timeout=2 * SECOND)
+    public void testLongChainIsFast() {
+        int size = 1000000;
+        IIntDisjointSet forest = this.createForest(size);
+        for (int i = 1; i < size; i++) {
+            forest.union(i - 1, i);
+        }
+        int root = forest.findSet(0);
+        for (int i = 0; i < size; i++) {
+            assertEquals(root, forest.findSet(i));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package datastructures;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.LongArrayList;
+import datastructures.interfaces.ILongList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+public class TestLongArrayList extends BaseTest {
+    protected ILongList makeBasicList() {
+        ILongList list = new LongArrayList();
+
+        list.add(1L);
+        list.add(2L);
+        list.add(3L);
+
+        return list;
+    }
+
+    /**
+     * Checks the list through get, toArray and stream, which must all agree.
+     */
+    protected void assertListMatches(long[] expected, ILongList actual) {
+        assertEquals(expected.length, actual.size());
+        assertEquals(expected.length == 0, actual.isEmpty());
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match", expected[i], actual.get(i));
+        }
+        assertArrayEquals(expected, actual.toArray());
+        assertArrayEquals(expected, actual.stream().toArray());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddSetAndRemove() {
+        ILongList list = this.makeBasicList();
+        this.assertListMatches(new long[] {1L, 2L, 3L}, list);
+
+        list.set(1, -20L);
+        this.assertListMatches(new long[] {1L, -20L, 3L}, list);
+
+        assertEquals(3L, list.remove());
+        assertEquals(-20L, list.remove());
+        assertEquals(1L, list.remove());
+        this.assertListMatches(new long[] {}, list);
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // Do nothing: this is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testKeepsValuesBeyondIntRange() {
+        ILongList list = new LongArrayList(0);
+        long[] expected = {Long.MAX_VALUE, Long.MIN_VALUE, 1L << 40, -(1L << 33) - 1};
+        for (long value : expected) {
+            list.add(value);
+        }
+        this.assertListMatches(expected, list);
+
+        // Timings are summed through the stream, so it must not narrow to int.
+        ILongList timings = new LongArrayList();
+        for (int i = 0; i < 3; i++) {
+            timings.add(3_000_000_000L);
+        }
+        assertEquals(9_000_000_000L, timings.stream().sum());
+    }
+
+    @Test(timeout=SECOND)
+    public void testGrowsAndEnsuresCapacity() {
+        LongArrayList list = new LongArrayList(0);
+        long[] expected = new long[1000];
+        for (int i = 0; i < 1000; i++) {
+            expected[i] = (long) i * i * i;
+            list.add(expected[i]);
+        }
+        this.assertListMatches(expected, list);
+
+        list.ensureCapacity(5000);
+        this.assertListMatches(expected, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetAndSetOutOfBoundsThrowsException() {
+        ILongList list = new LongArrayList(100);
+        list.add(5L);
+        for (int index : new int[] {-1, 1, 99}) {
+            try {
+                list.get(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+            try {
+                list.set(index, 0L);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // Do nothing: this is ok
+            }
+        }
+        this.assertListMatches(new long[] {5L}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testToArrayIsACopy() {
+        ILongList list = this.makeBasicList();
+        long[] copy = list.toArray();
+        copy[0] = 100L;
+        this.assertListMatches(new long[] {1L, 2L, 3L}, list);
+        assertTrue(new LongArrayList().toArray().length == 0);
+    }
+}
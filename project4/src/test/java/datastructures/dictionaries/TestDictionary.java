@@ -7,12 +7,15 @@ import static org.junit.Assert.fail;
 import misc.BaseTest;
 import datastructures.concrete.KVPair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IDictionaryCursor;
 import misc.exceptions.NoSuchKeyException;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -506,4 +509,93 @@ public abstract class TestDictionary extends BaseTest {
             assertFalse(iter.hasNext());
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testForEachVisitsEveryPair() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        dict.put(null, -1);
+        expected.put(null, -1);
+
+        Map<String, Integer> actual = new HashMap<>();
+        dict.forEach((key, value) -> {
+            assertFalse("Visited the same key twice", actual.containsKey(key));
+            actual.put(key, value);
+        });
+        assertEquals(expected, actual);
+
+        this.<String, Integer>newDictionary().forEach((key, value) -> fail("Dictionary is empty"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorVisitsEveryPair() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        dict.remove("key50");
+        expected.remove("key50");
+
+        Map<String, Integer> actual = new HashMap<>();
+        IDictionaryCursor<String, Integer> cursor = dict.cursor();
+        while (cursor.advance()) {
+            assertFalse("Visited the same key twice", actual.containsKey(cursor.key()));
+            actual.put(cursor.key(), cursor.value());
+        }
+        assertEquals(expected, actual);
+
+        // Once exhausted, the cursor stays exhausted.
+        assertFalse(cursor.advance());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorSetValue() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 50; i++) {
+            dict.put("key" + i, i);
+        }
+
+        IDictionaryCursor<String, Integer> cursor = dict.cursor();
+        while (cursor.advance()) {
+            cursor.setValue(cursor.value() * 10);
+            assertEquals(Integer.parseInt(cursor.key().substring(3)) * 10, cursor.value());
+        }
+
+        assertEquals(50, dict.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i * 10, dict.get("key" + i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorMustBePositioned() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        dict.put("a", 1);
+
+        IDictionaryCursor<String, Integer> cursor = dict.cursor();
+        try {
+            cursor.key();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // This is ok
+        }
+
+        assertTrue(cursor.advance());
+        assertEquals("a", cursor.key());
+        assertFalse(cursor.advance());
+        try {
+            cursor.value();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // This is ok
+        }
+
+        assertFalse(this.<String, Integer>newDictionary().cursor().advance());
+    }
 }
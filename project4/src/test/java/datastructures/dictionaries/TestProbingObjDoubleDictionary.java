@@ -0,0 +1,107 @@
+package datastructures.dictionaries;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.dictionaries.ProbingObjDoubleDictionary;
+import datastructures.interfaces.IObjDoubleDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+public class TestProbingObjDoubleDictionary extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    protected <K> IObjDoubleDictionary<K> newDictionary() {
+        return new ProbingObjDoubleDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAndGetBasic() {
+        IObjDoubleDictionary<String> dict = this.newDictionary();
+        dict.put("a", 1.5);
+        dict.put("b", 2.5);
+        dict.put("a", 3.5);
+
+        assertEquals(2, dict.size());
+        assertEquals(3.5, dict.getDouble("a"), DELTA);
+        assertEquals(2.5, dict.getDouble("b"), DELTA);
+        assertTrue(dict.containsKey("a"));
+        assertFalse(dict.containsKey("c"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetErrorHandling() {
+        IObjDoubleDictionary<String> dict = this.newDictionary();
+        try {
+            dict.getDouble("foo");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // This is ok: do nothing
+        }
+
+        try {
+            dict.remove("foo");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // This is ok: do nothing
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetOrDefault() {
+        IObjDoubleDictionary<String> dict = this.newDictionary();
+        dict.put("a", 0.25);
+
+        assertEquals(0.25, dict.getOrDefault("a", -1.0), DELTA);
+        assertEquals(-1.0, dict.getOrDefault("b", -1.0), DELTA);
+        assertFalse(dict.containsKey("b"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddTo() {
+        IObjDoubleDictionary<String> dict = this.newDictionary();
+        assertEquals(0.5, dict.addTo("a", 0.5), DELTA);
+        assertEquals(1.0, dict.addTo("a", 0.5), DELTA);
+        assertEquals(-2.0, dict.addTo("b", -2.0), DELTA);
+
+        assertEquals(2, dict.size());
+        assertEquals(1.0, dict.getDouble("a"), DELTA);
+        assertEquals(-2.0, dict.remove("b"), DELTA);
+        assertEquals(1, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorVisitsEveryKey() {
+        IObjDoubleDictionary<Integer> dict = this.newDictionary();
+        for (int i = 0; i < 100; i++) {
+            dict.put(i, i / 2.0);
+        }
+
+        int count = 0;
+        double sum = 0.0;
+        for (int key : dict) {
+            count++;
+            sum += dict.getDouble(key);
+        }
+        assertEquals(100, count);
+        assertEquals(99 * 100 / 4.0, sum, DELTA);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void stressTest() {
+        int limit = 1000000;
+        IObjDoubleDictionary<Integer> dict = this.newDictionary();
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+            dict.addTo(i, 0.5);
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i + 0.5, dict.remove(i), DELTA);
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
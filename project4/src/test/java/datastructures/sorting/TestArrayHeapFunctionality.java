@@ -1,9 +1,12 @@
 package datastructures.sorting;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import misc.BaseTest;
 import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import org.junit.Test;
 
@@ -22,4 +25,51 @@ public class TestArrayHeapFunctionality extends BaseTest {
         assertEquals(1, heap.size());
         assertTrue(!heap.isEmpty());
     }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllKeepsHeapOrder() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        // Big batch into an empty heap, a small batch into a big heap, then a
+        // batch bigger than the heap again.
+        heap.insertAll(this.makeRange(0, 500, 7));
+        heap.insertAll(this.makeRange(500, 510, 3));
+        heap.insertAll(this.makeRange(510, 1200, 11));
+        heap.insertAll(new DoubleLinkedList<>());
+        assertEquals(1200, heap.size());
+        for (int i = 0; i < 1200; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllWithNullLeavesHeapUnchanged() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        heap.insert(4);
+        IList<Integer> items = new DoubleLinkedList<>();
+        items.add(5);
+        items.add(null);
+        items.add(3);
+        try {
+            heap.insertAll(items);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok: do nothing
+        }
+        assertEquals(1, heap.size());
+        assertEquals(4, heap.removeMin());
+    }
+
+    /**
+     * Returns the integers in [start, end), in a scrambled order: 'stride' must not
+     * share a factor with the length of the range.
+     */
+    protected IList<Integer> makeRange(int start, int end, int stride) {
+        IList<Integer> list = new DoubleLinkedList<>();
+        int length = end - start;
+        for (int i = 0; i < length; i++) {
+            list.add(start + (i * stride) % length);
+        }
+        return list;
+    }
 }
@@ -0,0 +1,123 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.DoubleKeyedHeap;
+import datastructures.interfaces.IDoublePriorityQueue;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class TestDoubleKeyedHeap extends BaseTest {
+    protected <T> IDoublePriorityQueue<T> makeInstance() {
+        return new DoubleKeyedHeap<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasic() {
+        IDoublePriorityQueue<String> heap = this.makeInstance();
+        heap.insert("b", 2.5);
+        heap.insert("c", 3.0);
+        heap.insert("a", -1.0);
+        assertEquals(3, heap.size());
+        assertEquals("a", heap.peekMin());
+        assertEquals(-1.0, heap.peekMinPriority());
+
+        assertEquals("a", heap.removeMin());
+        assertEquals("b", heap.removeMin());
+        assertEquals(3.0, heap.peekMinPriority());
+        assertEquals("c", heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicateItemsAndPriorities() {
+        IDoublePriorityQueue<String> heap = this.makeInstance();
+        heap.insert("x", 1.0);
+        heap.insert("x", 1.0);
+        heap.insert("y", 1.0);
+        heap.insert("x", 0.5);
+        assertEquals(4, heap.size());
+        assertEquals("x", heap.removeMin());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1.0, heap.peekMinPriority());
+            heap.removeMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrorHandling() {
+        IDoublePriorityQueue<String> heap = this.makeInstance();
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // This is ok
+        }
+        try {
+            heap.peekMinPriority();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // This is ok
+        }
+        try {
+            heap.insert(null, 1.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok
+        }
+        try {
+            heap.insert("a", Double.NaN);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEveryAritySortsCorrectly() {
+        Random rand = new Random(11);
+        double[] priorities = new double[2000];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = rand.nextDouble() * 100 - 50;
+        }
+        double[] sorted = priorities.clone();
+        Arrays.sort(sorted);
+
+        for (int arity = 2; arity <= 16; arity++) {
+            IDoublePriorityQueue<Double> heap = new DoubleKeyedHeap<>(arity);
+            for (double priority : priorities) {
+                heap.insert(priority, priority);
+            }
+            for (double expected : sorted) {
+                assertEquals("Wrong order with arity " + arity, expected, heap.peekMinPriority());
+                assertEquals(expected, heap.removeMin());
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInterleavedInsertAndRemove() {
+        Random rand = new Random(3);
+        IDoublePriorityQueue<Integer> heap = this.makeInstance();
+        PriorityQueue<Double> reference = new PriorityQueue<>();
+        for (int step = 0; step < 20000; step++) {
+            if (reference.isEmpty() || rand.nextInt(3) != 0) {
+                double priority = rand.nextInt(1000);
+                heap.insert(step, priority);
+                reference.add(priority);
+            } else {
+                assertEquals(reference.poll(), (Double) heap.peekMinPriority());
+                heap.removeMin();
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.interfaces.IIndexedPriorityQueue;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class TestIndexedArrayHeap extends TestArrayHeapFunctionality {
+    @Override
+    protected <T extends Comparable<T>> IPriorityQueue<T> makeInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    protected <T extends Comparable<T>> IIndexedPriorityQueue<T> makeIndexedInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    /**
+     * An element whose priority can change. Equality is identity-based, as
+     * IIndexedPriorityQueue requires.
+     */
+    private static class Task implements Comparable<Task> {
+        public int priority;
+
+        public Task(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            return Integer.compare(this.priority, other.priority);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveMinInOrder() {
+        IIndexedPriorityQueue<Integer> heap = this.makeIndexedInstance();
+        int[] values = {5, 3, 9, 1, 7, 2, 8, 6, 4, 0, 11, 10};
+        for (int value : values) {
+            heap.insert(value);
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i, heap.peekMin());
+            assertEquals(i, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testContainsAndRemove() {
+        IIndexedPriorityQueue<Integer> heap = this.makeIndexedInstance();
+        for (int i = 0; i < 20; i++) {
+            heap.insert(i);
+        }
+        assertTrue(heap.contains(7));
+        heap.remove(7);
+        heap.remove(0);
+        heap.remove(19);
+        assertFalse(heap.contains(7));
+        assertEquals(17, heap.size());
+
+        int expected = 1;
+        while (!heap.isEmpty()) {
+            if (expected == 7) {
+                expected++;
+            }
+            assertEquals(expected, heap.removeMin());
+            expected++;
+        }
+        assertEquals(19, expected);
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingItemsThrowException() {
+        IIndexedPriorityQueue<Integer> heap = this.makeIndexedInstance();
+        heap.insert(1);
+        try {
+            heap.remove(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // This is ok
+        }
+        try {
+            heap.decreaseKey(2);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // This is ok
+        }
+        try {
+            heap.insert(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok
+        }
+        heap.removeMin();
+        assertFalse(heap.contains(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseAndIncreaseKey() {
+        IIndexedPriorityQueue<Task> heap = this.makeIndexedInstance();
+        Task[] tasks = new Task[10];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new Task(10 * i);
+            heap.insert(tasks[i]);
+        }
+
+        tasks[9].priority = -1;
+        heap.decreaseKey(tasks[9]);
+        assertEquals(tasks[9], heap.peekMin());
+
+        tasks[9].priority = 1000;
+        heap.increaseKey(tasks[9]);
+        tasks[0].priority = 55;
+        heap.increaseKey(tasks[0]);
+
+        int[] expected = {10, 20, 30, 40, 50, 55, 60, 70, 80, 1000};
+        for (int priority : expected) {
+            assertEquals(priority, heap.removeMin().priority);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsMatchReference() {
+        Random rand = new Random(42);
+        IIndexedPriorityQueue<Task> heap = this.makeIndexedInstance();
+        PriorityQueue<Task> reference = new PriorityQueue<>();
+        List<Task> live = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+            int op = rand.nextInt(4);
+            if (op == 0 || live.isEmpty()) {
+                Task task = new Task(rand.nextInt(1000));
+                heap.insert(task);
+                reference.add(task);
+                live.add(task);
+            } else if (op == 1) {
+                Task task = live.remove(rand.nextInt(live.size()));
+                heap.remove(task);
+                reference.remove(task);
+            } else if (op == 2) {
+                Task task = live.get(rand.nextInt(live.size()));
+                reference.remove(task);
+                int oldPriority = task.priority;
+                task.priority = rand.nextInt(1000);
+                if (task.priority < oldPriority) {
+                    heap.decreaseKey(task);
+                } else {
+                    heap.increaseKey(task);
+                }
+                reference.add(task);
+            } else {
+                // Ties may be broken differently, so remove the same object from both.
+                Task min = heap.removeMin();
+                assertEquals(reference.peek().priority, min.priority);
+                assertTrue(reference.remove(min));
+                live.remove(min);
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+    }
+}
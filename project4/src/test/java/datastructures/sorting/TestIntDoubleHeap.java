@@ -0,0 +1,184 @@
+package datastructures.sorting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import datastructures.concrete.IntDoubleHeap;
+import datastructures.interfaces.IIntDoublePriorityQueue;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestIntDoubleHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testInsertAndRemoveInOrder() {
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(5);
+        heap.insert(3, 2.5);
+        heap.insert(0, -1.0);
+        heap.insert(4, 7.0);
+        heap.insert(1, 2.5);
+        assertEquals(4, heap.size());
+        assertEquals(0, heap.peekMin());
+        assertEquals(-1.0, heap.peekMinPriority());
+        assertEquals(0, heap.removeMin());
+
+        int tied = heap.removeMin();
+        assertTrue(tied == 1 || tied == 3);
+        assertEquals(4 - tied, heap.removeMin());
+        assertEquals(4, heap.removeMin());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(4));
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreasePriority() {
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(10);
+        for (int id = 0; id < 10; id++) {
+            heap.insert(id, 100 + id);
+        }
+        heap.decreasePriority(9, 1.0);
+        heap.decreasePriority(5, 1.5);
+        heap.decreasePriority(7, 107);
+        assertEquals(9, heap.removeMin());
+        assertEquals(5, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+
+        // A removed id can be inserted again.
+        heap.insert(9, 0.0);
+        assertEquals(9, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrorHandling() {
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(3);
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // This is ok: do nothing
+        }
+        for (int id : new int[] {-1, 3}) {
+            try {
+                heap.insert(id, 1.0);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // This is ok: do nothing
+            }
+        }
+        heap.insert(1, 5.0);
+        try {
+            heap.insert(1, 2.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok: do nothing
+        }
+        try {
+            heap.decreasePriority(1, 6.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok: do nothing
+        }
+        try {
+            heap.decreasePriority(2, 1.0);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // This is ok: do nothing
+        }
+        try {
+            heap.insert(0, Double.NaN);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok: do nothing
+        }
+        assertEquals(1, heap.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRandomAgainstSortedPriorities() {
+        Random rand = new Random(4);
+        int size = 5000;
+        double[] priorities = new double[size];
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(size, 2);
+        for (int id = 0; id < size; id++) {
+            priorities[id] = rand.nextDouble();
+            heap.insert(id, priorities[id] + 1.0);
+        }
+        for (int id = 0; id < size; id++) {
+            heap.decreasePriority(id, priorities[id]);
+        }
+        double[] sorted = priorities.clone();
+        Arrays.sort(sorted);
+        for (double expected : sorted) {
+            assertEquals(expected, priorities[heap.removeMin()]);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllHeapifies() {
+        Random rand = new Random(5);
+        int size = 5000;
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(size + 10, 3);
+        heap.insertAll(new int[0], new double[0]);
+        assertTrue(heap.isEmpty());
+
+        // some ids one at a time first, then the rest in bulk
+        double[] priorities = new double[size];
+        for (int id = 0; id < 10; id++) {
+            priorities[id] = rand.nextDouble();
+            heap.insert(id, priorities[id]);
+        }
+        int[] ids = new int[size - 10];
+        double[] bulkPriorities = new double[size - 10];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = size - 1 - i;
+            priorities[ids[i]] = rand.nextInt(100) / 10.0;
+            bulkPriorities[i] = priorities[ids[i]];
+        }
+        heap.insertAll(ids, bulkPriorities);
+        assertEquals(size, heap.size());
+
+        heap.decreasePriority(size - 1, -1.0);
+        priorities[size - 1] = -1.0;
+        double[] sorted = priorities.clone();
+        Arrays.sort(sorted);
+        for (double expected : sorted) {
+            assertEquals(expected, priorities[heap.removeMin()]);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAllErrorHandling() {
+        IIntDoublePriorityQueue heap = new IntDoubleHeap(4);
+        heap.insert(0, 1.0);
+        int[][] badIds = {{1, 2}, {1, 0}, {1, 1}, {1, 4}, {1, -1}, {1, 2}};
+        double[][] badPriorities = {{1.0}, {1.0, 2.0}, {1.0, 2.0}, {1.0, 2.0}, {1.0, 2.0}, {1.0, Double.NaN}};
+        for (int i = 0; i < badIds.length; i++) {
+            try {
+                heap.insertAll(badIds[i], badPriorities[i]);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // This is ok: do nothing
+            }
+            // nothing was inserted
+            assertEquals(1, heap.size());
+            assertFalse(heap.contains(1));
+        }
+        heap.insertAll(new int[] {3, 1, 2}, new double[] {0.5, 2.0, 0.5});
+        try {
+            heap.insertAll(new int[] {1}, new double[] {1.0});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // This is ok: do nothing
+        }
+        assertEquals(0.5, heap.peekMinPriority());
+        heap.removeMin();
+        heap.removeMin();
+        assertEquals(0, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+    }
+}
@@ -1,11 +1,19 @@
 package datastructures.sorting;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import misc.BaseTest;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import misc.Searcher;
+import misc.TopKCollector;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
 /**
  * See spec for details on what kinds of tests this class should include.
  */
@@ -23,4 +31,66 @@ public class TestTopKSortFunctionality extends BaseTest {
             assertEquals(15 + i, top.get(i));
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testStreamingInputsMatchSortedOrder() {
+        Random rand = new Random(11);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rand.nextInt(1000);
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int k = 40;
+
+        IList<Integer> list = new DoubleLinkedList<>();
+        IList<IList<Integer>> partitions = new DoubleLinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            partitions.add(new DoubleLinkedList<>());
+        }
+        for (int i = 0; i < values.length; i++) {
+            list.add(values[i]);
+            partitions.get(i % 4).add(values[i]);
+        }
+
+        IList<IList<Integer>> results = new DoubleLinkedList<>();
+        results.add(Searcher.topKSort(k, list));
+        results.add(Searcher.topKSort(k, list.iterator()));
+        results.add(Searcher.topKSort(k, IntStream.of(values).boxed()));
+        results.add(Searcher.topKSort(k, IntStream.of(values).boxed().parallel()));
+        results.add(Searcher.parallelTopKSort(k, partitions));
+        for (IList<Integer> top : results) {
+            assertEquals(k, top.size());
+            for (int i = 0; i < k; i++) {
+                assertEquals(sorted[values.length - k + i], top.get(i));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollectorKeepsOnlyTheBiggest() {
+        TopKCollector<Integer> collector = new TopKCollector<>(3);
+        assertTrue(collector.add(5));
+        assertTrue(collector.add(1));
+        assertFalse(collector.isFull());
+        assertTrue(collector.add(9));
+        assertTrue(collector.isFull());
+        assertFalse(collector.add(0));
+        assertFalse(collector.add(1));
+        assertTrue(collector.add(6));
+        assertEquals(5, collector.peekMin());
+
+        TopKCollector<Integer> other = new TopKCollector<>(3);
+        other.add(7);
+        other.add(2);
+        collector.merge(other);
+        assertEquals(0, other.size());
+
+        IList<Integer> top = collector.drain();
+        assertEquals(3, top.size());
+        assertEquals(6, top.get(0));
+        assertEquals(7, top.get(1));
+        assertEquals(9, top.get(2));
+        assertEquals(0, collector.size());
+    }
 }